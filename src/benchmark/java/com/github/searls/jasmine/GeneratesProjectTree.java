@@ -0,0 +1,48 @@
+package com.github.searls.jasmine;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Generates a synthetic project for the benchmarks: sources under <code>src/main/javascript</code> and specs under
+ * <code>src/test/javascript</code>, a hundred scripts per directory, with every tenth source written in
+ * CoffeeScript. Trees are kept under <code>target/benchmark</code> and reused by later runs.
+ */
+public class GeneratesProjectTree {
+
+  public static final String SOURCE_DIRECTORY = "src/main/javascript";
+  public static final String SPEC_DIRECTORY = "src/test/javascript";
+
+  private static final int FILES_PER_DIRECTORY = 100;
+  private static final String COMPLETE_MARKER = ".complete";
+
+  /**
+   * @return the base directory of a project with the given number of scripts
+   */
+  public File generate(int files) throws IOException {
+    File baseDirectory = new File("target/benchmark/project-" + files).getAbsoluteFile();
+    File completeMarker = new File(baseDirectory, COMPLETE_MARKER);
+    if (completeMarker.isFile()) {
+      return baseDirectory;
+    }
+    FileUtils.deleteDirectory(baseDirectory);
+    for (int file = 0; file < files; file++) {
+      int script = file / 2;
+      File directory = new File(baseDirectory, (file % 2 == 0 ? SOURCE_DIRECTORY : SPEC_DIRECTORY) + "/module" + script / FILES_PER_DIRECTORY);
+      if (file % 2 == 1) {
+        FileUtils.writeStringToFile(new File(directory, "script" + script + "Spec.js"),
+          "describe('script " + script + "', function() {\n  it('works', function() {\n    expect(script" + script + "()).toBe(" + script + ");\n  });\n});\n", "UTF-8");
+      } else if (script % 10 == 9) {
+        FileUtils.writeStringToFile(new File(directory, "script" + script + ".coffee"),
+          "window.script" + script + " = ->\n  value = " + script + "\n  value\n", "UTF-8");
+      } else {
+        FileUtils.writeStringToFile(new File(directory, "script" + script + ".js"),
+          "window.script" + script + " = function() {\n  return " + script + ";\n};\n", "UTF-8");
+      }
+    }
+    FileUtils.touch(completeMarker);
+    return baseDirectory;
+  }
+}
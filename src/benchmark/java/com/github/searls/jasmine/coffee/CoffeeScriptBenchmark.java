@@ -0,0 +1,72 @@
+package com.github.searls.jasmine.coffee;
+
+import com.github.searls.jasmine.GeneratesProjectTree;
+import com.github.searls.jasmine.io.ScansDirectory;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves all CoffeeScript sources of a generated project from the compile caches, as the server does when the runner
+ * is reloaded. Every tenth source of the project is CoffeeScript; they are compiled into the disk cache during setup,
+ * so the measurement covers the cache lookups, falling back to the disk cache whenever the in-memory cache lost an
+ * entry. Compiling the larger projects the first time takes a while.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CoffeeScriptBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int files;
+
+  private CoffeeScript coffeeScript;
+  private List<String> sources;
+
+  @Setup
+  public void compileSources() throws IOException {
+    File baseDirectory = new GeneratesProjectTree().generate(this.files);
+    File sourceDirectory = new File(baseDirectory, GeneratesProjectTree.SOURCE_DIRECTORY);
+    this.coffeeScript = new CoffeeScript(new File(baseDirectory.getParentFile(), "coffee-cache"));
+    this.sources = new ArrayList<String>();
+    for (String script : new ScansDirectory().scan(sourceDirectory, Collections.singletonList("**/*.coffee"), Collections.<String>emptyList())) {
+      String source = FileUtils.readFileToString(new File(sourceDirectory, script), "UTF-8");
+      this.coffeeScript.compile(source);
+      this.sources.add(source);
+    }
+  }
+
+  @Benchmark
+  public void compileCached(Blackhole blackhole) throws IOException {
+    for (String source : this.sources) {
+      blackhole.consume(this.coffeeScript.compile(source));
+    }
+  }
+
+  @Benchmark
+  public void lineMapCached(Blackhole blackhole) throws IOException {
+    for (String source : this.sources) {
+      blackhole.consume(this.coffeeScript.lineMap(source));
+    }
+  }
+}
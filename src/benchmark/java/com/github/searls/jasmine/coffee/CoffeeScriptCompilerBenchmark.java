@@ -0,0 +1,53 @@
+package com.github.searls.jasmine.coffee;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the throughput of the CoffeeScript compiler backends, compiling from all available processors. Every
+ * compilation gets a distinct source, so nothing is served from a cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@Threads(Threads.MAX)
+public class CoffeeScriptCompilerBenchmark {
+
+  @Param({"HtmlUnit", "Rhino"})
+  public String backend;
+
+  private final AtomicInteger round = new AtomicInteger();
+  private CoffeeScriptCompiler compiler;
+  private String coffee;
+
+  @Setup
+  public void createCompiler() throws IOException {
+    this.coffee = IOUtils.toString(CoffeeScriptCompilerBenchmark.class.getResourceAsStream("/benchmark/sample.coffee"), "UTF-8");
+    this.compiler = "Rhino".equals(this.backend)
+      ? new RhinoCoffeeScriptCompiler(Runtime.getRuntime().availableProcessors())
+      : new HtmlUnitCoffeeScriptCompiler();
+  }
+
+  @Benchmark
+  public String compile() throws Exception {
+    return this.compiler.compile(this.coffee + "\nround = " + this.round.incrementAndGet());
+  }
+}
@@ -0,0 +1,77 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.runner.StreamsSpecResults;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the reports of a generated suite that already ran in HtmlUnit, with the reporter scripts evaluated in the
+ * browser and in Java from the extracted results. The time per report should grow linearly with the suite size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ReporterScriptsBenchmark {
+
+  @Param({"1000", "5000", "20000"})
+  public int specs;
+
+  private File directory;
+  private HtmlUnitDriver driver;
+  private String buildReport;
+  private String createJunitXml;
+
+  @Setup
+  public void runSpecs() throws IOException, InterruptedException {
+    this.buildReport = IOUtils.toString(ReporterScriptsBenchmark.class.getResourceAsStream("/lib/buildReport.js"), "UTF-8");
+    this.createJunitXml = IOUtils.toString(ReporterScriptsBenchmark.class.getResourceAsStream("/lib/createJunitXml.js"), "UTF-8");
+    this.directory = new File(FileUtils.getTempDirectory(), "jasmine-reporter-benchmark-" + this.specs);
+    this.driver = new RunsGeneratedSpecs().run(this.directory, this.specs);
+  }
+
+  @TearDown
+  public void quit() {
+    this.driver.quit();
+    FileUtils.deleteQuietly(this.directory);
+  }
+
+  @Benchmark
+  public Object documentationReport() {
+    return this.driver.executeScript(this.buildReport + "return jasmineMavenPlugin.printReport(window.jsApiReporter,{format:'documentation'});");
+  }
+
+  @Benchmark
+  public Object progressReport() {
+    return this.driver.executeScript(this.buildReport + "return jasmineMavenPlugin.printReport(window.jsApiReporter,{format:'progress'});");
+  }
+
+  @Benchmark
+  public Object junitXmlReport() {
+    return this.driver.executeScript(this.createJunitXml + "return fileSystemReporter.report(window.jsApiReporter,false);");
+  }
+
+  @Benchmark
+  public String extractedReport() throws IOException {
+    return new BuildsReport().build(new StreamsSpecResults().extract(this.driver), "documentation");
+  }
+}
@@ -0,0 +1,61 @@
+package com.github.searls.jasmine.io;
+
+import com.github.searls.jasmine.GeneratesProjectTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relativizes every script of a generated project against its base directory, as done for every script the
+ * runner refers to.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RelativizesFilePathsBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int files;
+
+  private final RelativizesFilePaths relativizesFilePaths = new RelativizesFilePaths();
+  private File baseDirectory;
+  private List<File> scripts;
+
+  @Setup
+  public void generateProject() throws IOException {
+    this.baseDirectory = new GeneratesProjectTree().generate(this.files);
+    this.scripts = new ArrayList<File>();
+    for (String directory : new String[]{GeneratesProjectTree.SOURCE_DIRECTORY, GeneratesProjectTree.SPEC_DIRECTORY}) {
+      File scriptDirectory = new File(this.baseDirectory, directory);
+      for (String script : new ScansDirectory().scan(scriptDirectory, ScansDirectory.DEFAULT_INCLUDES, Collections.<String>emptyList())) {
+        this.scripts.add(new File(scriptDirectory, script));
+      }
+    }
+  }
+
+  @Benchmark
+  public void relativizeAll(Blackhole blackhole) throws IOException {
+    for (File script : this.scripts) {
+      blackhole.consume(this.relativizesFilePaths.relativize(this.baseDirectory, script));
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.github.searls.jasmine.io;
+
+import com.github.searls.jasmine.GeneratesProjectTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scans of the source directory of a generated project with the default includes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScansDirectoryBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int files;
+
+  private File sourceDirectory;
+
+  @Setup
+  public void generateProject() throws IOException {
+    this.sourceDirectory = new File(new GeneratesProjectTree().generate(this.files), GeneratesProjectTree.SOURCE_DIRECTORY);
+  }
+
+  @Benchmark
+  public List<String> scan() {
+    return new ScansDirectory().scan(this.sourceDirectory, ScansDirectory.DEFAULT_INCLUDES, Collections.<String>emptyList());
+  }
+}
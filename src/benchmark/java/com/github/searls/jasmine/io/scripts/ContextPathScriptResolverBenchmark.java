@@ -0,0 +1,66 @@
+package com.github.searls.jasmine.io.scripts;
+
+import com.github.searls.jasmine.GeneratesProjectTree;
+import com.github.searls.jasmine.io.ScansDirectory;
+import com.github.searls.jasmine.model.ScriptSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps all scripts of a generated project to the context paths they are served from and lists them as the spec
+ * runner does. The scripts are resolved once during setup, so only the mapping is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContextPathScriptResolverBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int files;
+
+  private ScriptResolver basicScriptResolver;
+
+  @Setup
+  public void resolveScripts() throws IOException {
+    this.basicScriptResolver = createBasicScriptResolver(new GeneratesProjectTree().generate(this.files));
+  }
+
+  @Benchmark
+  public void listScripts(Blackhole blackhole) throws ScriptResolverException {
+    ScriptResolver scriptResolver = new ContextPathScriptResolver(this.basicScriptResolver, "src", "spec");
+    blackhole.consume(scriptResolver.getAllScripts());
+    blackhole.consume(scriptResolver.getPreloads());
+    blackhole.consume(scriptResolver.getSources());
+    blackhole.consume(scriptResolver.getSpecs());
+  }
+
+  public static ScriptResolver createScriptResolver(File baseDirectory) {
+    return new ContextPathScriptResolver(createBasicScriptResolver(baseDirectory), "src", "spec");
+  }
+
+  private static ScriptResolver createBasicScriptResolver(File baseDirectory) {
+    return new BasicScriptResolver(
+      baseDirectory,
+      new ScriptSearch(new File(baseDirectory, GeneratesProjectTree.SOURCE_DIRECTORY), ScansDirectory.DEFAULT_INCLUDES, Collections.<String>emptyList()),
+      new ScriptSearch(new File(baseDirectory, GeneratesProjectTree.SPEC_DIRECTORY), ScansDirectory.DEFAULT_INCLUDES, Collections.<String>emptyList()),
+      Collections.<String>emptyList());
+  }
+}
@@ -0,0 +1,56 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.GeneratesProjectTree;
+import com.github.searls.jasmine.config.JasmineConfiguration;
+import com.github.searls.jasmine.io.scripts.ContextPathScriptResolverBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Generates the spec runner of a generated project with the default template. The configuration is only read when
+ * the generator is set up, so the mocked configuration doesn't take part in the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DefaultSpecRunnerHtmlGeneratorBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  public int files;
+
+  private SpecRunnerHtmlGenerator generator;
+
+  @Setup
+  public void createGenerator() throws IOException {
+    JasmineConfiguration configuration = mock(JasmineConfiguration.class);
+    when(configuration.getSourceEncoding()).thenReturn("UTF-8");
+    when(configuration.getSpecRunnerTemplate()).thenReturn(SpecRunnerTemplate.DEFAULT);
+    this.generator = new DefaultSpecRunnerHtmlGenerator(new HtmlGeneratorConfiguration(
+      ReporterType.JsApiReporter,
+      configuration,
+      ContextPathScriptResolverBenchmark.createScriptResolver(new GeneratesProjectTree().generate(this.files))));
+  }
+
+  @Benchmark
+  public String generate() {
+    return this.generator.generate();
+  }
+}
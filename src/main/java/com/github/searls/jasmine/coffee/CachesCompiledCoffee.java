@@ -0,0 +1,171 @@
+package com.github.searls.jasmine.coffee;
+
+import com.google.common.base.Charsets;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps compiled CoffeeScript on disk between builds. Entries are keyed by content hash, touched on every hit and
+ * the least recently used entries are evicted once the cache grows beyond its size bound.
+ * <p>
+ * The directory is only listed once, on the first write. From then on the entries and their total size are tracked
+ * in memory, so writing an entry doesn't cost more the larger the cache gets. For that to hold, everything using a
+ * directory has to share the one cache of {@link #forDirectory(File)} for it.
+ * <p>
+ * The cache is best effort: I/O problems are treated as cache misses.
+ */
+public class CachesCompiledCoffee {
+
+  static final long DEFAULT_MAX_SIZE = 32L * 1024 * 1024;
+
+  private static final String EXTENSION = ".js";
+
+  private static final FileFilter ENTRIES = new FileFilter() {
+    @Override
+    public boolean accept(File file) {
+      return file.isFile() && file.getName().endsWith(EXTENSION);
+    }
+  };
+
+  private static final Comparator<File> LEAST_RECENTLY_USED_FIRST = new Comparator<File>() {
+    @Override
+    public int compare(File a, File b) {
+      long difference = a.lastModified() - b.lastModified();
+      return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+    }
+  };
+
+  private static final LoadingCache<String, CachesCompiledCoffee> CACHES = CacheBuilder.newBuilder()
+    .weakValues()
+    .build(new CacheLoader<String, CachesCompiledCoffee>() {
+      @Override
+      public CachesCompiledCoffee load(String directory) {
+        return new CachesCompiledCoffee(new File(directory));
+      }
+    });
+
+  private final File directory;
+  private final long maxSize;
+
+  private Map<String, Long> lengths;
+  private long size;
+
+  public CachesCompiledCoffee(File directory) {
+    this(directory, DEFAULT_MAX_SIZE);
+  }
+
+  public CachesCompiledCoffee(File directory, long maxSize) {
+    this.directory = directory;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @return the cache of the directory, shared by everyone using it at the same time
+   */
+  public static CachesCompiledCoffee forDirectory(File directory) {
+    String path;
+    try {
+      path = directory.getCanonicalPath();
+    } catch (IOException e) {
+      path = directory.getAbsolutePath();
+    }
+    return CACHES.getUnchecked(path);
+  }
+
+  public static String key(String... parts) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (String part : parts) {
+      hasher.putString(part, Charsets.UTF_8).putByte((byte) 0);
+    }
+    return hasher.hash().toString();
+  }
+
+  public String get(String key) {
+    File entry = this.entry(key);
+    if (!entry.isFile()) {
+      return null;
+    }
+    try {
+      String javascript = FileUtils.readFileToString(entry, "UTF-8");
+      entry.setLastModified(System.currentTimeMillis());
+      this.touch(key);
+      return javascript;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  public synchronized void put(String key, String javascript) {
+    try {
+      FileUtils.forceMkdir(this.directory);
+      File temp = File.createTempFile(key, ".tmp", this.directory);
+      FileUtils.writeStringToFile(temp, javascript, "UTF-8");
+      File entry = this.entry(key);
+      if (!temp.renameTo(entry)) {
+        FileUtils.deleteQuietly(entry);
+        if (!temp.renameTo(entry)) {
+          FileUtils.deleteQuietly(temp);
+          return;
+        }
+      }
+      Long previousLength = this.lengths().put(key, entry.length());
+      this.size += entry.length() - (previousLength == null ? 0 : previousLength);
+      this.evict();
+    } catch (IOException e) {
+      // caching is best effort, the next build simply compiles again
+    }
+  }
+
+  private synchronized void touch(String key) {
+    if (this.lengths != null) {
+      this.lengths.get(key);
+    }
+  }
+
+  /**
+   * @return the lengths of the entries by key, least recently used first
+   */
+  private Map<String, Long> lengths() {
+    if (this.lengths == null) {
+      this.lengths = new LinkedHashMap<String, Long>(16, 0.75f, true);
+      this.size = 0;
+      File[] entries = this.directory.listFiles(ENTRIES);
+      if (entries != null) {
+        Arrays.sort(entries, LEAST_RECENTLY_USED_FIRST);
+        for (File entry : entries) {
+          this.lengths.put(StringUtils.removeEnd(entry.getName(), EXTENSION), entry.length());
+          this.size += entry.length();
+        }
+      }
+    }
+    return this.lengths;
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<String, Long>> leastRecentlyUsedFirst = this.lengths.entrySet().iterator();
+    while (this.size > this.maxSize && leastRecentlyUsedFirst.hasNext()) {
+      Map.Entry<String, Long> entry = leastRecentlyUsedFirst.next();
+      FileUtils.deleteQuietly(this.entry(entry.getKey()));
+      this.size -= entry.getValue();
+      leastRecentlyUsedFirst.remove();
+    }
+  }
+
+  private File entry(String key) {
+    return new File(this.directory, key + EXTENSION);
+  }
+}
@@ -0,0 +1,56 @@
+package com.github.searls.jasmine.coffee;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps values in memory until their total weight exceeds the bound, then evicts the least recently used ones.
+ * Values are held strongly, so they are only dropped to make room for others.
+ */
+class CachesRecentlyUsed<V> {
+
+  private final long maxWeight;
+  private final Map<String, Weighed<V>> values = new LinkedHashMap<String, Weighed<V>>(16, 0.75f, true);
+  private long weight;
+
+  CachesRecentlyUsed(long maxWeight) {
+    this.maxWeight = maxWeight;
+  }
+
+  synchronized V get(String key) {
+    Weighed<V> weighed = this.values.get(key);
+    return weighed == null ? null : weighed.value;
+  }
+
+  synchronized void put(String key, V value, long weight) {
+    if (weight > this.maxWeight) {
+      return;
+    }
+    Weighed<V> previous = this.values.put(key, new Weighed<V>(value, weight));
+    if (previous != null) {
+      this.weight -= previous.weight;
+    }
+    this.weight += weight;
+    Iterator<Weighed<V>> leastRecentlyUsedFirst = this.values.values().iterator();
+    while (this.weight > this.maxWeight) {
+      this.weight -= leastRecentlyUsedFirst.next().weight;
+      leastRecentlyUsedFirst.remove();
+    }
+  }
+
+  synchronized void clear() {
+    this.values.clear();
+    this.weight = 0;
+  }
+
+  private static class Weighed<V> {
+    private final V value;
+    private final long weight;
+
+    private Weighed(V value, long weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+}
@@ -1,49 +1,95 @@
 package com.github.searls.jasmine.coffee;
 
-import com.gargoylesoftware.htmlunit.MockWebConnection;
-import com.gargoylesoftware.htmlunit.ScriptResult;
-import com.gargoylesoftware.htmlunit.WebClient;
-import com.gargoylesoftware.htmlunit.html.HtmlPage;
 import com.github.searls.jasmine.io.IOUtilsWrapper;
-import org.apache.commons.lang3.StringEscapeUtils;
 
+import java.io.File;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
 
+/**
+ * Compiles CoffeeScript, keeping the compiled JavaScript and its line maps in memory and, given a cache directory,
+ * the compiled JavaScript on disk. Both are keyed by the hash of the compiler and the source.
+ */
 public class CoffeeScript {
 
-  private static Map<String, String> cache = Collections.synchronizedMap(new WeakHashMap<String, String>());
-
-  private final ThreadLocal<HtmlPage> htmlPage = new ThreadLocal<HtmlPage>() {
-    @Override
-    protected HtmlPage initialValue() {
-      MockWebConnection webConnection = new MockWebConnection();
-      WebClient webClient = new WebClient();
-      webClient.setWebConnection(webConnection);
-      try {
-        HtmlPage page = webClient.getPage(WebClient.URL_ABOUT_BLANK);
-        page.executeJavaScript(ioUtilsWrapper.toString("/vendor/js/coffee-script.js"));
-        return page;
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
-    }
-  };
+  static final long MAX_CACHED_CHARACTERS = 8L * 1024 * 1024;
+  static final long MAX_CACHED_LINES = 1024L * 1024;
+
+  private static final CoffeeScriptCompiler DEFAULT_COMPILER = new RhinoCoffeeScriptCompiler();
+
+  private static CachesRecentlyUsed<String> cache = new CachesRecentlyUsed<String>(MAX_CACHED_CHARACTERS);
+
+  private static CachesRecentlyUsed<int[]> lineMaps = new CachesRecentlyUsed<int[]>(MAX_CACHED_LINES);
+
+  private static String compilerVersion;
 
-  private final IOUtilsWrapper ioUtilsWrapper = new IOUtilsWrapper();
+  private final CoffeeScriptCompiler compiler;
+  private final CachesCompiledCoffee diskCache;
+  private final MapsCompiledCoffee mapsCompiledCoffee = new MapsCompiledCoffee();
+
+  public CoffeeScript() {
+    this((File) null);
+  }
+
+  /**
+   * @param cacheDirectory directory to keep compiled CoffeeScript in between builds, or <code>null</code> to only
+   *                       cache in memory.
+   */
+  public CoffeeScript(File cacheDirectory) {
+    this(DEFAULT_COMPILER, cacheDirectory);
+  }
+
+  public CoffeeScript(CoffeeScriptCompiler compiler, File cacheDirectory) {
+    this.compiler = compiler;
+    this.diskCache = cacheDirectory == null ? null : CachesCompiledCoffee.forDirectory(cacheDirectory);
+  }
 
   public String compile(String coffee) throws IOException {
-    String escapedCoffee = StringEscapeUtils.escapeEcmaScript(coffee);
-    return cache.containsKey(escapedCoffee) ? cache.get(escapedCoffee) : compileAndCache(escapedCoffee);
+    return compile(key(coffee), coffee);
   }
 
-  private String compileAndCache(String input) {
-    ScriptResult scriptResult = htmlPage.get().executeJavaScript(String.format("CoffeeScript.compile(\"%s\");", input));
-    String result = (String) scriptResult.getJavaScriptResult();
-    cache.put(input, result);
+  /**
+   * Maps the lines of the compiled CoffeeScript back to its source. The compiled output is taken from the caches,
+   * so mapping compiled sources doesn't compile them again.
+   *
+   * @return for every line of the compiled JavaScript, the zero based source line or {@link MapsCompiledCoffee#UNMAPPED}
+   */
+  public int[] lineMap(String coffee) throws IOException {
+    String key = key(coffee);
+    String javascript = compile(key, coffee);
+    int[] lines = lineMaps.get(key);
+    if (lines == null) {
+      lines = mapsCompiledCoffee.map(coffee, javascript);
+      lineMaps.put(key, lines, lines.length);
+    }
+    return lines;
+  }
+
+  String key(String coffee) throws IOException {
+    return CachesCompiledCoffee.key(getCompilerVersion(), compiler.getClass().getName(), coffee);
+  }
+
+  private String compile(String key, String coffee) throws IOException {
+    String javascript = cache.get(key);
+    return javascript != null ? javascript : compileAndCache(key, coffee);
+  }
+
+  private String compileAndCache(String key, String coffee) throws IOException {
+    String result = diskCache == null ? null : diskCache.get(key);
+    if (result == null) {
+      result = compiler.compile(coffee);
+      if (diskCache != null) {
+        diskCache.put(key, result);
+      }
+    }
+    cache.put(key, result, result.length());
     return result;
   }
 
+  private static synchronized String getCompilerVersion() throws IOException {
+    if (compilerVersion == null) {
+      compilerVersion = CachesCompiledCoffee.key(new IOUtilsWrapper().toString("/vendor/js/coffee-script.js"));
+    }
+    return compilerVersion;
+  }
+
 }
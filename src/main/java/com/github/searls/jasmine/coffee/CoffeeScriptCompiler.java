@@ -0,0 +1,13 @@
+package com.github.searls.jasmine.coffee;
+
+import java.io.IOException;
+
+/**
+ * A backend able to turn CoffeeScript source into JavaScript. Implementations must be safe to use from several
+ * threads at once.
+ */
+public interface CoffeeScriptCompiler {
+
+  String compile(String coffee) throws IOException;
+
+}
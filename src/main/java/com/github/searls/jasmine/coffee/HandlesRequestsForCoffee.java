@@ -2,27 +2,77 @@ package com.github.searls.jasmine.coffee;
 
 import com.github.searls.jasmine.config.JasmineConfiguration;
 import com.github.searls.jasmine.format.BuildsJavaScriptToWriteFailureHtml;
+import com.github.searls.jasmine.format.BuildsSourceMap;
+import com.github.searls.jasmine.server.CompressesResponses;
+import com.github.searls.jasmine.server.HandlesConditionalRequests;
+import com.google.common.base.Charsets;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.jetty.http.HttpHeaders;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.util.resource.Resource;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 
 public class HandlesRequestsForCoffee {
 
-  private CoffeeScript coffeeScript = new CoffeeScript();
+  public static final String SOURCE_MAP_EXTENSION = ".map";
+
+  private static final String SOURCE_MAP = "SourceMap";
+  private static final String X_SOURCE_MAP = "X-SourceMap";
+
+  private CoffeeScript coffeeScript;
+  private PrecompilesCoffee precompilesCoffee;
   private BuildsJavaScriptToWriteFailureHtml buildsJavaScriptToWriteFailureHtml = new BuildsJavaScriptToWriteFailureHtml();
+  private HandlesConditionalRequests handlesConditionalRequests;
+  private CompressesResponses compressesResponses;
   private JasmineConfiguration configuration;
 
   public HandlesRequestsForCoffee(JasmineConfiguration configuration) {
+    this(configuration, new HandlesConditionalRequests());
+  }
+
+  public HandlesRequestsForCoffee(JasmineConfiguration configuration, HandlesConditionalRequests handlesConditionalRequests) {
     this.configuration = configuration;
+    this.handlesConditionalRequests = handlesConditionalRequests;
+    this.coffeeScript = new CoffeeScript(cacheDirectory(configuration));
+    this.precompilesCoffee = new PrecompilesCoffee(this.coffeeScript);
+  }
+
+  public void setCompressesResponses(CompressesResponses compressesResponses) {
+    this.compressesResponses = compressesResponses;
+  }
+
+  /**
+   * Compiles all CoffeeScript sources and specs in parallel, so later requests for them are served from memory.
+   */
+  public void precompile() throws IOException {
+    if (configuration.isCoffeeScriptCompilationEnabled()) {
+      try {
+        precompilesCoffee.precompile(configuration.getSources(), configuration.getSpecs());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static File cacheDirectory(JasmineConfiguration configuration) {
+    if (configuration == null || configuration.getJasmineTargetDir() == null) {
+      return null;
+    }
+    return new File(configuration.getJasmineTargetDir(), "coffee-cache");
   }
 
   public void handle(Request baseRequest, HttpServletResponse response, Resource resource) throws IOException {
     baseRequest.setHandled(true);
+    String etag = etagOf(resource);
+    boolean compress = compressesResponses != null && compressesResponses.negotiate(baseRequest, response);
+    if (etag != null && handlesConditionalRequests.isNotModified(baseRequest, response, compress ? compressesResponses.etagOf(etag) : etag)) {
+      return;
+    }
     String javascript = null;
     if (!configuration.isCoffeeScriptCompilationEnabled()) {
       // CoffeeScript RequireJS plugin should be used for translation
@@ -31,7 +81,91 @@ public class HandlesRequestsForCoffee {
       javascript = compileCoffee(resource);
     }
     setHeaders(response, resource, javascript);
-    writeResponse(response, javascript);
+    if (configuration.isCoffeeScriptCompilationEnabled()) {
+      setSourceMapHeaders(response, resource);
+    }
+    write(response, compress, etag, javascript);
+  }
+
+  /**
+   * Answers the request for the source map of the given CoffeeScript resource, mapping the lines of the compiled
+   * JavaScript back to the CoffeeScript. The source map embeds the CoffeeScript, as requesting the CoffeeScript
+   * resource yields the compiled JavaScript.
+   */
+  public void handleSourceMap(Request baseRequest, HttpServletResponse response, Resource resource) throws IOException {
+    baseRequest.setHandled(true);
+    String etag = etagOf(resource);
+    if (etag != null) {
+      etag += "-map";
+    }
+    boolean compress = compressesResponses != null && compressesResponses.negotiate(baseRequest, response);
+    if (etag != null && handlesConditionalRequests.isNotModified(baseRequest, response, compress ? compressesResponses.etagOf(etag) : etag)) {
+      return;
+    }
+    String coffee = IOUtils.toString(resource.getInputStream(), "UTF-8");
+    int[] lines;
+    try {
+      lines = coffeeScript.lineMap(coffee);
+    } catch (Exception e) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+    String name = nameOf(resource);
+    BuildsSourceMap sourceMap = new BuildsSourceMap();
+    int source = sourceMap.addSource(name, coffee);
+    for (int line : lines) {
+      if (line == MapsCompiledCoffee.UNMAPPED) {
+        sourceMap.skipLine();
+      } else {
+        sourceMap.addLine(source, line);
+      }
+    }
+    String json = sourceMap.build(name);
+    response.setCharacterEncoding("UTF-8");
+    response.setContentType("application/json");
+    response.setHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(json.getBytes(Charsets.UTF_8).length));
+    write(response, compress, etag, json);
+  }
+
+  private void write(HttpServletResponse response, boolean compress, String etag, String content) throws IOException {
+    if (compress) {
+      byte[] body = content.getBytes(Charsets.UTF_8);
+      compressesResponses.write(response, etag != null ? etag : handlesConditionalRequests.etagOf(body), body);
+    } else {
+      writeResponse(response, content);
+    }
+  }
+
+  /**
+   * Points browsers at the source map, relative to the CoffeeScript resource. Headers are used instead of a
+   * <code>sourceMappingURL</code> comment to leave the compiled JavaScript untouched.
+   */
+  private void setSourceMapHeaders(HttpServletResponse response, Resource resource) throws IOException {
+    File file = resource.getFile();
+    if (file == null) {
+      return;
+    }
+    String sourceMap = file.getName() + SOURCE_MAP_EXTENSION;
+    response.setHeader(SOURCE_MAP, sourceMap);
+    response.setHeader(X_SOURCE_MAP, sourceMap);
+  }
+
+  private static String nameOf(Resource resource) throws IOException {
+    File file = resource.getFile();
+    return file != null ? file.getName() : FilenameUtils.getName(resource.getName());
+  }
+
+  /**
+   * The compiled output only depends on the CoffeeScript source, so the source file's tag is used for it. This
+   * answers conditional requests without compiling.
+   */
+  private String etagOf(Resource resource) throws IOException {
+    File file = resource.getFile();
+    if (file == null || !file.isFile()) {
+      return null;
+    }
+    String etag = handlesConditionalRequests.etagOf(file);
+    return configuration.isCoffeeScriptCompilationEnabled() ? etag + "-js" : etag;
   }
 
   private void writeResponse(HttpServletResponse response, String javascript) throws IOException {
@@ -54,10 +188,23 @@ public class HandlesRequestsForCoffee {
 
   private String compileCoffee(Resource resource) {
     try {
+      String precompiled = precompiled(resource);
+      if (precompiled != null) {
+        return precompiled;
+      }
       return coffeeScript.compile(IOUtils.toString(resource.getInputStream(), "UTF-8"));
     } catch (Exception e) {
       return buildsJavaScriptToWriteFailureHtml.build("CoffeeScript Error: failed to compile <code>" + resource.getName() + "</code>. <br/>Error message:<br/><br/><code>" + e.getMessage() + "</code>");
     }
   }
 
+  private String precompiled(Resource resource) {
+    try {
+      File file = resource.getFile();
+      return file == null ? null : precompilesCoffee.get(file);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
 }
@@ -0,0 +1,42 @@
+package com.github.searls.jasmine.coffee;
+
+import com.gargoylesoftware.htmlunit.MockWebConnection;
+import com.gargoylesoftware.htmlunit.ScriptResult;
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.html.HtmlPage;
+import com.github.searls.jasmine.io.IOUtilsWrapper;
+import org.apache.commons.lang3.StringEscapeUtils;
+
+import java.io.IOException;
+
+/**
+ * Compiles CoffeeScript inside a blank HtmlUnit page per thread.
+ */
+public class HtmlUnitCoffeeScriptCompiler implements CoffeeScriptCompiler {
+
+  private final ThreadLocal<HtmlPage> htmlPage = new ThreadLocal<HtmlPage>() {
+    @Override
+    protected HtmlPage initialValue() {
+      MockWebConnection webConnection = new MockWebConnection();
+      WebClient webClient = new WebClient();
+      webClient.setWebConnection(webConnection);
+      try {
+        HtmlPage page = webClient.getPage(WebClient.URL_ABOUT_BLANK);
+        page.executeJavaScript(ioUtilsWrapper.toString("/vendor/js/coffee-script.js"));
+        return page;
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  };
+
+  private final IOUtilsWrapper ioUtilsWrapper = new IOUtilsWrapper();
+
+  @Override
+  public String compile(String coffee) {
+    String escapedCoffee = StringEscapeUtils.escapeEcmaScript(coffee);
+    ScriptResult scriptResult = htmlPage.get().executeJavaScript(String.format("CoffeeScript.compile(\"%s\");", escapedCoffee));
+    return (String) scriptResult.getJavaScriptResult();
+  }
+
+}
@@ -0,0 +1,117 @@
+package com.github.searls.jasmine.coffee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the lines of compiled CoffeeScript back to the lines of its source.
+ * <p>
+ * The bundled compiler predates source map support, so the mapping is derived from the two texts and is only
+ * approximate: every compiled line is matched with the nearby source line sharing the most words (identifiers,
+ * numbers and words in strings). The compiler keeps statements in source order, so the search continues from the
+ * last matched line. A line is only mapped when a single source line matches best; lines matching several equally
+ * well, like repeated statements, and lines without words of their own, like closing braces and hoisted variable
+ * declarations, are left unmapped rather than guessed.
+ */
+public class MapsCompiledCoffee {
+
+  public static final int UNMAPPED = -1;
+
+  private static final int WINDOW = 200;
+
+  private static final Pattern WORD = Pattern.compile("(?<![\\w$])[A-Za-z$][\\w$]*|(?<![\\w$.])\\d+(\\.\\d+)?");
+  private static final Pattern HOISTED_DECLARATION = Pattern.compile("\\s*var\\s+[\\w$,\\s]+;\\s*");
+
+  private static final Set<String> KEYWORDS = new HashSet<String>(Arrays.asList(
+    "and", "arguments", "break", "by", "call", "case", "catch", "class", "continue", "default", "delete", "do",
+    "else", "extends", "false", "finally", "for", "function", "if", "in", "instanceof", "is", "isnt", "length",
+    "loop", "new", "no", "not", "null", "of", "off", "on", "or", "prototype", "return", "super", "switch", "then",
+    "this", "throw", "true", "try", "typeof", "undefined", "unless", "until", "var", "void", "when", "while",
+    "yes"));
+
+  /**
+   * @return for every line of the JavaScript, the zero based line of the CoffeeScript it was compiled from, or
+   * {@link #UNMAPPED}
+   */
+  public int[] map(String coffee, String javascript) {
+    List<Set<String>> sourceLines = words(coffee.split("\n", -1), "#");
+    List<Set<String>> compiledLines = words(javascript.split("\n", -1), "//");
+    int[] lines = new int[compiledLines.size()];
+    int current = 0;
+    for (int i = 0; i < lines.length; i++) {
+      Set<String> words = compiledLines.get(i);
+      int match = words.isEmpty() ? UNMAPPED : this.bestMatch(words, sourceLines, current);
+      lines[i] = match;
+      if (match != UNMAPPED) {
+        current = match;
+      }
+    }
+    return lines;
+  }
+
+  private int bestMatch(Set<String> words, List<Set<String>> sourceLines, int current) {
+    int best = UNMAPPED;
+    int bestScore = 0;
+    boolean ambiguous = false;
+    int from = Math.max(0, current - WINDOW);
+    int to = Math.min(sourceLines.size(), current + WINDOW);
+    for (int line = from; line < to; line++) {
+      int score = 0;
+      for (String word : sourceLines.get(line)) {
+        if (words.contains(word)) {
+          // numbers tell lines apart less well than names
+          score += Character.isDigit(word.charAt(0)) ? 1 : 2;
+        }
+      }
+      if (score > bestScore) {
+        best = line;
+        bestScore = score;
+        ambiguous = false;
+      } else if (score == bestScore && score > 0) {
+        ambiguous = true;
+      }
+    }
+    return ambiguous ? UNMAPPED : best;
+  }
+
+  private static List<Set<String>> words(String[] lines, String lineComment) {
+    List<Set<String>> words = new ArrayList<Set<String>>(lines.length);
+    for (String line : lines) {
+      Set<String> lineWords = new HashSet<String>();
+      if (!HOISTED_DECLARATION.matcher(line).matches()) {
+        Matcher matcher = WORD.matcher(withoutComment(line, lineComment));
+        while (matcher.find()) {
+          if (!KEYWORDS.contains(matcher.group())) {
+            lineWords.add(matcher.group());
+          }
+        }
+      }
+      words.add(lineWords);
+    }
+    return words;
+  }
+
+  private static String withoutComment(String line, String lineComment) {
+    char quote = 0;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quote != 0) {
+        if (c == '\\') {
+          i++;
+        } else if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+      } else if (line.startsWith(lineComment, i)) {
+        return line.substring(0, i);
+      }
+    }
+    return line;
+  }
+}
@@ -0,0 +1,143 @@
+package com.github.searls.jasmine.coffee;
+
+import com.github.searls.jasmine.io.scripts.FindsScriptLocationsInDirectory;
+import com.github.searls.jasmine.model.ScriptSearch;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles all CoffeeScript sources and specs up front, in parallel, so that requests for them can be
+ * answered from memory instead of compiling one file per request.
+ * <p>
+ * All instances share one bounded pool of daemon compiler threads, which end after a minute without work, so
+ * neither the modules of a reactor build nor repeated server runs leave idle threads behind. Files that fail to
+ * compile are left to be compiled (and reported) when they are requested.
+ */
+public class PrecompilesCoffee {
+
+  private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+  private static final long IDLE_SECONDS = 60;
+
+  private static final ExecutorService COMPILERS = createCompilers();
+
+  private final CoffeeScript coffeeScript;
+  private final FindsScriptLocationsInDirectory findsScriptLocationsInDirectory;
+  private final DetectsCoffee detectsCoffee;
+  private final ConcurrentMap<File, Compiled> compiled = new ConcurrentHashMap<File, Compiled>();
+
+  public PrecompilesCoffee(CoffeeScript coffeeScript) {
+    this(coffeeScript, new FindsScriptLocationsInDirectory(), new DetectsCoffee());
+  }
+
+  public PrecompilesCoffee(CoffeeScript coffeeScript,
+                           FindsScriptLocationsInDirectory findsScriptLocationsInDirectory,
+                           DetectsCoffee detectsCoffee) {
+    this.coffeeScript = coffeeScript;
+    this.findsScriptLocationsInDirectory = findsScriptLocationsInDirectory;
+    this.detectsCoffee = detectsCoffee;
+  }
+
+  public void precompile(ScriptSearch... searches) throws InterruptedException {
+    List<Callable<Void>> compilations = new ArrayList<Callable<Void>>();
+    for (final File file : this.findCoffee(searches)) {
+      if (this.get(file) == null) {
+        compilations.add(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            compile(file);
+            return null;
+          }
+        });
+      }
+    }
+    if (!compilations.isEmpty()) {
+      COMPILERS.invokeAll(compilations);
+    }
+  }
+
+  /**
+   * @return the precompiled JavaScript for the given file, or <code>null</code> if it wasn't precompiled
+   * or changed since.
+   */
+  public String get(File file) {
+    Compiled entry = this.compiled.get(canonical(file));
+    return entry != null && entry.lastModified == file.lastModified() ? entry.javascript : null;
+  }
+
+  private void compile(File file) {
+    try {
+      long lastModified = file.lastModified();
+      String javascript = this.coffeeScript.compile(FileUtils.readFileToString(file, "UTF-8"));
+      this.compiled.put(file, new Compiled(lastModified, javascript));
+    } catch (Exception e) {
+      this.compiled.remove(file);
+    }
+  }
+
+  private Set<File> findCoffee(ScriptSearch... searches) {
+    Set<File> files = new LinkedHashSet<File>();
+    for (ScriptSearch search : searches) {
+      if (search == null || search.getDirectory() == null) {
+        continue;
+      }
+      for (String location : this.findsScriptLocationsInDirectory.find(search)) {
+        if (this.detectsCoffee.detect(location)) {
+          files.add(canonical(new File(URI.create(location))));
+        }
+      }
+    }
+    return files;
+  }
+
+  private static File canonical(File file) {
+    try {
+      return file.getCanonicalFile();
+    } catch (IOException e) {
+      return file.getAbsoluteFile();
+    }
+  }
+
+  private static ExecutorService createCompilers() {
+    ThreadPoolExecutor compilers = new ThreadPoolExecutor(THREADS, THREADS, IDLE_SECONDS, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<Runnable>(), new CompilerThreadFactory());
+    compilers.allowCoreThreadTimeOut(true);
+    return compilers;
+  }
+
+  private static class Compiled {
+    private final long lastModified;
+    private final String javascript;
+
+    Compiled(long lastModified, String javascript) {
+      this.lastModified = lastModified;
+      this.javascript = javascript;
+    }
+  }
+
+  private static class CompilerThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "jasmine-coffee-compiler-" + this.count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
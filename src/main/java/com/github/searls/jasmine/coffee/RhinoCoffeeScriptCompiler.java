@@ -0,0 +1,112 @@
+package com.github.searls.jasmine.coffee;
+
+import com.github.searls.jasmine.io.IOUtilsWrapper;
+import net.sourceforge.htmlunit.corejs.javascript.Context;
+import net.sourceforge.htmlunit.corejs.javascript.ContextFactory;
+import net.sourceforge.htmlunit.corejs.javascript.Script;
+import net.sourceforge.htmlunit.corejs.javascript.Scriptable;
+import net.sourceforge.htmlunit.corejs.javascript.ScriptableObject;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Compiles CoffeeScript on the Rhino engine embedded in HtmlUnit, without the overhead of a browser page.
+ * <p>
+ * The compiler script is parsed once and evaluated into a bounded pool of scopes, which are created on demand
+ * and reused afterwards. Sources are handed to the compiler as a scope variable instead of being escaped into
+ * the evaluated script.
+ */
+public class RhinoCoffeeScriptCompiler implements CoffeeScriptCompiler {
+
+  private static final String SOURCE_VARIABLE = "coffeeSource";
+
+  private final ContextFactory contextFactory = new ContextFactory();
+  private final IOUtilsWrapper ioUtilsWrapper = new IOUtilsWrapper();
+  private final BlockingQueue<Scriptable> idleScopes;
+  private final int poolSize;
+
+  private Script compilerScript;
+  private Script compileScript;
+  private int createdScopes;
+
+  public RhinoCoffeeScriptCompiler() {
+    this(Math.max(1, Runtime.getRuntime().availableProcessors()));
+  }
+
+  public RhinoCoffeeScriptCompiler(int poolSize) {
+    this.poolSize = poolSize;
+    this.idleScopes = new ArrayBlockingQueue<Scriptable>(poolSize);
+  }
+
+  @Override
+  public String compile(String coffee) throws IOException {
+    Scriptable scope = this.acquire();
+    Context context = this.contextFactory.enterContext();
+    try {
+      ScriptableObject.putProperty(scope, SOURCE_VARIABLE, coffee);
+      return Context.toString(this.compileScript.exec(context, scope));
+    } finally {
+      ScriptableObject.deleteProperty(scope, SOURCE_VARIABLE);
+      Context.exit();
+      this.idleScopes.offer(scope);
+    }
+  }
+
+  private Scriptable acquire() throws IOException {
+    Scriptable scope = this.idleScopes.poll();
+    if (scope != null) {
+      return scope;
+    }
+    if (this.reserveScope()) {
+      try {
+        return this.createScope();
+      } catch (RuntimeException e) {
+        this.releaseReservation();
+        throw e;
+      } catch (IOException e) {
+        this.releaseReservation();
+        throw e;
+      }
+    }
+    try {
+      return this.idleScopes.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for a CoffeeScript compiler", e);
+    }
+  }
+
+  private synchronized boolean reserveScope() {
+    if (this.createdScopes < this.poolSize) {
+      this.createdScopes++;
+      return true;
+    }
+    return false;
+  }
+
+  private synchronized void releaseReservation() {
+    this.createdScopes--;
+  }
+
+  private Scriptable createScope() throws IOException {
+    Context context = this.contextFactory.enterContext();
+    try {
+      context.setOptimizationLevel(-1);
+      this.compileScripts(context);
+      Scriptable scope = context.initStandardObjects();
+      this.compilerScript.exec(context, scope);
+      return scope;
+    } finally {
+      Context.exit();
+    }
+  }
+
+  private synchronized void compileScripts(Context context) throws IOException {
+    if (this.compilerScript == null) {
+      this.compilerScript = context.compileString(this.ioUtilsWrapper.toString("/vendor/js/coffee-script.js"), "coffee-script.js", 1, null);
+      this.compileScript = context.compileString("CoffeeScript.compile(" + SOURCE_VARIABLE + ");", "compile", 1, null);
+    }
+  }
+}
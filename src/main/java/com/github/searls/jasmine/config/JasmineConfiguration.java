@@ -46,5 +46,9 @@ public interface JasmineConfiguration {
 
   boolean isCoffeeScriptCompilationEnabled();
 
+  boolean isCompressResponses();
+
+  boolean isBundleScripts();
+
   ClassLoader getProjectClassLoader();
 }
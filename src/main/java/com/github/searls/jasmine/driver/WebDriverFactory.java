@@ -15,6 +15,7 @@ import org.openqa.selenium.remote.DesiredCapabilities;
 import java.lang.reflect.Constructor;
 import java.util.Collections;
 import java.util.List;
+import java.util.TreeMap;
 
 /**
  * Creates a WebDriver for TestMojo using configured properties.
@@ -26,6 +27,8 @@ public class WebDriverFactory {
   private List<Capability> webDriverCapabilities;
   private PhantomJsLocatorOptions phantomJsLocatorOptions;
   private RepositoryDetails repositoryDetails;
+  private String phantomJsPath;
+  private boolean reuseWebDriver;
 
   public WebDriverFactory() {
     setWebDriverCapabilities(null);
@@ -63,7 +66,26 @@ public class WebDriverFactory {
     this.repositoryDetails = repositoryDetails;
   }
 
+  public void setReuseWebDriver(boolean reuseWebDriver) {
+    this.reuseWebDriver = reuseWebDriver;
+  }
+
   public WebDriver createWebDriver() throws Exception {
+    if (reuseWebDriver) {
+      return WebDriverPool.getInstance().acquire(this);
+    }
+    return newWebDriver();
+  }
+
+  /**
+   * Identifies the web drivers this factory creates, so that pooled drivers are only handed out
+   * to factories configured with the same driver class and capabilities.
+   */
+  public String getPoolKey() {
+    return webDriverClassName + ":" + browserVersion + ":" + debug + ":" + new TreeMap<String, Object>(getCapabilities().asMap());
+  }
+
+  WebDriver newWebDriver() throws Exception {
     if (PhantomJSDriver.class.getName().equals(webDriverClassName)) {
       return createPhantomJsWebDriver();
     } else if (HtmlUnitDriver.class.getName().equals(webDriverClassName)) {
@@ -141,11 +163,17 @@ public class WebDriverFactory {
     customizeCapabilities(capabilities);
 
     if (capabilities.getCapability("phantomjs.binary.path") == null) {
-      PhantomJsLocator locator = new PhantomJsLocator(this.phantomJsLocatorOptions, this.repositoryDetails);
-      String phantomJsPath = locator.locate();
-      capabilities.setCapability("phantomjs.binary.path", phantomJsPath);
+      capabilities.setCapability("phantomjs.binary.path", locatePhantomJs());
     }
 
     return new PhantomJSDriver(capabilities);
   }
+
+  private synchronized String locatePhantomJs() {
+    if (this.phantomJsPath == null) {
+      PhantomJsLocator locator = new PhantomJsLocator(this.phantomJsLocatorOptions, this.repositoryDetails);
+      this.phantomJsPath = locator.locate();
+    }
+    return this.phantomJsPath;
+  }
 }
@@ -0,0 +1,212 @@
+package com.github.searls.jasmine.driver;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps warm web drivers around between executions, keyed by driver class and capabilities.
+ * <p>
+ * Drivers are handed out wrapped in a proxy whose <code>quit()</code> resets the browser and returns it
+ * to the pool instead of shutting it down, as long as fewer than the maximum number of drivers are idle.
+ * Idle drivers are quit when the Maven session they were registered with ends, so a long-lived Maven process
+ * does not keep browsers around between builds, and at the latest when the JVM exits.
+ */
+public class WebDriverPool {
+
+  static final int DEFAULT_MAX_IDLE_DRIVERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+  private static final WebDriverPool INSTANCE = new WebDriverPool(DEFAULT_MAX_IDLE_DRIVERS);
+
+  private static final String CLEAR_STORAGE =
+    "try { window.localStorage.clear(); } catch (e) {}" +
+    "try { window.sessionStorage.clear(); } catch (e) {}";
+
+  private final int maxIdleDrivers;
+  private final Map<String, LinkedList<WebDriver>> idleDrivers = new HashMap<String, LinkedList<WebDriver>>();
+  private final Map<MavenExecutionRequest, Boolean> watchedRequests = new WeakHashMap<MavenExecutionRequest, Boolean>();
+  private boolean shutdownHookRegistered;
+
+  WebDriverPool(int maxIdleDrivers) {
+    this.maxIdleDrivers = maxIdleDrivers;
+  }
+
+  public static WebDriverPool getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Quits the idle drivers once the session of the given request ended, by listening to the execution events of
+   * the request next to its own listener.
+   */
+  public synchronized void shutdownWhenSessionEnds(MavenExecutionRequest request) {
+    if (this.watchedRequests.put(request, Boolean.TRUE) == null) {
+      ExecutionListener listener = request.getExecutionListener();
+      request.setExecutionListener((ExecutionListener) Proxy.newProxyInstance(
+        ExecutionListener.class.getClassLoader(),
+        new Class<?>[]{ExecutionListener.class},
+        new SessionEndHandler(listener)));
+    }
+  }
+
+  public WebDriver acquire(WebDriverFactory factory) throws Exception {
+    String key = factory.getPoolKey();
+    WebDriver driver = this.poll(key);
+    if (driver == null) {
+      driver = factory.newWebDriver();
+    }
+    return this.pooled(key, driver);
+  }
+
+  public synchronized int idleCount() {
+    int count = 0;
+    for (List<WebDriver> drivers : this.idleDrivers.values()) {
+      count += drivers.size();
+    }
+    return count;
+  }
+
+  public void shutdown() {
+    List<WebDriver> drivers = new ArrayList<WebDriver>();
+    synchronized (this) {
+      for (List<WebDriver> idle : this.idleDrivers.values()) {
+        drivers.addAll(idle);
+      }
+      this.idleDrivers.clear();
+    }
+    for (WebDriver driver : drivers) {
+      this.quitQuietly(driver);
+    }
+  }
+
+  private synchronized WebDriver poll(String key) {
+    LinkedList<WebDriver> drivers = this.idleDrivers.get(key);
+    return drivers == null ? null : drivers.poll();
+  }
+
+  private void release(String key, WebDriver driver) {
+    if (!this.reset(driver)) {
+      this.quitQuietly(driver);
+      return;
+    }
+    synchronized (this) {
+      if (this.idleCount() >= this.maxIdleDrivers) {
+        this.quitQuietly(driver);
+        return;
+      }
+      LinkedList<WebDriver> drivers = this.idleDrivers.get(key);
+      if (drivers == null) {
+        drivers = new LinkedList<WebDriver>();
+        this.idleDrivers.put(key, drivers);
+      }
+      drivers.add(driver);
+      this.registerShutdownHook();
+    }
+  }
+
+  private boolean reset(WebDriver driver) {
+    try {
+      if (driver instanceof JavascriptExecutor) {
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE);
+      }
+      driver.manage().deleteAllCookies();
+      driver.get("about:blank");
+      return true;
+    } catch (RuntimeException e) {
+      return false;
+    }
+  }
+
+  private void quitQuietly(WebDriver driver) {
+    try {
+      driver.quit();
+    } catch (RuntimeException e) {
+      // the driver is being discarded anyway
+    }
+  }
+
+  private void registerShutdownHook() {
+    if (!this.shutdownHookRegistered) {
+      Runtime.getRuntime().addShutdownHook(new Thread("jasmine-webdriver-pool-shutdown") {
+        @Override
+        public void run() {
+          shutdown();
+        }
+      });
+      this.shutdownHookRegistered = true;
+    }
+  }
+
+  private WebDriver pooled(final String key, final WebDriver driver) {
+    List<Class<?>> interfaces = ClassUtils.getAllInterfaces(driver.getClass());
+    return (WebDriver) Proxy.newProxyInstance(
+      driver.getClass().getClassLoader(),
+      interfaces.toArray(new Class<?>[interfaces.size()]),
+      new PooledDriverHandler(key, driver));
+  }
+
+  private class SessionEndHandler implements InvocationHandler {
+
+    private final ExecutionListener listener;
+
+    SessionEndHandler(ExecutionListener listener) {
+      this.listener = listener;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      try {
+        return this.listener == null ? null : method.invoke(this.listener, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      } finally {
+        if ("sessionEnded".equals(method.getName())) {
+          shutdown();
+        }
+      }
+    }
+  }
+
+  private class PooledDriverHandler implements InvocationHandler {
+
+    private final String key;
+    private final WebDriver driver;
+    private boolean released;
+
+    PooledDriverHandler(String key, WebDriver driver) {
+      this.key = key;
+      this.driver = driver;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if ("quit".equals(method.getName()) && method.getParameterTypes().length == 0) {
+        synchronized (this) {
+          if (!this.released) {
+            this.released = true;
+            release(this.key, this.driver);
+          }
+        }
+        return null;
+      }
+      try {
+        return method.invoke(this.driver, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
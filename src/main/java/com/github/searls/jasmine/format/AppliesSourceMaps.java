@@ -0,0 +1,99 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.coffee.CoffeeScript;
+import com.github.searls.jasmine.coffee.MapsCompiledCoffee;
+import com.github.searls.jasmine.config.JasmineConfiguration;
+import com.github.searls.jasmine.mojo.Context;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Points locations in compiled CoffeeScript, as reported by the browser, back at the CoffeeScript source.
+ * Locations are recognized in the form used in stack traces (<code>url:line</code>, optionally followed by a
+ * column), in HtmlUnit's script errors (<code>url#line</code>) and in Jasmine's messages for thrown errors
+ * (<code>url (line n)</code>).
+ * <p>
+ * The line mapping is only a guess (see {@link MapsCompiledCoffee}), so the reported location is kept as it is and
+ * the CoffeeScript line is appended, marked as approximate: <code>url:5:12 (CoffeeScript line ~3)</code>.
+ * <p>
+ * The compiled CoffeeScript is taken from the compile caches the server filled while serving it.
+ */
+public class AppliesSourceMaps {
+
+  private static final Pattern LOCATION = Pattern.compile(
+    "(https?://[^\\s()'\"]+?\\.coffee)(?:[:#](\\d+)(?::\\d+)?| \\(line (\\d+)\\))");
+
+  private final JasmineConfiguration configuration;
+  private final CoffeeScript coffeeScript;
+
+  public AppliesSourceMaps(JasmineConfiguration configuration) {
+    this(configuration, new CoffeeScript(new File(configuration.getJasmineTargetDir(), "coffee-cache")));
+  }
+
+  public AppliesSourceMaps(JasmineConfiguration configuration, CoffeeScript coffeeScript) {
+    this.configuration = configuration;
+    this.coffeeScript = coffeeScript;
+  }
+
+  public String apply(String report) {
+    if (report == null || !report.contains(".coffee")) {
+      return report;
+    }
+    Map<String, int[]> lineMaps = new HashMap<String, int[]>();
+    Matcher matcher = LOCATION.matcher(report);
+    StringBuffer applied = new StringBuffer();
+    while (matcher.find()) {
+      String url = matcher.group(1);
+      int line = Integer.parseInt(matcher.group(2) != null ? matcher.group(2) : matcher.group(3));
+      int sourceLine = this.sourceLine(url, line, lineMaps);
+      String location = matcher.group();
+      if (sourceLine != MapsCompiledCoffee.UNMAPPED) {
+        location += " (CoffeeScript line ~" + (sourceLine + 1) + ")";
+      }
+      matcher.appendReplacement(applied, Matcher.quoteReplacement(location));
+    }
+    matcher.appendTail(applied);
+    return applied.toString();
+  }
+
+  private int sourceLine(String url, int line, Map<String, int[]> lineMaps) {
+    if (!lineMaps.containsKey(url)) {
+      lineMaps.put(url, this.lineMap(url));
+    }
+    int[] lineMap = lineMaps.get(url);
+    return lineMap != null && line > 0 && line <= lineMap.length ? lineMap[line - 1] : MapsCompiledCoffee.UNMAPPED;
+  }
+
+  private int[] lineMap(String url) {
+    try {
+      File file = this.fileOf(URI.create(url).getPath());
+      if (file == null || !file.isFile()) {
+        return null;
+      }
+      return this.coffeeScript.lineMap(FileUtils.readFileToString(file, "UTF-8"));
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private File fileOf(String path) {
+    File file = null;
+    int matchedRootLength = -1;
+    for (Context context : this.configuration.getContexts()) {
+      String root = StringUtils.strip(context.getContextRoot(), "/");
+      String prefix = "/" + root + "/";
+      if (context.getDirectory() != null && path.startsWith(prefix) && root.length() > matchedRootLength) {
+        file = new File(context.getDirectory(), path.substring(prefix.length()));
+        matchedRootLength = root.length();
+      }
+    }
+    return file != null ? file : new File(this.configuration.getBasedir(), path);
+  }
+}
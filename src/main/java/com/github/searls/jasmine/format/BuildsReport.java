@@ -0,0 +1,23 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.model.SpecResults;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the report of the standard reporter from the spec results of a finished run.
+ */
+public class BuildsReport {
+
+  public String build(SpecResults results, String format) {
+    FormatsSpecResults formatsSpecResults = new FormatsSpecResults(format, null);
+    List<String> lines = new ArrayList<String>();
+    for (int spec = 0; spec < results.size(); spec++) {
+      formatsSpecResults.format(results.get(spec), lines);
+    }
+    formatsSpecResults.finish(lines);
+    return (lines.isEmpty() ? "" : "\n" + StringUtils.join(lines, '\n')) + formatsSpecResults.getSummary();
+  }
+}
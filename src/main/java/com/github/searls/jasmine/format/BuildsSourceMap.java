@@ -0,0 +1,107 @@
+package com.github.searls.jasmine.format;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a line based <a href="https://sourcemaps.info/spec.html">source map (revision 3)</a>: every generated
+ * line maps to the start of one line of an original source.
+ */
+public class BuildsSourceMap {
+
+  private static final String BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+  private final List<String> sources = new ArrayList<String>();
+  private final List<String> sourcesContent = new ArrayList<String>();
+  private final StringBuilder mappings = new StringBuilder();
+  private int generatedLine;
+  private int previousSource;
+  private int previousLine;
+
+  /**
+   * @return the index of the added source
+   */
+  public int addSource(String source) {
+    return this.addSource(source, null);
+  }
+
+  /**
+   * @param content the content of the source, for tools unable to load the source itself
+   * @return the index of the added source
+   */
+  public int addSource(String source, String content) {
+    this.sources.add(source);
+    this.sourcesContent.add(content);
+    return this.sources.size() - 1;
+  }
+
+  /**
+   * Maps the next generated line to a line of a source.
+   */
+  public void addLine(int source, int line) {
+    this.nextLine();
+    this.mappings.append(encode(0))
+      .append(encode(source - this.previousSource))
+      .append(encode(line - this.previousLine))
+      .append(encode(0));
+    this.previousSource = source;
+    this.previousLine = line;
+  }
+
+  /**
+   * Leaves the next generated line unmapped.
+   */
+  public void skipLine() {
+    this.nextLine();
+  }
+
+  public String build(String file) {
+    StringBuilder json = new StringBuilder("{\"version\":3,\"file\":\"").append(StringEscapeUtils.escapeJson(file)).append("\",\"sources\":");
+    appendArray(json, this.sources);
+    if (this.hasContent()) {
+      json.append(",\"sourcesContent\":");
+      appendArray(json, this.sourcesContent);
+    }
+    return json.append(",\"names\":[],\"mappings\":\"").append(this.mappings).append("\"}").toString();
+  }
+
+  private boolean hasContent() {
+    for (String content : this.sourcesContent) {
+      if (content != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void appendArray(StringBuilder json, List<String> values) {
+    json.append('[');
+    for (int i = 0; i < values.size(); i++) {
+      String value = values.get(i);
+      json.append(i > 0 ? "," : "").append(value == null ? "null" : '"' + StringEscapeUtils.escapeJson(value) + '"');
+    }
+    json.append(']');
+  }
+
+  private void nextLine() {
+    if (this.generatedLine++ > 0) {
+      this.mappings.append(';');
+    }
+  }
+
+  static String encode(int value) {
+    StringBuilder encoded = new StringBuilder();
+    int vlq = value < 0 ? ((-value) << 1) + 1 : value << 1;
+    do {
+      int digit = vlq & 31;
+      vlq >>>= 5;
+      if (vlq > 0) {
+        digit |= 32;
+      }
+      encoded.append(BASE64.charAt(digit));
+    } while (vlq > 0);
+    return encoded.toString();
+  }
+}
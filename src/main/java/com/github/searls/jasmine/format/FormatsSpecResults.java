@@ -0,0 +1,149 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.model.SpecResult;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Formats spec results like the standard reporter, in the documentation or progress format. Results are formatted
+ * in the order the specs ran; only the suites of the last formatted spec, the current progress row and the counts
+ * are kept between results.
+ */
+public class FormatsSpecResults {
+
+  public static final String PROGRESS_FORMAT = "progress";
+
+  private static final int PROGRESS_ROW_LENGTH = 80;
+  private static final Pattern LOCATION = Pattern.compile("(https?://[^\\s()@]+:\\d+(:\\d+)?)");
+  private static final Pattern LIBRARY = Pattern.compile("/(webjars|classpath)/");
+
+  private final boolean progress;
+  private final AppliesSourceMaps appliesSourceMaps;
+
+  private List<String> formattedSuites = Collections.emptyList();
+  private boolean formattedAny;
+  private final StringBuilder progressRow = new StringBuilder();
+  private long specs;
+  private long failures;
+  private long pending;
+
+  /**
+   * @param appliesSourceMaps maps failure locations in compiled CoffeeScript, or <code>null</code>. Failures are
+   *                          only followed by their location when it is mapped, to keep the standard output otherwise.
+   */
+  public FormatsSpecResults(String format, AppliesSourceMaps appliesSourceMaps) {
+    this.progress = PROGRESS_FORMAT.equals(format);
+    this.appliesSourceMaps = appliesSourceMaps;
+  }
+
+  /**
+   * Adds the lines completed by the result to the given lines.
+   */
+  public void format(SpecResult result, List<String> lines) {
+    this.count(result);
+    if (this.progress) {
+      this.formatProgress(result, lines);
+    } else {
+      this.formatDocumentation(result, lines);
+    }
+  }
+
+  /**
+   * Adds the incomplete progress row, if any, to the given lines.
+   */
+  public void finish(List<String> lines) {
+    if (this.progressRow.length() > 0) {
+      lines.add(this.progressRow.toString());
+      this.progressRow.setLength(0);
+    }
+  }
+
+  /**
+   * @return the final line of the report, in the form the standard reporter ends with
+   */
+  public String getSummary() {
+    return "\n\nResults: " + this.specs + " specs, " + this.failures + " failures, " + this.pending + " pending\n";
+  }
+
+  private void count(SpecResult result) {
+    this.specs++;
+    if (result.isFailed()) {
+      this.failures++;
+    } else if (result.isPending()) {
+      this.pending++;
+    }
+  }
+
+  private void formatProgress(SpecResult result, List<String> lines) {
+    if (result.isFailed()) {
+      this.progressRow.append('F');
+    } else if (!result.isPending()) {
+      this.progressRow.append('.');
+    }
+    if (this.progressRow.length() >= PROGRESS_ROW_LENGTH) {
+      lines.add(this.progressRow.substring(0, PROGRESS_ROW_LENGTH));
+      this.progressRow.delete(0, PROGRESS_ROW_LENGTH);
+    }
+  }
+
+  private void formatDocumentation(SpecResult result, List<String> lines) {
+    List<String> suites = result.getSuites();
+    int common = 0;
+    while (common < suites.size() && common < this.formattedSuites.size() && suites.get(common).equals(this.formattedSuites.get(common))) {
+      common++;
+    }
+    for (int level = common; level < suites.size(); level++) {
+      this.addLine(lines, level, suites.get(level));
+    }
+    StringBuilder line = new StringBuilder(result.getDescription());
+    if (result.isFailed()) {
+      line.append(" <<< FAILURE!");
+      for (SpecResult.Failure failure : result.getFailures()) {
+        line.append('\n').append(indent(suites.size() + 1)).append("* ").append(this.describe(failure, suites.size() + 1));
+      }
+    } else if (result.isPending()) {
+      line.append(" <<< PENDING");
+    }
+    this.addLine(lines, suites.size(), line.toString());
+    this.formattedSuites = suites;
+  }
+
+  private void addLine(List<String> lines, int level, String text) {
+    if (level == 0 && this.formattedAny) {
+      lines.add("");
+    }
+    lines.add(indent(level) + text);
+    this.formattedAny = true;
+  }
+
+  private String describe(SpecResult.Failure failure, int level) {
+    if (this.appliesSourceMaps == null) {
+      return failure.getMessage();
+    }
+    return this.appliesSourceMaps.apply(failure.getMessage() + this.locationOf(failure.getStack(), level));
+  }
+
+  /**
+   * @return the first stack frame outside of the libraries served by the plugin
+   */
+  private String locationOf(String stack, int level) {
+    if (stack == null) {
+      return "";
+    }
+    for (String frame : stack.split("\n")) {
+      Matcher location = LOCATION.matcher(frame);
+      if (location.find() && !LIBRARY.matcher(location.group(1)).find()) {
+        return "\n" + indent(level + 1) + "at " + location.group(1);
+      }
+    }
+    return "";
+  }
+
+  private static String indent(int level) {
+    return StringUtils.repeat("  ", level);
+  }
+}
@@ -18,7 +18,15 @@ public class JasmineResultLogger {
   }
 
   public void log(JasmineResult result) {
+    logHeader();
+    logDetails(result);
+  }
+
+  public void logHeader() {
     log.info(HEADER);
+  }
+
+  public void logDetails(JasmineResult result) {
     log.info(result.getDetails());
   }
 
@@ -0,0 +1,55 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.model.SpecResult;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.logging.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Logs spec results as they are streamed, in the documentation or progress format of the standard reporter. Every
+ * batch of results is logged at once.
+ */
+public class LogsSpecResults implements ReceivesSpecResults {
+
+  private final Log log;
+  private final FormatsSpecResults formatsSpecResults;
+
+  /**
+   * @param appliesSourceMaps maps failure locations in compiled CoffeeScript, or <code>null</code>
+   */
+  public LogsSpecResults(Log log, String format, AppliesSourceMaps appliesSourceMaps) {
+    this.log = log;
+    this.formatsSpecResults = new FormatsSpecResults(format, appliesSourceMaps);
+  }
+
+  @Override
+  public void receive(List<SpecResult> results) {
+    List<String> lines = new ArrayList<String>();
+    for (SpecResult result : results) {
+      this.formatsSpecResults.format(result, lines);
+    }
+    this.logLines(lines);
+  }
+
+  @Override
+  public void finish() {
+    List<String> lines = new ArrayList<String>();
+    this.formatsSpecResults.finish(lines);
+    this.logLines(lines);
+  }
+
+  /**
+   * @return the final line of the report, in the form the standard reporter ends with
+   */
+  public String getSummary() {
+    return this.formatsSpecResults.getSummary();
+  }
+
+  private void logLines(List<String> lines) {
+    if (!lines.isEmpty()) {
+      this.log.info(StringUtils.join(lines, '\n'));
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.github.searls.jasmine.format;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Merges several JUnit XML reports (one <code>testsuite</code> each) into a single report
+ * whose test, failure, error and skipped counts are the sums of the merged reports.
+ */
+public class MergesJunitXmlReports {
+
+  private static final String[] COUNTED_ATTRIBUTES = new String[]{"tests", "failures", "errors", "skipped"};
+
+  public void merge(List<File> reports, File destination) throws IOException {
+    if (reports.isEmpty()) {
+      return;
+    }
+    try {
+      DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+      Document merged = builder.parse(reports.get(0));
+      Element mergedSuite = merged.getDocumentElement();
+      long[] totals = this.counts(mergedSuite);
+
+      for (File report : reports.subList(1, reports.size())) {
+        Element suite = builder.parse(report).getDocumentElement();
+        long[] counts = this.counts(suite);
+        for (int i = 0; i < totals.length; i++) {
+          totals[i] += counts[i];
+        }
+        NodeList children = suite.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+          mergedSuite.appendChild(merged.importNode(children.item(i), true));
+        }
+      }
+
+      for (int i = 0; i < COUNTED_ATTRIBUTES.length; i++) {
+        mergedSuite.setAttribute(COUNTED_ATTRIBUTES[i], Long.toString(totals[i]));
+      }
+      this.write(merged, destination);
+    } catch (ParserConfigurationException e) {
+      throw new IOException("Unable to merge JUnit XML reports into " + destination, e);
+    } catch (SAXException e) {
+      throw new IOException("Unable to merge JUnit XML reports into " + destination, e);
+    } catch (TransformerException e) {
+      throw new IOException("Unable to merge JUnit XML reports into " + destination, e);
+    }
+  }
+
+  private long[] counts(Element suite) {
+    long[] counts = new long[COUNTED_ATTRIBUTES.length];
+    for (int i = 0; i < COUNTED_ATTRIBUTES.length; i++) {
+      counts[i] = NumberUtils.toLong(suite.getAttribute(COUNTED_ATTRIBUTES[i]));
+    }
+    return counts;
+  }
+
+  private void write(Document document, File destination) throws IOException, TransformerException {
+    Transformer transformer = TransformerFactory.newInstance().newTransformer();
+    transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+    OutputStream out = FileUtils.openOutputStream(destination);
+    try {
+      transformer.transform(new DOMSource(document), new StreamResult(out));
+    } finally {
+      IOUtils.closeQuietly(out);
+    }
+  }
+}
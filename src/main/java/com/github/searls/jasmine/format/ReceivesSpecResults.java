@@ -0,0 +1,23 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.model.SpecResult;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Consumes spec results while they are streamed out of the browser.
+ */
+public interface ReceivesSpecResults {
+
+  /**
+   * Receives a batch of spec results, in the order the specs finished.
+   */
+  void receive(List<SpecResult> results) throws IOException;
+
+  /**
+   * Called once all spec results have been received.
+   */
+  void finish() throws IOException;
+
+}
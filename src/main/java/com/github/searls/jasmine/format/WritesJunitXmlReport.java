@@ -0,0 +1,122 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.model.SpecResult;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Writes the JUnit XML report of the standard file system reporter while spec results are streamed. Test cases are
+ * appended to a part file as they arrive; once all results are in, the report is assembled from the suite element,
+ * whose attributes need the final counts, and the part file.
+ */
+public class WritesJunitXmlReport implements ReceivesSpecResults {
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+  private static final String PROLOG = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>";
+
+  private final File file;
+  private final File partFile;
+
+  private Writer testcases;
+  private long tests;
+  private long failures;
+  private long skipped;
+  private long duration;
+
+  public WritesJunitXmlReport(File file) {
+    this.file = file;
+    this.partFile = new File(file.getPath() + ".part");
+  }
+
+  @Override
+  public void receive(List<SpecResult> results) throws IOException {
+    Writer writer = this.getTestcases();
+    for (SpecResult result : results) {
+      this.tests++;
+      this.duration += result.getDuration();
+      writer.write("<testcase classname=\"jasmine\" name=\"" + escape(result.getFullName()) + "\" time=\"" + seconds(result.getDuration()) + "\"");
+      if (result.isPending()) {
+        this.skipped++;
+        writer.write("><skipped/></testcase>");
+      } else if (result.isFailed()) {
+        this.failures++;
+        writer.write(" failure=\"true\">");
+        this.writeError(writer, result);
+        writer.write("</testcase>");
+      } else {
+        writer.write(" failure=\"false\"/>");
+      }
+    }
+    writer.flush();
+  }
+
+  @Override
+  public void finish() throws IOException {
+    IOUtils.closeQuietly(this.getTestcases());
+    OutputStream out = new FileOutputStream(this.file);
+    InputStream in = new FileInputStream(this.partFile);
+    try {
+      out.write((PROLOG + "<testsuite errors=\"0\" name=\"jasmine.specs\" tests=\"" + this.tests
+        + "\" failures=\"" + this.failures + "\" skipped=\"" + this.skipped
+        + "\" hostname=\"localhost\" time=\"" + seconds(this.duration) + "\" timestamp=\"" + timestamp() + "\">").getBytes(UTF_8));
+      IOUtils.copy(in, out);
+      out.write("</testsuite>".getBytes(UTF_8));
+    } finally {
+      IOUtils.closeQuietly(in);
+      IOUtils.closeQuietly(out);
+      FileUtils.deleteQuietly(this.partFile);
+    }
+  }
+
+  private void writeError(Writer writer, SpecResult result) throws IOException {
+    StringBuilder message = new StringBuilder();
+    String type = "";
+    for (SpecResult.Failure failure : result.getFailures()) {
+      message.append(failure.getMessage());
+      type = "expect." + StringUtils.defaultString(failure.getMatcherName());
+    }
+    String escapedMessage = escape(message.toString());
+    writer.write("<error type=\"" + escape(type) + "\" message=\"" + escapedMessage + "\">" + escapedMessage + "</error>");
+  }
+
+  private Writer getTestcases() throws IOException {
+    if (this.testcases == null) {
+      FileUtils.forceMkdir(this.file.getAbsoluteFile().getParentFile());
+      this.testcases = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(this.partFile), UTF_8));
+    }
+    return this.testcases;
+  }
+
+  private static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    return value.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+  }
+
+  private static String seconds(long milliseconds) {
+    return Double.toString(milliseconds / 1000.0);
+  }
+
+  private static String timestamp() {
+    SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+    format.setTimeZone(TimeZone.getTimeZone("UTC"));
+    return format.format(new Date());
+  }
+}
@@ -0,0 +1,263 @@
+package com.github.searls.jasmine.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Keeps an ordered, in-memory index of the files below a directory and answers the same queries as
+ * {@link ScansDirectory} from it.
+ * <p>
+ * The index is kept up to date from {@link WatchService} events, which are drained whenever the index is queried,
+ * so each query only costs as much as the changes made since the previous one. Where the platform only offers a
+ * polling watch service (or none at all), or events were lost, the directory is rescanned instead, at most once
+ * every {@link #RESCAN_INTERVAL} milliseconds.
+ */
+public class DirectoryIndex implements Closeable {
+
+  static final long RESCAN_INTERVAL = 1000;
+
+  private final Path root;
+  private final NavigableSet<String> files = new TreeSet<String>();
+  private final Map<WatchKey, Path> watchedDirectories = new HashMap<WatchKey, Path>();
+  private final Map<String, List<String>> scans = new HashMap<String, List<String>>();
+
+  private WatchService watchService;
+  private long version;
+  private long scansVersion = -1;
+  private long lastScan;
+
+  public DirectoryIndex(File directory) {
+    this(directory, true);
+  }
+
+  DirectoryIndex(File directory, boolean watch) {
+    this.root = directory.toPath().toAbsolutePath();
+    if (watch) {
+      this.watchService = openWatchService();
+    }
+    this.rescan();
+  }
+
+  public synchronized List<String> scan(List<String> includes, List<String> excludes) {
+    this.refresh();
+    if (this.scansVersion != this.version) {
+      this.scans.clear();
+      this.scansVersion = this.version;
+    }
+    String key = includes + "|" + excludes;
+    List<String> result = this.scans.get(key);
+    if (result == null) {
+      result = this.match(includes, excludes);
+      this.scans.put(key, result);
+    }
+    return new ArrayList<String>(result);
+  }
+
+  /**
+   * @return a number that changes whenever a file is added to or removed from the directory.
+   */
+  public synchronized long getVersion() {
+    this.refresh();
+    return this.version;
+  }
+
+  boolean isWatching() {
+    return this.watchService != null && !this.watchedDirectories.isEmpty();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (this.watchService != null) {
+      this.watchService.close();
+      this.watchService = null;
+    }
+    this.watchedDirectories.clear();
+  }
+
+  private List<String> match(List<String> includes, List<String> excludes) {
+    MatchesPaths matchesPaths = new MatchesPaths(includes, excludes);
+    List<List<String>> matches = new ArrayList<List<String>>();
+    for (int i = 0; i < matchesPaths.getIncludeCount(); i++) {
+      matches.add(new ArrayList<String>());
+    }
+    for (String file : this.files) {
+      int include = matchesPaths.match(file);
+      if (include != MatchesPaths.UNMATCHED) {
+        matches.get(include).add(file);
+      }
+    }
+    List<String> result = new ArrayList<String>();
+    for (List<String> includeMatches : matches) {
+      result.addAll(includeMatches);
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private void refresh() {
+    if (!this.isWatching()) {
+      if (System.currentTimeMillis() - this.lastScan >= RESCAN_INTERVAL) {
+        this.rescan();
+      }
+      return;
+    }
+    boolean lostEvents = false;
+    WatchKey key;
+    while ((key = this.watchService.poll()) != null) {
+      Path directory = this.watchedDirectories.get(key);
+      for (WatchEvent<?> event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW || directory == null) {
+          lostEvents = true;
+        } else if (event.kind() == ENTRY_DELETE) {
+          this.remove(directory.resolve((Path) event.context()));
+        } else if (event.kind() == ENTRY_CREATE) {
+          this.add(directory.resolve((Path) event.context()));
+        } else {
+          this.modify(directory.resolve((Path) event.context()));
+        }
+      }
+      if (!key.reset()) {
+        this.watchedDirectories.remove(key);
+      }
+    }
+    if (lostEvents) {
+      this.rescan();
+    }
+  }
+
+  private void add(Path path) {
+    if (Files.isDirectory(path)) {
+      this.walk(path, this.files);
+    } else if (Files.isRegularFile(path) && this.files.add(this.relativize(path))) {
+      this.version++;
+    }
+  }
+
+  private void modify(Path path) {
+    // a file may be replaced in between events, subdirectories report their own changes
+    if (!Files.isDirectory(path)) {
+      this.add(path);
+    }
+  }
+
+  private void remove(Path path) {
+    String removed = this.relativize(path);
+    boolean changed = this.files.remove(removed);
+    NavigableSet<String> nested = this.files.subSet(removed + File.separator, true, removed + File.separator + Character.MAX_VALUE, true);
+    if (!nested.isEmpty()) {
+      nested.clear();
+      changed = true;
+    }
+    if (changed) {
+      this.version++;
+    }
+  }
+
+  private void rescan() {
+    for (WatchKey key : this.watchedDirectories.keySet()) {
+      key.cancel();
+    }
+    this.watchedDirectories.clear();
+
+    NavigableSet<String> scanned = new TreeSet<String>();
+    if (Files.isDirectory(this.root)) {
+      this.walk(this.root, scanned);
+    }
+    if (!scanned.equals(this.files)) {
+      this.files.clear();
+      this.files.addAll(scanned);
+      this.version++;
+    }
+    this.lastScan = System.currentTimeMillis();
+  }
+
+  private void walk(Path start, final NavigableSet<String> into) {
+    try {
+      Files.walkFileTree(start, EnumSet.of(FileVisitOption.FOLLOW_LINKS), Integer.MAX_VALUE, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+          watch(directory);
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+          if (attributes.isRegularFile() && into.add(relativize(file)) && into == files) {
+            version++;
+          }
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException e) {
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    } catch (IOException e) {
+      // unreadable parts of the tree are left out, just like DirectoryScanner does
+    }
+  }
+
+  private void watch(Path directory) {
+    if (this.watchService == null) {
+      return;
+    }
+    try {
+      this.watchedDirectories.put(directory.register(this.watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), directory);
+    } catch (IOException e) {
+      // without a watch on every directory the index can't be trusted, so fall back to rescanning
+      this.stopWatching();
+    }
+  }
+
+  private void stopWatching() {
+    try {
+      this.close();
+    } catch (IOException e) {
+      // nothing left to do
+    }
+  }
+
+  private String relativize(Path path) {
+    return this.root.relativize(path).toString();
+  }
+
+  private static WatchService openWatchService() {
+    try {
+      WatchService watchService = FileSystems.getDefault().newWatchService();
+      if ("PollingWatchService".equals(watchService.getClass().getSimpleName())) {
+        // polls far less often than a rescan of a typical spec tree would take
+        watchService.close();
+        return null;
+      }
+      return watchService;
+    } catch (IOException e) {
+      return null;
+    } catch (UnsupportedOperationException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.github.searls.jasmine.io;
+
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.plexus.util.DirectoryScanner;
+import org.codehaus.plexus.util.MatchPatterns;
+import org.codehaus.plexus.util.SelectorUtils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Matches relative paths against include and exclude patterns the way {@link DirectoryScanner} does, including its
+ * default excludes. The patterns are compiled once and every path is only split up once for all of them.
+ */
+class MatchesPaths {
+
+  static final int UNMATCHED = -1;
+
+  private static final String ANY_PATH = File.separator + "**";
+
+  private final MatchPatterns[] includes;
+  private final List<String> includePatterns = new ArrayList<String>();
+  private final MatchPatterns excludes;
+  private final MatchPatterns excludedDirectories;
+
+  MatchesPaths(List<String> includes, List<String> excludes) {
+    this.includes = new MatchPatterns[includes.size()];
+    for (int i = 0; i < this.includes.length; i++) {
+      this.includePatterns.add(normalizePattern(includes.get(i)));
+      this.includes[i] = MatchPatterns.from(this.includePatterns.get(i));
+    }
+
+    List<String> excludePatterns = new ArrayList<String>();
+    for (String exclude : excludes) {
+      excludePatterns.add(normalizePattern(exclude));
+    }
+    excludePatterns.addAll(Arrays.asList(DirectoryScanner.DEFAULTEXCLUDES));
+    this.excludes = MatchPatterns.from(excludePatterns);
+
+    // patterns like **/.svn/** exclude everything below the directories they name
+    List<String> excludedDirectoryPatterns = new ArrayList<String>();
+    for (String exclude : excludePatterns) {
+      if (exclude.endsWith(ANY_PATH) && exclude.length() > ANY_PATH.length() && !exclude.startsWith("%")) {
+        excludedDirectoryPatterns.add(exclude.substring(0, exclude.length() - ANY_PATH.length()));
+      }
+    }
+    this.excludedDirectories = MatchPatterns.from(excludedDirectoryPatterns);
+  }
+
+  int getIncludeCount() {
+    return this.includes.length;
+  }
+
+  /**
+   * @return the index of the first include matching the path, or {@link #UNMATCHED} if none does or the path is
+   * excluded.
+   */
+  int match(String path) {
+    String[] tokens = StringUtils.split(path, File.separatorChar);
+    for (int i = 0; i < this.includes.length; i++) {
+      if (this.includes[i].matches(path, tokens, true)) {
+        return this.excludes.matches(path, tokens, true) ? UNMATCHED : i;
+      }
+    }
+    return UNMATCHED;
+  }
+
+  /**
+   * @return whether any file below the directory could be matched.
+   */
+  boolean mayMatchBelow(String directory) {
+    if (this.excludedDirectories.matches(directory, true)) {
+      return false;
+    }
+    // MatchPatterns.matchesPatternStart accepts any directory, so the patterns are checked one by one
+    for (String include : this.includePatterns) {
+      if (SelectorUtils.matchPatternStart(include, directory, true)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  static String normalizePattern(String pattern) {
+    String normalized = pattern.trim().replace('/', File.separatorChar).replace('\\', File.separatorChar);
+    return normalized.endsWith(File.separator) ? normalized + "**" : normalized;
+  }
+}
@@ -1,39 +1,154 @@
 package com.github.searls.jasmine.io;
 
-import org.codehaus.plexus.util.DirectoryScanner;
-
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import static java.util.Arrays.asList;
 
+/**
+ * Lists the files below a directory matching any of the includes and none of the excludes, leaving out the default
+ * excludes of {@link org.codehaus.plexus.util.DirectoryScanner}. Files are ordered by the first include they match,
+ * then by path.
+ * <p>
+ * The tree is walked once for all patterns, skipping directories nothing could be matched in, and subdirectories
+ * are walked in parallel.
+ */
 public class ScansDirectory {
 
   public final static List<String> DEFAULT_INCLUDES = asList("**" + File.separator + "*.js", "**" + File.separator + "*.coffee");
 
-  private final DirectoryScanner directoryScanner = new DirectoryScanner();
+  private static final ForkJoinPool WALKERS = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
 
   public List<String> scan(File directory, List<String> includes, List<String> excludes) {
-    Set<String> set = new LinkedHashSet<String>();
-    for (String include : includes) {
-      set.addAll(performScan(directory, include, excludes));
+    List<String> result = new ArrayList<String>();
+    if (!directory.isDirectory()) {
+      return result;
+    }
+    MatchesPaths matchesPaths = new MatchesPaths(includes, excludes);
+    for (List<String> matches : WALKERS.invoke(new WalksDirectory(directory.toPath(), "", matchesPaths, null, fileKeyOf(directory)))) {
+      Collections.sort(matches);
+      result.addAll(matches);
     }
-    return new ArrayList<String>(set);
+    return result;
   }
 
-  private List<String> performScan(File directory, String include, List<String> excludes) {
-    directoryScanner.setBasedir(directory);
-    directoryScanner.setIncludes(new String[]{include});
-    directoryScanner.setExcludes(excludes.toArray(new String[]{}));
-    directoryScanner.addDefaultExcludes();
-    directoryScanner.scan();
-    ArrayList<String> result = new ArrayList<String>(asList(directoryScanner.getIncludedFiles()));
-    Collections.sort(result);
-    return result;
+  private static Object fileKeyOf(File directory) {
+    try {
+      return Files.readAttributes(directory.toPath(), BasicFileAttributes.class).fileKey();
+    } catch (IOException e) {
+      return null;
+    }
   }
 
+  /**
+   * Matches the files of a directory and walks its subdirectories, yielding the matched paths per include.
+   */
+  private static class WalksDirectory extends RecursiveTask<List<List<String>>> {
+
+    private final Path directory;
+    private final String prefix;
+    private final MatchesPaths matchesPaths;
+    private final WalksDirectory parent;
+    private final Object fileKey;
+
+    WalksDirectory(Path directory, String prefix, MatchesPaths matchesPaths, WalksDirectory parent, Object fileKey) {
+      this.directory = directory;
+      this.prefix = prefix;
+      this.matchesPaths = matchesPaths;
+      this.parent = parent;
+      this.fileKey = fileKey;
+    }
+
+    @Override
+    protected List<List<String>> compute() {
+      List<List<String>> matches = new ArrayList<List<String>>();
+      for (int i = 0; i < this.matchesPaths.getIncludeCount(); i++) {
+        matches.add(new ArrayList<String>());
+      }
+      List<WalksDirectory> subdirectories = this.list(matches);
+
+      // the last subdirectory is walked by this thread, the others are left for idle walkers to take
+      for (int i = 0; i < subdirectories.size() - 1; i++) {
+        subdirectories.get(i).fork();
+      }
+      for (int i = subdirectories.size() - 1; i >= 0; i--) {
+        WalksDirectory subdirectory = subdirectories.get(i);
+        add(matches, i == subdirectories.size() - 1 ? subdirectory.compute() : subdirectory.join());
+      }
+      return matches;
+    }
+
+    private List<WalksDirectory> list(List<List<String>> matches) {
+      List<WalksDirectory> subdirectories = new ArrayList<WalksDirectory>();
+      DirectoryStream<Path> entries = null;
+      try {
+        entries = Files.newDirectoryStream(this.directory);
+        for (Path entry : entries) {
+          String path = this.prefix + entry.getFileName();
+          BasicFileAttributes attributes;
+          try {
+            attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+          } catch (IOException e) {
+            // e.g. a dangling link
+            continue;
+          }
+          if (attributes.isDirectory()) {
+            if (this.matchesPaths.mayMatchBelow(path) && !this.isWithin(attributes.fileKey())) {
+              subdirectories.add(new WalksDirectory(entry, path + File.separator, this.matchesPaths, this, attributes.fileKey()));
+            }
+          } else if (attributes.isRegularFile()) {
+            int include = this.matchesPaths.match(path);
+            if (include != MatchesPaths.UNMATCHED) {
+              matches.get(include).add(path);
+            }
+          }
+        }
+      } catch (IOException e) {
+        // unreadable directories are left out, just like DirectoryScanner does
+      } finally {
+        closeQuietly(entries);
+      }
+      return subdirectories;
+    }
+
+    /**
+     * @return whether a linked directory leads back to this directory or one of its parents
+     */
+    private boolean isWithin(Object fileKey) {
+      if (fileKey == null) {
+        return false;
+      }
+      for (WalksDirectory walk = this; walk != null; walk = walk.parent) {
+        if (fileKey.equals(walk.fileKey)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private static void add(List<List<String>> matches, List<List<String>> more) {
+      for (int i = 0; i < matches.size(); i++) {
+        matches.get(i).addAll(more.get(i));
+      }
+    }
+
+    private static void closeQuietly(DirectoryStream<Path> entries) {
+      if (entries != null) {
+        try {
+          entries.close();
+        } catch (IOException e) {
+          // nothing left to read
+        }
+      }
+    }
+  }
 }
@@ -0,0 +1,93 @@
+package com.github.searls.jasmine.io;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes a stamp of directory trees that changes whenever a file or directory is added to, removed from or
+ * renamed in any of them. Directories whose modification time is unchanged since they were last listed are
+ * not listed again, so an unchanged tree costs one stat per directory. Only the listings of the directories found
+ * by the last stamp are kept, so directories that went away are forgotten.
+ */
+public class StampsDirectories {
+
+  /**
+   * Directories modified this recently are always listed again, as a second change within the timestamp
+   * resolution of the file system would go unnoticed otherwise.
+   */
+  private static final long RACY_INTERVAL = 2000;
+
+  private Map<File, Listing> listings = new HashMap<File, Listing>();
+
+  public synchronized long stamp(File... directories) {
+    Map<File, Listing> previousListings = this.listings;
+    this.listings = new HashMap<File, Listing>();
+    long stamp = 17;
+    for (File directory : directories) {
+      stamp = 31 * stamp + (directory == null ? 0 : this.stampTree(directory, previousListings));
+    }
+    return stamp;
+  }
+
+  synchronized int getListingCount() {
+    return this.listings.size();
+  }
+
+  private long stampTree(File directory, Map<File, Listing> previousListings) {
+    Listing listing = this.listing(directory, previousListings);
+    long stamp = listing.stamp;
+    for (File subdirectory : listing.subdirectories) {
+      stamp = 31 * stamp + this.stampTree(subdirectory, previousListings);
+    }
+    return stamp;
+  }
+
+  private Listing listing(File directory, Map<File, Listing> previousListings) {
+    long lastModified = directory.lastModified();
+    Listing listing = previousListings.get(directory);
+    if (listing == null || listing.lastModified != lastModified || this.isRacy(lastModified)) {
+      listing = this.list(directory, lastModified);
+    }
+    this.listings.put(directory, listing);
+    return listing;
+  }
+
+  private boolean isRacy(long lastModified) {
+    return System.currentTimeMillis() - lastModified < RACY_INTERVAL;
+  }
+
+  private Listing list(File directory, long lastModified) {
+    String[] names = directory.list();
+    if (names == null) {
+      return new Listing(lastModified, directory.exists() ? 1 : 0, Collections.<File>emptyList());
+    }
+    Arrays.sort(names);
+    long stamp = 2;
+    List<File> subdirectories = new ArrayList<File>();
+    for (String name : names) {
+      stamp = 31 * stamp + name.hashCode();
+      File child = new File(directory, name);
+      if (child.isDirectory()) {
+        subdirectories.add(child);
+      }
+    }
+    return new Listing(lastModified, stamp, subdirectories);
+  }
+
+  private static class Listing {
+    private final long lastModified;
+    private final long stamp;
+    private final List<File> subdirectories;
+
+    Listing(long lastModified, long stamp, List<File> subdirectories) {
+      this.lastModified = lastModified;
+      this.stamp = stamp;
+      this.subdirectories = subdirectories;
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.github.searls.jasmine.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scans directories through a {@link DirectoryIndex} per directory, so that repeated scans of the same
+ * directories (e.g. on every page load of <code>jasmine:bdd</code>) only pay for what changed in between.
+ */
+public class WatchingScansDirectory extends ScansDirectory implements Closeable {
+
+  private final Map<File, DirectoryIndex> indexes = new HashMap<File, DirectoryIndex>();
+
+  @Override
+  public List<String> scan(File directory, List<String> includes, List<String> excludes) {
+    return this.index(directory).scan(includes, excludes);
+  }
+
+  /**
+   * @return a stamp that changes whenever a file is added to or removed from any of the given directories.
+   */
+  public long stamp(File... directories) {
+    long stamp = 17;
+    for (File directory : directories) {
+      stamp = 31 * stamp + (directory == null ? 0 : this.index(directory).getVersion());
+    }
+    return stamp;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    for (DirectoryIndex index : this.indexes.values()) {
+      index.close();
+    }
+    this.indexes.clear();
+  }
+
+  private synchronized DirectoryIndex index(File directory) {
+    File key = directory.getAbsoluteFile();
+    DirectoryIndex index = this.indexes.get(key);
+    if (index == null) {
+      index = new DirectoryIndex(key);
+      this.indexes.put(key, index);
+    }
+    return index;
+  }
+}
@@ -4,7 +4,6 @@ import com.github.searls.jasmine.model.ScriptSearch;
 import org.codehaus.plexus.util.StringUtils;
 
 import java.io.File;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -13,19 +12,27 @@ public class BasicScriptResolver implements ScriptResolver {
   private static final ResolvesLocationOfPreloadSources RESOLVES_PRELOAD_SOURCES = new ResolvesLocationOfPreloadSources();
   private static final FindsScriptLocationsInDirectory FINDS_SCRIPT_LOCATIONS = new FindsScriptLocationsInDirectory();
 
+  private final FindsScriptLocationsInDirectory findsScriptLocations;
   private final File baseDirectory;
   private final ScriptSearch sourceScriptSearch;
   private final ScriptSearch specScriptSearch;
   private final List<String> preloadList;
 
-  private Set<String> sources;
-  private Set<String> specs;
-  private Set<String> preloads;
+  private ScriptManifest manifest;
 
   public BasicScriptResolver(File baseDirectory,
                              ScriptSearch sourceScriptSearch,
                              ScriptSearch specScriptSearch,
                              List<String> preloadList) {
+    this(baseDirectory, sourceScriptSearch, specScriptSearch, preloadList, FINDS_SCRIPT_LOCATIONS);
+  }
+
+  public BasicScriptResolver(File baseDirectory,
+                             ScriptSearch sourceScriptSearch,
+                             ScriptSearch specScriptSearch,
+                             List<String> preloadList,
+                             FindsScriptLocationsInDirectory findsScriptLocations) {
+    this.findsScriptLocations = findsScriptLocations;
     this.baseDirectory = baseDirectory;
     this.sourceScriptSearch = sourceScriptSearch;
     this.specScriptSearch = specScriptSearch;
@@ -34,15 +41,13 @@ public class BasicScriptResolver implements ScriptResolver {
   }
 
   private void resolveScripts() {
-    this.preloads = new LinkedHashSet<String>(RESOLVES_PRELOAD_SOURCES.resolve(
-      this.preloadList,
-      this.sourceScriptSearch.getDirectory(),
-      this.specScriptSearch.getDirectory()));
-    this.sources = new LinkedHashSet<String>(FINDS_SCRIPT_LOCATIONS.find(this.sourceScriptSearch));
-    this.sources.removeAll(this.preloads);
-
-    this.specs = new LinkedHashSet<String>(FINDS_SCRIPT_LOCATIONS.find(this.specScriptSearch));
-    this.specs.removeAll(this.preloads);
+    this.manifest = new ScriptManifest(
+      RESOLVES_PRELOAD_SOURCES.resolve(
+        this.preloadList,
+        this.sourceScriptSearch.getDirectory(),
+        this.specScriptSearch.getDirectory()),
+      this.findsScriptLocations.find(this.sourceScriptSearch),
+      this.findsScriptLocations.find(this.specScriptSearch));
   }
 
   @Override
@@ -62,26 +67,22 @@ public class BasicScriptResolver implements ScriptResolver {
 
   @Override
   public Set<String> getSources() {
-    return sources;
+    return this.manifest.getSources();
   }
 
   @Override
   public Set<String> getSpecs() {
-    return specs;
+    return this.manifest.getSpecs();
   }
 
   @Override
   public Set<String> getPreloads() {
-    return preloads;
+    return this.manifest.getPreloads();
   }
 
   @Override
   public Set<String> getAllScripts() {
-    LinkedHashSet<String> allScripts = new LinkedHashSet<String>();
-    allScripts.addAll(this.getPreloads());
-    allScripts.addAll(this.getSources());
-    allScripts.addAll(this.getSpecs());
-    return allScripts;
+    return this.manifest.getAllScripts();
   }
 
   private String directoryToString(File directory) {
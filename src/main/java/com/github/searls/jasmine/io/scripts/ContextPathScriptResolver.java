@@ -1,8 +1,16 @@
 package com.github.searls.jasmine.io.scripts;
 
-import java.util.LinkedHashSet;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
+/**
+ * Serves the scripts of another resolver relative to the context paths they are served from. The scripts are mapped
+ * once, on first use.
+ */
 public class ContextPathScriptResolver implements ScriptResolver {
 
   private final ScriptResolver scriptResolver;
@@ -10,6 +18,8 @@ public class ContextPathScriptResolver implements ScriptResolver {
   private final String sourceContextPath;
   private final String specContextPath;
 
+  private ScriptManifest manifest;
+
   public ContextPathScriptResolver(ScriptResolver scriptResolver,
                                    String sourceContextPath,
                                    String specContextPath) {
@@ -43,51 +53,58 @@ public class ContextPathScriptResolver implements ScriptResolver {
 
   @Override
   public Set<String> getSources() throws ScriptResolverException {
-    return relativeToContextPath(
-      this.scriptResolver.getSourceDirectory(),
-      this.sourceContextPath,
-      this.scriptResolver.getSources());
+    return this.getManifest().getSources();
   }
 
   @Override
   public Set<String> getSpecs() throws ScriptResolverException {
-    return relativeToContextPath(
-      this.scriptResolver.getSpecDirectory(),
-      this.specContextPath,
-      this.scriptResolver.getSpecs());
+    return this.getManifest().getSpecs();
   }
 
   @Override
   public Set<String> getPreloads() throws ScriptResolverException {
-    Set<String> scripts = this.scriptResolver.getPreloads();
-    scripts = relativeToContextPath(
-      this.scriptResolver.getSourceDirectory(),
-      this.sourceContextPath,
-      scripts);
-    scripts = relativeToContextPath(
-      this.scriptResolver.getSpecDirectory(),
-      this.specContextPath,
-      scripts);
-    scripts = relativeToContextPath(
-      this.scriptResolver.getBaseDirectory(),
-      this.baseContextPath,
-      scripts);
-    return scripts;
+    return this.getManifest().getPreloads();
   }
 
   @Override
   public Set<String> getAllScripts() throws ScriptResolverException {
-    LinkedHashSet<String> allScripts = new LinkedHashSet<String>();
-    allScripts.addAll(this.getPreloads());
-    allScripts.addAll(this.getSources());
-    allScripts.addAll(this.getSpecs());
-    return allScripts;
+    return this.getManifest().getAllScripts();
+  }
+
+  private synchronized ScriptManifest getManifest() throws ScriptResolverException {
+    if (this.manifest == null) {
+      List<String> preloads = new ArrayList<String>(this.scriptResolver.getPreloads());
+      preloads = relativeToContextPath(
+        this.scriptResolver.getSourceDirectory(),
+        this.sourceContextPath,
+        preloads);
+      preloads = relativeToContextPath(
+        this.scriptResolver.getSpecDirectory(),
+        this.specContextPath,
+        preloads);
+      preloads = relativeToContextPath(
+        this.scriptResolver.getBaseDirectory(),
+        this.baseContextPath,
+        preloads);
+      this.manifest = new ScriptManifest(
+        preloads,
+        relativeToContextPath(
+          this.scriptResolver.getSourceDirectory(),
+          this.sourceContextPath,
+          this.scriptResolver.getSources()),
+        relativeToContextPath(
+          this.scriptResolver.getSpecDirectory(),
+          this.specContextPath,
+          this.scriptResolver.getSpecs()));
+    }
+    return this.manifest;
   }
 
-  private Set<String> relativeToContextPath(String realPath, String contextPath, Set<String> absoluteScripts) {
-    Set<String> relativeScripts = new LinkedHashSet<String>();
+  private List<String> relativeToContextPath(String realPath, String contextPath, Collection<String> absoluteScripts) {
+    List<String> relativeScripts = new ArrayList<String>(absoluteScripts.size());
     for (String absoluteScript : absoluteScripts) {
-      relativeScripts.add(absoluteScript.replace(realPath, contextPath));
+      // unlike String.replace in Java 7 and 8, this doesn't compile a pattern for every script
+      relativeScripts.add(StringUtils.replace(absoluteScript, realPath, contextPath));
     }
     return relativeScripts;
   }
@@ -0,0 +1,125 @@
+package com.github.searls.jasmine.io.scripts;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The preloads, sources and specs of a spec runner, resolved once.
+ * <p>
+ * Every distinct script is kept once, in load order: preloads first, then sources, then specs. The sets handed
+ * out are read-only views listing the scripts by their index, so they can be asked for as often as needed without
+ * copying anything. Sources and specs that are preloaded are only listed as preloads.
+ */
+public class ScriptManifest {
+
+  private final List<String> scripts = new ArrayList<String>();
+  private final Map<String, Integer> indexes = new HashMap<String, Integer>();
+  private final Scripts preloads;
+  private final Scripts sources;
+  private final Scripts specs;
+  private final Scripts allScripts;
+
+  public ScriptManifest(Collection<String> preloads, Collection<String> sources, Collection<String> specs) {
+    this.preloads = this.add(preloads, null);
+    this.sources = this.add(sources, this.preloads);
+    this.specs = this.add(specs, this.preloads);
+    int[] all = new int[this.scripts.size()];
+    for (int i = 0; i < all.length; i++) {
+      all[i] = i;
+    }
+    BitSet members = new BitSet();
+    members.set(0, all.length);
+    this.allScripts = new Scripts(all, members);
+  }
+
+  public Set<String> getPreloads() {
+    return this.preloads;
+  }
+
+  public Set<String> getSources() {
+    return this.sources;
+  }
+
+  public Set<String> getSpecs() {
+    return this.specs;
+  }
+
+  public Set<String> getAllScripts() {
+    return this.allScripts;
+  }
+
+  private Scripts add(Collection<String> scripts, Scripts preloads) {
+    int[] order = new int[scripts.size()];
+    BitSet members = new BitSet();
+    int size = 0;
+    for (String script : scripts) {
+      Integer index = this.indexes.get(script);
+      if (index == null) {
+        index = this.scripts.size();
+        this.scripts.add(script);
+        this.indexes.put(script, index);
+      } else if (members.get(index) || (preloads != null && preloads.members.get(index))) {
+        continue;
+      }
+      members.set(index);
+      order[size++] = index;
+    }
+    return new Scripts(size == order.length ? order : Arrays.copyOf(order, size), members);
+  }
+
+  private class Scripts extends AbstractSet<String> {
+
+    private final int[] order;
+    private final BitSet members;
+
+    Scripts(int[] order, BitSet members) {
+      this.order = order;
+      this.members = members;
+    }
+
+    @Override
+    public int size() {
+      return this.order.length;
+    }
+
+    @Override
+    public boolean contains(Object script) {
+      Integer index = indexes.get(script);
+      return index != null && this.members.get(index);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+      return new Iterator<String>() {
+        private int next;
+
+        @Override
+        public boolean hasNext() {
+          return this.next < order.length;
+        }
+
+        @Override
+        public String next() {
+          if (!this.hasNext()) {
+            throw new NoSuchElementException();
+          }
+          return scripts.get(order[this.next++]);
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException("The scripts of a manifest can't be changed");
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.github.searls.jasmine.io.scripts;
+
+import java.util.Set;
+
+public class SelectedSpecsScriptResolver implements ScriptResolver {
+
+  private final ScriptResolver scriptResolver;
+  private final SelectsSpecs selectsSpecs;
+
+  private Set<String> specs;
+  private ScriptManifest manifest;
+
+  public SelectedSpecsScriptResolver(ScriptResolver scriptResolver, SelectsSpecs selectsSpecs) {
+    this.scriptResolver = scriptResolver;
+    this.selectsSpecs = selectsSpecs;
+  }
+
+  @Override
+  public String getSourceDirectory() throws ScriptResolverException {
+    return this.scriptResolver.getSourceDirectory();
+  }
+
+  @Override
+  public String getSpecDirectory() throws ScriptResolverException {
+    return this.scriptResolver.getSpecDirectory();
+  }
+
+  @Override
+  public String getBaseDirectory() throws ScriptResolverException {
+    return this.scriptResolver.getBaseDirectory();
+  }
+
+  @Override
+  public Set<String> getSources() throws ScriptResolverException {
+    return this.scriptResolver.getSources();
+  }
+
+  @Override
+  public synchronized Set<String> getSpecs() throws ScriptResolverException {
+    if (this.specs == null) {
+      this.specs = this.selectsSpecs.select(this.scriptResolver);
+    }
+    return this.specs;
+  }
+
+  @Override
+  public Set<String> getPreloads() throws ScriptResolverException {
+    return this.scriptResolver.getPreloads();
+  }
+
+  @Override
+  public synchronized Set<String> getAllScripts() throws ScriptResolverException {
+    if (this.manifest == null) {
+      this.manifest = new ScriptManifest(this.getPreloads(), this.getSources(), this.getSpecs());
+    }
+    return this.manifest.getAllScripts();
+  }
+}
@@ -0,0 +1,162 @@
+package com.github.searls.jasmine.io.scripts;
+
+import com.github.searls.jasmine.model.ScriptSearch;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Selects only the specs affected by changes since the last recorded run. A persisted index keeps the hash of every
+ * script and, for every spec, the scripts it depends on. A spec is selected when it is new or changed, or when any
+ * of its dependencies changed. Without an index, all specs are selected.
+ * <p>
+ * Dependencies are taken from the load order of the runner, as nothing records which scripts a spec actually uses:
+ * a spec depends on every preload, source and helper spec loaded before it. All sources load before all specs, so
+ * a changed source selects every spec. Only runs in which nothing but specs changed execute fewer specs. Specs named
+ * explicitly in the spec includes are treated as helpers and always selected.
+ * <p>
+ * The index is only updated by {@link #record()}, so specs keep being selected until a run records them.
+ */
+public class SelectsAffectedSpecs implements SelectsSpecs {
+
+  private static final String HASH_PREFIX = "hash.";
+  private static final String DEPENDENCIES_PREFIX = "dependencies.";
+  private static final String SEPARATOR = " ";
+
+  private final File indexFile;
+  private final Set<String> helpers;
+
+  private Map<String, String> hashes;
+  private Map<String, Set<String>> dependencies;
+
+  public SelectsAffectedSpecs(File indexFile, ScriptSearch specSearch) {
+    this(indexFile, ShardsSpecs.findHelpers(specSearch));
+  }
+
+  public SelectsAffectedSpecs(File indexFile, Set<String> helpers) {
+    this.indexFile = indexFile;
+    this.helpers = helpers;
+  }
+
+  @Override
+  public Set<String> select(ScriptResolver scripts) throws ScriptResolverException {
+    Set<String> loadedBefore = new LinkedHashSet<String>();
+    loadedBefore.addAll(scripts.getPreloads());
+    loadedBefore.addAll(scripts.getSources());
+
+    this.hashes = new LinkedHashMap<String, String>();
+    this.dependencies = new LinkedHashMap<String, Set<String>>();
+    for (String script : loadedBefore) {
+      this.hashes.put(script, this.hash(script));
+    }
+    for (String spec : scripts.getSpecs()) {
+      this.hashes.put(spec, this.hash(spec));
+      this.dependencies.put(spec, new LinkedHashSet<String>(loadedBefore));
+      if (this.helpers.contains(spec)) {
+        loadedBefore.add(spec);
+      }
+    }
+
+    Properties index = this.loadIndex();
+    Set<String> selected = new LinkedHashSet<String>();
+    for (String spec : scripts.getSpecs()) {
+      if (index == null || this.helpers.contains(spec) || this.isAffected(spec, index)) {
+        selected.add(spec);
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Persists the hashes and dependencies seen by the last {@link #select(ScriptResolver)}, making them the baseline
+   * of the next run.
+   */
+  public void record() throws IOException {
+    if (this.hashes == null) {
+      return;
+    }
+    Properties index = new Properties();
+    for (Map.Entry<String, String> hash : this.hashes.entrySet()) {
+      index.setProperty(HASH_PREFIX + hash.getKey(), hash.getValue());
+    }
+    for (Map.Entry<String, Set<String>> spec : this.dependencies.entrySet()) {
+      index.setProperty(DEPENDENCIES_PREFIX + spec.getKey(), StringUtils.join(spec.getValue(), SEPARATOR));
+    }
+    FileUtils.forceMkdir(this.indexFile.getParentFile());
+    OutputStream out = new FileOutputStream(this.indexFile);
+    try {
+      index.store(out, "jasmine-maven-plugin incremental index");
+    } finally {
+      IOUtils.closeQuietly(out);
+    }
+  }
+
+  private boolean isAffected(String spec, Properties index) {
+    String recordedDependencies = index.getProperty(DEPENDENCIES_PREFIX + spec);
+    if (recordedDependencies == null || this.isChanged(spec, index)) {
+      return true;
+    }
+    Set<String> recorded = new LinkedHashSet<String>();
+    for (String dependency : StringUtils.split(recordedDependencies, SEPARATOR)) {
+      recorded.add(dependency);
+    }
+    if (!recorded.equals(this.dependencies.get(spec))) {
+      return true;
+    }
+    for (String dependency : recorded) {
+      if (this.isChanged(dependency, index)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isChanged(String script, Properties index) {
+    return !StringUtils.equals(this.hashes.get(script), index.getProperty(HASH_PREFIX + script));
+  }
+
+  private Properties loadIndex() {
+    if (!this.indexFile.isFile()) {
+      return null;
+    }
+    Properties index = new Properties();
+    InputStream in = null;
+    try {
+      in = new FileInputStream(this.indexFile);
+      index.load(in);
+      return index;
+    } catch (IOException e) {
+      return null;
+    } finally {
+      IOUtils.closeQuietly(in);
+    }
+  }
+
+  private String hash(String script) {
+    try {
+      URI uri = new URI(script);
+      if ("file".equals(uri.getScheme())) {
+        File file = new File(uri);
+        return file.isFile() ? Files.hash(file, Hashing.sha256()).toString() : "";
+      }
+    } catch (Exception e) {
+      // not a local file, fall through
+    }
+    return script;
+  }
+}
@@ -0,0 +1,13 @@
+package com.github.searls.jasmine.io.scripts;
+
+import java.util.Set;
+
+public interface SelectsSpecs {
+
+  /**
+   * @param scripts the resolved preloads, sources and specs
+   * @return the subset of the specs to put in the runner, in their original order
+   */
+  Set<String> select(ScriptResolver scripts) throws ScriptResolverException;
+
+}
@@ -0,0 +1,69 @@
+package com.github.searls.jasmine.io.scripts;
+
+import com.github.searls.jasmine.model.ScriptSearch;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Selects the specs belonging to one shard of a suite. Specs are dealt out to the shards in turn
+ * (preserving their order), while spec files explicitly named in the spec includes are treated as
+ * helpers and kept in every shard.
+ */
+public class ShardsSpecs implements SelectsSpecs {
+
+  private final int shardIndex;
+  private final int shardCount;
+  private final Set<String> helpers;
+
+  public ShardsSpecs(int shardIndex, int shardCount, ScriptSearch specSearch) {
+    this(shardIndex, shardCount, findHelpers(specSearch));
+  }
+
+  public ShardsSpecs(int shardIndex, int shardCount, Set<String> helpers) {
+    if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+      throw new IllegalArgumentException("Invalid shard " + shardIndex + " of " + shardCount);
+    }
+    this.shardIndex = shardIndex;
+    this.shardCount = shardCount;
+    this.helpers = helpers;
+  }
+
+  @Override
+  public Set<String> select(ScriptResolver scripts) throws ScriptResolverException {
+    return this.select(scripts.getSpecs());
+  }
+
+  public Set<String> select(Set<String> specs) {
+    Set<String> selected = new LinkedHashSet<String>();
+    int position = 0;
+    for (String spec : specs) {
+      if (this.helpers.contains(spec)) {
+        selected.add(spec);
+      } else {
+        if (position % this.shardCount == this.shardIndex) {
+          selected.add(spec);
+        }
+        position++;
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * @return the specs named explicitly (without wildcards) in the spec includes, as URIs.
+   */
+  static Set<String> findHelpers(ScriptSearch specSearch) {
+    Set<String> helpers = new HashSet<String>();
+    ConvertsFileToUriString convertsFileToUriString = new ConvertsFileToUriString();
+    for (String include : specSearch.getIncludes()) {
+      if (!StringUtils.containsAny(include, '*', '?')) {
+        helpers.add(convertsFileToUriString.convert(new File(specSearch.getDirectory(), include)));
+      }
+    }
+    return helpers;
+  }
+}
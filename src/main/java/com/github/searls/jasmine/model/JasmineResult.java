@@ -3,12 +3,19 @@ package com.github.searls.jasmine.model;
 
 public class JasmineResult {
   private String details = "";
+  private SpecResults specResults;
 
   public String getDescription() {
     return last(getDetails().split("\n"));
   }
 
+  /**
+   * Decides by the spec results when they were extracted, otherwise by the last line of the report.
+   */
   public boolean didPass() {
+    if (specResults != null) {
+      return specResults.getFailedCount() == 0;
+    }
     return getDescription().contains(" 0 failures");
   }
 
@@ -20,6 +27,17 @@ public class JasmineResult {
     this.details = details;
   }
 
+  /**
+   * @return the results of the specs, or <code>null</code> when only a report is available
+   */
+  public SpecResults getSpecResults() {
+    return specResults;
+  }
+
+  public void setSpecResults(SpecResults specResults) {
+    this.specResults = specResults;
+  }
+
   private <T> T last(T[] array) {
     return array[array.length - 1];
   }
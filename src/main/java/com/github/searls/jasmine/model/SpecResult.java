@@ -0,0 +1,100 @@
+package com.github.searls.jasmine.model;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of a single spec, as reported by jasmine once the spec is done.
+ */
+public class SpecResult {
+
+  public static final String FAILED = "failed";
+  public static final String PENDING = "pending";
+
+  private final String description;
+  private final List<String> suites;
+  private final String status;
+  private final List<Failure> failures;
+  private final long duration;
+
+  /**
+   * @param suites the descriptions of the suites containing the spec, outermost first
+   */
+  public SpecResult(String description, List<String> suites, String status, List<Failure> failures) {
+    this(description, suites, status, failures, 0);
+  }
+
+  /**
+   * @param duration the time the spec took in milliseconds, or 0 when unknown
+   */
+  public SpecResult(String description, List<String> suites, String status, List<Failure> failures, long duration) {
+    this.description = description;
+    this.suites = suites;
+    this.status = status;
+    this.failures = failures;
+    this.duration = duration;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public List<String> getSuites() {
+    return suites;
+  }
+
+  public String getStatus() {
+    return status;
+  }
+
+  public List<Failure> getFailures() {
+    return failures;
+  }
+
+  public long getDuration() {
+    return duration;
+  }
+
+  public boolean isFailed() {
+    return FAILED.equals(status);
+  }
+
+  public boolean isPending() {
+    return PENDING.equals(status);
+  }
+
+  /**
+   * @return the descriptions of the suites and the spec, joined like jasmine's full name
+   */
+  public String getFullName() {
+    List<String> names = new ArrayList<String>(suites);
+    names.add(description);
+    return StringUtils.join(names, ' ');
+  }
+
+  public static class Failure {
+    private final String message;
+    private final String stack;
+    private final String matcherName;
+
+    public Failure(String message, String stack, String matcherName) {
+      this.message = message;
+      this.stack = stack;
+      this.matcherName = matcherName;
+    }
+
+    public String getMessage() {
+      return message;
+    }
+
+    public String getStack() {
+      return stack;
+    }
+
+    public String getMatcherName() {
+      return matcherName;
+    }
+  }
+}
@@ -0,0 +1,232 @@
+package com.github.searls.jasmine.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of all specs of a run, in the order the specs ran.
+ * <p>
+ * Results are kept in parallel arrays rather than as one object per spec: suites are stored once and referenced by
+ * index from their specs and child suites, statuses are indices into the few distinct status names and the failures
+ * of all specs share one set of arrays. {@link SpecResult}s are only created when a result is read.
+ * <p>
+ * Results that have been reported elsewhere already, like streamed ones, can be kept by {@link #failuresOnly()}:
+ * all specs are counted, but only the results of failed specs are kept.
+ */
+public class SpecResults {
+
+  private static final int NO_SUITE = -1;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final List<String> statuses = new ArrayList<String>();
+
+  private final Map<String, Integer> suiteIndex = new HashMap<String, Integer>();
+  private String[] suiteDescriptions = new String[INITIAL_CAPACITY];
+  private int[] suiteParents = new int[INITIAL_CAPACITY];
+  private int suiteCount;
+
+  private String[] descriptions = new String[INITIAL_CAPACITY];
+  private int[] specSuites = new int[INITIAL_CAPACITY];
+  private byte[] specStatuses = new byte[INITIAL_CAPACITY];
+  private long[] durations = new long[INITIAL_CAPACITY];
+  private int[] failureEnds = new int[INITIAL_CAPACITY];
+  private int resultCount;
+
+  private String[] failureMessages = new String[INITIAL_CAPACITY];
+  private String[] failureStacks = new String[INITIAL_CAPACITY];
+  private String[] failureMatcherNames = new String[INITIAL_CAPACITY];
+  private int failureCount;
+
+  private final boolean failuresOnly;
+  private int specCount;
+  private int failedCount;
+  private int pendingCount;
+  private long duration;
+
+  public SpecResults() {
+    this(false);
+  }
+
+  private SpecResults(boolean failuresOnly) {
+    this.failuresOnly = failuresOnly;
+  }
+
+  /**
+   * @return results counting all specs, but only keeping the results of failed specs
+   */
+  public static SpecResults failuresOnly() {
+    return new SpecResults(true);
+  }
+
+  public void add(SpecResult result) {
+    this.specCount++;
+    if (result.isFailed()) {
+      this.failedCount++;
+    } else if (result.isPending()) {
+      this.pendingCount++;
+    }
+    if (!this.failuresOnly || result.isFailed()) {
+      this.keep(result);
+    }
+  }
+
+  /**
+   * Adds the results of another run, which are counted the way that run counted them.
+   */
+  public void addAll(SpecResults results) {
+    for (int result = 0; result < results.size(); result++) {
+      SpecResult specResult = results.get(result);
+      if (!this.failuresOnly || specResult.isFailed()) {
+        this.keep(specResult);
+      }
+    }
+    this.specCount += results.specCount;
+    this.failedCount += results.failedCount;
+    this.pendingCount += results.pendingCount;
+    this.duration = Math.max(this.duration, results.getDuration());
+  }
+
+  private void keep(SpecResult result) {
+    if (this.resultCount == this.descriptions.length) {
+      int capacity = this.resultCount * 2;
+      this.descriptions = Arrays.copyOf(this.descriptions, capacity);
+      this.specSuites = Arrays.copyOf(this.specSuites, capacity);
+      this.specStatuses = Arrays.copyOf(this.specStatuses, capacity);
+      this.durations = Arrays.copyOf(this.durations, capacity);
+      this.failureEnds = Arrays.copyOf(this.failureEnds, capacity);
+    }
+    int spec = this.resultCount++;
+    this.descriptions[spec] = result.getDescription();
+    this.specSuites[spec] = this.suiteOf(result.getSuites());
+    this.specStatuses[spec] = this.statusOf(result.getStatus());
+    this.durations[spec] = result.getDuration();
+    for (SpecResult.Failure failure : result.getFailures()) {
+      this.addFailure(failure);
+    }
+    this.failureEnds[spec] = this.failureCount;
+  }
+
+  public SpecResult get(int spec) {
+    if (spec < 0 || spec >= this.resultCount) {
+      throw new IndexOutOfBoundsException("No spec result at " + spec + " of " + this.resultCount);
+    }
+    int firstFailure = spec == 0 ? 0 : this.failureEnds[spec - 1];
+    List<SpecResult.Failure> failures = new ArrayList<SpecResult.Failure>(this.failureEnds[spec] - firstFailure);
+    for (int failure = firstFailure; failure < this.failureEnds[spec]; failure++) {
+      failures.add(new SpecResult.Failure(this.failureMessages[failure], this.failureStacks[failure], this.failureMatcherNames[failure]));
+    }
+    return new SpecResult(
+      this.descriptions[spec],
+      this.suitePath(this.specSuites[spec]),
+      this.statuses.get(this.specStatuses[spec]),
+      failures,
+      this.durations[spec]);
+  }
+
+  /**
+   * @return the results from the given index on, up to the given number of them
+   */
+  public List<SpecResult> get(int from, int length) {
+    int to = Math.min(this.resultCount, from + length);
+    List<SpecResult> results = new ArrayList<SpecResult>(Math.max(0, to - from));
+    for (int spec = from; spec < to; spec++) {
+      results.add(this.get(spec));
+    }
+    return results;
+  }
+
+  /**
+   * @return the number of results kept, which are all results unless only failures are kept
+   */
+  public int size() {
+    return this.resultCount;
+  }
+
+  /**
+   * @return the number of specs of the run, including those whose results were not kept
+   */
+  public int getSpecCount() {
+    return this.specCount;
+  }
+
+  public int getFailedCount() {
+    return this.failedCount;
+  }
+
+  public int getPendingCount() {
+    return this.pendingCount;
+  }
+
+  /**
+   * @return the execution time of the run in milliseconds, or 0 when unknown
+   */
+  public long getDuration() {
+    return this.duration;
+  }
+
+  public void setDuration(long duration) {
+    this.duration = duration;
+  }
+
+  private int suiteOf(List<String> suites) {
+    int parent = NO_SUITE;
+    for (String description : suites) {
+      String key = parent + ":" + description;
+      Integer suite = this.suiteIndex.get(key);
+      if (suite == null) {
+        suite = this.addSuite(description, parent);
+        this.suiteIndex.put(key, suite);
+      }
+      parent = suite;
+    }
+    return parent;
+  }
+
+  private int addSuite(String description, int parent) {
+    if (this.suiteCount == this.suiteDescriptions.length) {
+      this.suiteDescriptions = Arrays.copyOf(this.suiteDescriptions, this.suiteCount * 2);
+      this.suiteParents = Arrays.copyOf(this.suiteParents, this.suiteCount * 2);
+    }
+    this.suiteDescriptions[this.suiteCount] = description;
+    this.suiteParents[this.suiteCount] = parent;
+    return this.suiteCount++;
+  }
+
+  private List<String> suitePath(int suite) {
+    if (suite == NO_SUITE) {
+      return Collections.emptyList();
+    }
+    List<String> path = new ArrayList<String>();
+    for (int current = suite; current != NO_SUITE; current = this.suiteParents[current]) {
+      path.add(this.suiteDescriptions[current]);
+    }
+    Collections.reverse(path);
+    return path;
+  }
+
+  private byte statusOf(String status) {
+    int index = this.statuses.indexOf(status);
+    if (index < 0) {
+      index = this.statuses.size();
+      this.statuses.add(status);
+    }
+    return (byte) index;
+  }
+
+  private void addFailure(SpecResult.Failure failure) {
+    if (this.failureCount == this.failureMessages.length) {
+      int capacity = this.failureCount * 2;
+      this.failureMessages = Arrays.copyOf(this.failureMessages, capacity);
+      this.failureStacks = Arrays.copyOf(this.failureStacks, capacity);
+      this.failureMatcherNames = Arrays.copyOf(this.failureMatcherNames, capacity);
+    }
+    this.failureMessages[this.failureCount] = failure.getMessage();
+    this.failureStacks[this.failureCount] = failure.getStack();
+    this.failureMatcherNames[this.failureCount] = failure.getMatcherName();
+    this.failureCount++;
+  }
+}
@@ -7,6 +7,7 @@ import com.github.searls.jasmine.model.FileSystemReporter;
 import com.github.searls.jasmine.model.Reporter;
 import com.github.searls.jasmine.model.ScriptSearch;
 import com.github.searls.jasmine.runner.SpecRunnerTemplate;
+import com.github.searls.jasmine.server.TunesServer;
 import com.github.searls.jasmine.thirdpartylibs.ProjectClassLoaderFactory;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -16,6 +17,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.resource.ResourceManager;
 import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -375,6 +377,52 @@ public abstract class AbstractJasmineMojo extends AbstractMojo implements Jasmin
   )
   protected String connectorClass;
 
+  /**
+   * <p>Gzip scripts, stylesheets and pages served to browsers accepting it. Compressed content is cached,
+   * so every version of a resource is only compressed once.</p>
+   * <p>Useful when the browsers run on other machines, e.g. on a Selenium grid.</p>
+   *
+   * @since 2.3
+   */
+  @Parameter(property = "jasmine.compressResponses", defaultValue = "false")
+  protected boolean compressResponses;
+
+  /**
+   * <p>Load the preloads, sources and specs from a single bundle instead of one script tag per file, saving a
+   * request per file. CoffeeScript is compiled into the bundle, and a source map points back at the original
+   * files. Scripts not found on the file system keep loading on their own.</p>
+   * <p>Bundled scripts share a single script, so a file level <code>"use strict"</code> only applies when it is
+   * in the first bundled file. Not supported with the <code>REQUIRE_JS</code> spec runner template.</p>
+   *
+   * @since 2.3
+   */
+  @Parameter(property = "jasmine.bundleScripts", defaultValue = "false")
+  protected boolean bundleScripts;
+
+  /**
+   * <p>Tune the thread pool and connector of the jetty server, e.g. when many browsers run specs in parallel or a
+   * RequireJS project loads hundreds of scripts at once. Options left out keep the jetty defaults.</p>
+   * <pre>
+   * &lt;serverOptions&gt;
+   *   &lt;minThreads&gt;8&lt;/minThreads&gt;
+   *   &lt;maxThreads&gt;254&lt;/maxThreads&gt;
+   *   &lt;maxQueued&gt;1000&lt;/maxQueued&gt;
+   *   &lt;threadIdleTimeout&gt;60000&lt;/threadIdleTimeout&gt;
+   *   &lt;acceptors&gt;2&lt;/acceptors&gt;
+   *   &lt;acceptQueueSize&gt;128&lt;/acceptQueueSize&gt;
+   *   &lt;maxIdleTime&gt;30000&lt;/maxIdleTime&gt;
+   *   &lt;virtualThreads&gt;false&lt;/virtualThreads&gt;
+   * &lt;/serverOptions&gt;
+   * </pre>
+   * <p><code>maxIdleTime</code> is the keep-alive timeout of idle connections in milliseconds. With
+   * <code>virtualThreads</code>, requests are handled on a virtual thread each when running on Java 21 or later,
+   * and the thread pool options are ignored.</p>
+   *
+   * @since 2.3
+   */
+  @Parameter
+  protected ServerOptions serverOptions;
+
   /**
    * <p>Specify additional contexts to make available.</p>
    * <pre>
@@ -485,6 +533,16 @@ public abstract class AbstractJasmineMojo extends AbstractMojo implements Jasmin
     return this.coffeeScriptCompilationEnabled;
   }
 
+  @Override
+  public boolean isCompressResponses() {
+    return this.compressResponses;
+  }
+
+  @Override
+  public boolean isBundleScripts() {
+    return this.bundleScripts;
+  }
+
   public MavenProject getMavenProject() {
     return this.mavenProject;
   }
@@ -527,7 +585,9 @@ public abstract class AbstractJasmineMojo extends AbstractMojo implements Jasmin
     try {
       @SuppressWarnings("unchecked")
       Class<? extends Connector> c = (Class<? extends Connector>) Class.forName(connectorClass);
-      return c.newInstance();
+      Connector connector = c.newInstance();
+      new TunesServer(this.serverOptions, this.getLog()).tune(connector);
+      return connector;
     } catch (InstantiationException e) {
       throw new MojoExecutionException("Unable to instantiate.", e);
     } catch (IllegalAccessException e) {
@@ -537,6 +597,12 @@ public abstract class AbstractJasmineMojo extends AbstractMojo implements Jasmin
     }
   }
 
+  protected Server createServer() {
+    Server server = new Server();
+    new TunesServer(this.serverOptions, this.getLog()).tune(server);
+    return server;
+  }
+
   protected boolean isSkipTests() {
     return this.skipTests || this.mvnTestSkip || this.skipJasmineTests;
   }
@@ -7,6 +7,8 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ReporterRetriever {
@@ -24,35 +26,47 @@ public class ReporterRetriever {
     this.resourceRetriever = resourceRetriever;
   }
 
+  /**
+   * @return resolved copies of the given reporters, which are left as configured
+   */
   List<FileSystemReporter> retrieveFileSystemReporters(final List<FileSystemReporter> reporters, final File targetDirectory, final MavenProject mavenProject) throws MojoExecutionException {
-    if (reporters.isEmpty()) {
-      reporters.add(new FileSystemReporter(JUNIT_XML_FILENAME, JUNIT_XML_KEY));
-    }
+    List<FileSystemReporter> configured = reporters.isEmpty()
+      ? Collections.singletonList(new FileSystemReporter(JUNIT_XML_FILENAME, JUNIT_XML_KEY))
+      : reporters;
 
-    for (FileSystemReporter reporter : reporters) {
-      if (JUNIT_XML_KEY.equals(reporter.reporterName)) {
-        reporter.reporterName = JUNIT_XML_REPORTER;
+    List<FileSystemReporter> retrieved = new ArrayList<FileSystemReporter>(configured.size());
+    for (FileSystemReporter reporter : configured) {
+      FileSystemReporter copy = new FileSystemReporter(reporter.fileName, reporter.reporterName);
+      if (JUNIT_XML_KEY.equals(copy.reporterName)) {
+        copy.reporterName = JUNIT_XML_REPORTER;
       }
-      reporter.reporterFile = getReporter(reporter.reporterName, mavenProject);
-      reporter.file = new File(targetDirectory, reporter.fileName);
+      copy.reporterFile = getReporter(copy.reporterName, mavenProject);
+      copy.file = new File(targetDirectory, copy.fileName);
+      retrieved.add(copy);
     }
 
-    return reporters;
+    return retrieved;
   }
 
+  /**
+   * @return resolved copies of the given reporters, which are left as configured
+   */
   List<Reporter> retrieveReporters(final List<Reporter> reporters, final MavenProject mavenProject) throws MojoExecutionException {
-    if (reporters.isEmpty()) {
-      reporters.add(new Reporter(STANDARD_REPORTER_KEY));
-    }
+    List<Reporter> configured = reporters.isEmpty()
+      ? Collections.singletonList(new Reporter(STANDARD_REPORTER_KEY))
+      : reporters;
 
-    for (Reporter reporter : reporters) {
-      if (STANDARD_REPORTER_KEY.equals(reporter.reporterName)) {
-        reporter.reporterName = STANDARD_REPORTER;
+    List<Reporter> retrieved = new ArrayList<Reporter>(configured.size());
+    for (Reporter reporter : configured) {
+      Reporter copy = new Reporter(reporter.reporterName);
+      if (STANDARD_REPORTER_KEY.equals(copy.reporterName)) {
+        copy.reporterName = STANDARD_REPORTER;
       }
-      reporter.reporterFile = getReporter(reporter.reporterName, mavenProject);
+      copy.reporterFile = getReporter(copy.reporterName, mavenProject);
+      retrieved.add(copy);
     }
 
-    return reporters;
+    return retrieved;
   }
 
   private File getReporter(final String reporter, final MavenProject mavenProject) throws MojoExecutionException {
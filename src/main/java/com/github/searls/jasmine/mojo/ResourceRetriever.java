@@ -3,10 +3,17 @@ package com.github.searls.jasmine.mojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.resource.ResourceManager;
-import org.codehaus.plexus.resource.loader.FileResourceLoader;
 
 import java.io.File;
 
+/**
+ * Looks up resources relative to the project, on the classpath or by URL.
+ * <p>
+ * The resource manager is a component shared by all modules of a parallel build, and its search paths are global
+ * to it, so files are resolved against the project's base directory here rather than by adding it as a search path,
+ * which would let another module's base directory resolve them as well. The resource manager only looks up
+ * classpath resources and URLs, while holding its lock, as its search paths are not thread-safe.
+ */
 public class ResourceRetriever {
 
   private final ResourceManager locator;
@@ -21,16 +28,20 @@ public class ResourceRetriever {
     File file = null;
 
     if (resourceLocation != null) {
-      locator.addSearchPath("url", "");
-      locator.addSearchPath(FileResourceLoader.ID, mavenProject.getFile().getParentFile().getAbsolutePath());
-
+      file = projectFile(resourceLocation, mavenProject);
+      if (file.isFile()) {
+        return file;
+      }
       ClassLoader origLoader = Thread.currentThread().getContextClassLoader();
       try {
         Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
-        try {
-          file = locator.getResourceAsFile(resourceLocation);
-        } catch (Exception e) {
-          throw new MojoExecutionException(String.format(ERROR_FILE_DNE, parameter, resourceLocation));
+        synchronized (locator) {
+          locator.addSearchPath("url", "");
+          try {
+            file = locator.getResourceAsFile(resourceLocation);
+          } catch (Exception e) {
+            throw new MojoExecutionException(String.format(ERROR_FILE_DNE, parameter, resourceLocation));
+          }
         }
       } finally {
         Thread.currentThread().setContextClassLoader(origLoader);
@@ -38,4 +49,9 @@ public class ResourceRetriever {
     }
     return file;
   }
+
+  private static File projectFile(String resourceLocation, MavenProject mavenProject) {
+    File file = new File(resourceLocation);
+    return file.isAbsolute() ? file : new File(mavenProject.getBasedir(), resourceLocation);
+  }
 }
@@ -2,6 +2,7 @@ package com.github.searls.jasmine.mojo;
 
 import com.github.searls.jasmine.NullLog;
 import com.github.searls.jasmine.io.RelativizesFilePaths;
+import com.github.searls.jasmine.io.WatchingScansDirectory;
 import com.github.searls.jasmine.runner.CreatesRunner;
 import com.github.searls.jasmine.runner.ReporterType;
 import com.github.searls.jasmine.server.ResourceHandlerConfigurator;
@@ -10,7 +11,6 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.ResolutionScope;
-import org.eclipse.jetty.server.Server;
 
 import java.io.File;
 import java.io.IOException;
@@ -18,7 +18,7 @@ import java.io.IOException;
 /**
  * Execute specs in a web browser. Monitors your sources/specs for changes as you develop.
  */
-@Mojo(name = "bdd", requiresDirectInvocation = true, requiresDependencyResolution = ResolutionScope.TEST)
+@Mojo(name = "bdd", requiresDirectInvocation = true, requiresDependencyResolution = ResolutionScope.TEST, threadSafe = true)
 public class ServerMojo extends AbstractJasmineMojo {
 
   public static final String INSTRUCTION_FORMAT =
@@ -53,28 +53,35 @@ public class ServerMojo extends AbstractJasmineMojo {
 
   @Override
   public void run() throws Exception {
-    ServerManager serverManager = this.getServerManager();
+    WatchingScansDirectory scansDirectory = new WatchingScansDirectory();
+    try {
+      ServerManager serverManager = this.getServerManager(scansDirectory);
 
-    serverManager.start(this.serverPort);
-    this.getLog().info(this.buildServerInstructions());
-    serverManager.join();
+      serverManager.start(this.serverPort);
+      this.getLog().info(this.buildServerInstructions());
+      serverManager.join();
+    } finally {
+      scansDirectory.close();
+    }
   }
 
-  private ServerManager getServerManager() throws MojoExecutionException {
+  private ServerManager getServerManager(WatchingScansDirectory scansDirectory) throws MojoExecutionException {
     Log log = this.debug ? this.getLog() : new NullLog();
 
     CreatesRunner createsRunner = new CreatesRunner(
       this,
       log,
       this.manualSpecRunnerHtmlFileName,
-      ReporterType.HtmlReporter);
+      ReporterType.HtmlReporter,
+      null,
+      scansDirectory);
 
     ResourceHandlerConfigurator configurator = new ResourceHandlerConfigurator(
       this,
       this.relativizesFilePaths,
       createsRunner);
 
-    return new ServerManager(new Server(), getConnector(), configurator);
+    return new ServerManager(createServer(), getConnector(), configurator);
   }
 
   private String getRelativePath(File absolutePath) throws IOException {
@@ -0,0 +1,80 @@
+package com.github.searls.jasmine.mojo;
+
+/**
+ * Tuning of the embedded Jetty server. Options left unset keep the Jetty defaults.
+ */
+public class ServerOptions {
+
+  private Integer minThreads;
+  private Integer maxThreads;
+  private Integer maxQueued;
+  private Integer threadIdleTimeout;
+  private Integer acceptors;
+  private Integer acceptQueueSize;
+  private Integer maxIdleTime;
+  private boolean virtualThreads;
+
+  public Integer getMinThreads() {
+    return minThreads;
+  }
+
+  public void setMinThreads(Integer minThreads) {
+    this.minThreads = minThreads;
+  }
+
+  public Integer getMaxThreads() {
+    return maxThreads;
+  }
+
+  public void setMaxThreads(Integer maxThreads) {
+    this.maxThreads = maxThreads;
+  }
+
+  public Integer getMaxQueued() {
+    return maxQueued;
+  }
+
+  public void setMaxQueued(Integer maxQueued) {
+    this.maxQueued = maxQueued;
+  }
+
+  public Integer getThreadIdleTimeout() {
+    return threadIdleTimeout;
+  }
+
+  public void setThreadIdleTimeout(Integer threadIdleTimeout) {
+    this.threadIdleTimeout = threadIdleTimeout;
+  }
+
+  public Integer getAcceptors() {
+    return acceptors;
+  }
+
+  public void setAcceptors(Integer acceptors) {
+    this.acceptors = acceptors;
+  }
+
+  public Integer getAcceptQueueSize() {
+    return acceptQueueSize;
+  }
+
+  public void setAcceptQueueSize(Integer acceptQueueSize) {
+    this.acceptQueueSize = acceptQueueSize;
+  }
+
+  public Integer getMaxIdleTime() {
+    return maxIdleTime;
+  }
+
+  public void setMaxIdleTime(Integer maxIdleTime) {
+    this.maxIdleTime = maxIdleTime;
+  }
+
+  public boolean isVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+}
@@ -4,14 +4,20 @@ import com.github.klieber.phantomjs.locate.PhantomJsLocatorOptions;
 import com.github.klieber.phantomjs.locate.RepositoryDetails;
 import com.github.searls.jasmine.NullLog;
 import com.github.searls.jasmine.driver.WebDriverFactory;
+import com.github.searls.jasmine.driver.WebDriverPool;
+import com.github.searls.jasmine.format.AppliesSourceMaps;
 import com.github.searls.jasmine.format.JasmineResultLogger;
 import com.github.searls.jasmine.io.RelativizesFilePaths;
+import com.github.searls.jasmine.io.scripts.SelectsAffectedSpecs;
+import com.github.searls.jasmine.io.scripts.ShardsSpecs;
 import com.github.searls.jasmine.model.JasmineResult;
 import com.github.searls.jasmine.runner.CreatesRunner;
 import com.github.searls.jasmine.runner.ReporterType;
+import com.github.searls.jasmine.runner.ShardedSpecRunnerExecutor;
 import com.github.searls.jasmine.runner.SpecRunnerExecutor;
 import com.github.searls.jasmine.server.ResourceHandlerConfigurator;
 import com.github.searls.jasmine.server.ServerManager;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -23,12 +29,13 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.repository.RemoteRepository;
-import org.eclipse.jetty.server.Server;
 import org.openqa.selenium.WebDriver;
 
 import javax.inject.Inject;
 import java.io.File;
+import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
@@ -36,7 +43,7 @@ import java.util.Properties;
 /**
  * Execute specs using Selenium Web Driver. Uses PhantomJsDriver for head-less execution by default.
  */
-@Mojo(name = "test", defaultPhase = LifecyclePhase.TEST, requiresDependencyResolution = ResolutionScope.TEST)
+@Mojo(name = "test", defaultPhase = LifecyclePhase.TEST, requiresDependencyResolution = ResolutionScope.TEST, threadSafe = true)
 public class TestMojo extends AbstractJasmineMojo {
 
   /**
@@ -149,6 +156,55 @@ public class TestMojo extends AbstractJasmineMojo {
   @Parameter(property = "keepServerAlive", defaultValue = "false")
   protected boolean keepServerAlive;
 
+  /**
+   * <p>Split the specs into this many shards and execute each shard in its own web driver in parallel.</p>
+   * <p>Each shard gets its own spec runner containing every n-th spec. Specs named explicitly (without wildcards)
+   * in <code>specIncludes</code> are treated as helpers and loaded by every shard. JUnit XML reports of all shards
+   * are merged into a single report.</p>
+   *
+   * @since 2.3
+   */
+  @Parameter(property = "jasmine.shards", defaultValue = "1")
+  protected int shards;
+
+  /**
+   * <p>Keep web drivers alive after the specs finished and reuse them for later executions in the same build
+   * (e.g. other modules of a reactor build) instead of starting a new browser each time.</p>
+   * <p>Reused drivers are reset between executions by clearing cookies and storage and navigating to
+   * <code>about:blank</code>. At most as many drivers as there are processors (and at least two) are kept
+   * idle. They are shut down when the build session ends.</p>
+   *
+   * @since 2.3
+   */
+  @Parameter(property = "jasmine.reuseWebDriver", defaultValue = "false")
+  protected boolean reuseWebDriver;
+
+  /**
+   * <p>Only execute the specs affected by changes since the last successful execution.</p>
+   * <p>The hashes of all scripts and the scripts each spec depends on are recorded in
+   * <code>incremental-index.properties</code> under <code>jasmineTargetDir</code>. Dependencies are taken from the
+   * load order only, not from the code a spec actually runs: every spec depends on all preloads, all sources and
+   * the helper specs loaded before it. So this only saves time when specs alone change, which executes just the
+   * changed specs. Changing any source, preload or helper executes every spec again. The index is only updated when
+   * all specs pass. Ignored when <code>shards</code> is used.</p>
+   *
+   * @since 2.3
+   */
+  @Parameter(property = "jasmine.incremental", defaultValue = "false")
+  protected boolean incremental;
+
+  /**
+   * <p>Fetch spec results from the browser in batches while the specs are running, instead of all at once when
+   * they finished.</p>
+   * <p>Results of the standard reporter are logged and the JUnit XML report is written as the specs complete, so
+   * progress shows up during long runs and the results never have to be held in memory all at once. Custom
+   * reporters are still evaluated when the specs finished. Ignored when <code>shards</code> is used.</p>
+   *
+   * @since 2.3
+   */
+  @Parameter(property = "jasmine.streamResults", defaultValue = "false")
+  protected boolean streamResults;
+
   @Parameter(
     defaultValue = "${repositorySystemSession}",
     readonly = true
@@ -171,6 +227,8 @@ public class TestMojo extends AbstractJasmineMojo {
 
   private final RelativizesFilePaths relativizesFilePaths;
 
+  private SelectsAffectedSpecs selectsAffectedSpecs;
+
   @Inject
   public TestMojo(RepositorySystem repositorySystem) {
     this.repositorySystem = repositorySystem;
@@ -193,8 +251,18 @@ public class TestMojo extends AbstractJasmineMojo {
       int port = serverManager.start();
       setPortProperty(port);
       this.getLog().info("Executing Jasmine Specs");
-      JasmineResult result = this.executeSpecs(new URL(this.uriScheme + "://" + this.serverHostname + ":" + port));
+      URL serverUrl = new URL(this.uriScheme + "://" + this.serverHostname + ":" + port);
+      JasmineResult result;
+      if (this.shards > 1) {
+        result = this.executeShardedSpecs(serverUrl);
+      } else if (this.streamResults) {
+        result = this.executeStreamingSpecs(serverUrl);
+      } else {
+        result = this.executeSpecs(serverUrl);
+      }
+      this.applySourceMaps(result);
       this.logResults(result);
+      this.recordAffectedSpecs(result);
       this.throwAnySpecFailures(result);
     } finally {
       if (!keepServerAlive) {
@@ -206,18 +274,33 @@ public class TestMojo extends AbstractJasmineMojo {
   private ServerManager getServerManager() throws MojoExecutionException {
     Log log = this.debug ? this.getLog() : new NullLog();
 
+    if (this.streamResults && this.shards > 1) {
+      this.getLog().warn("Streaming results is not supported with shards, reporting results when all shards finished");
+    }
+    if (this.incremental && this.shards > 1) {
+      this.getLog().warn("Incremental mode is not supported with shards, executing all specs");
+    } else if (this.incremental) {
+      this.selectsAffectedSpecs = new SelectsAffectedSpecs(
+        new File(this.jasmineTargetDir, "incremental-index.properties"),
+        this.specs);
+    }
+
     CreatesRunner createsRunner = new CreatesRunner(
       this,
       log,
       this.specRunnerHtmlFileName,
-      ReporterType.JsApiReporter);
+      ReporterType.JsApiReporter,
+      this.selectsAffectedSpecs);
 
     ResourceHandlerConfigurator configurator = new ResourceHandlerConfigurator(
       this,
       this.relativizesFilePaths,
       createsRunner);
+    if (this.shards > 1) {
+      configurator.setRunnerFileNames(this.getShardRunnerFileNames());
+    }
 
-    return new ServerManager(new Server(), getConnector(), configurator);
+    return new ServerManager(createServer(), getConnector(), configurator);
   }
 
   private void setPortProperty(int port) {
@@ -225,7 +308,7 @@ public class TestMojo extends AbstractJasmineMojo {
   }
 
   private JasmineResult executeSpecs(URL runner) throws Exception {
-    WebDriver driver = this.createDriver();
+    WebDriver driver = this.createDriverFactory().createWebDriver();
     JasmineResult result = new SpecRunnerExecutor().execute(
       runner,
       driver,
@@ -239,7 +322,62 @@ public class TestMojo extends AbstractJasmineMojo {
     return result;
   }
 
-  private WebDriver createDriver() throws Exception {
+  private JasmineResult executeStreamingSpecs(URL runner) throws Exception {
+    this.createResultLogger().logHeader();
+    WebDriver driver = this.createDriverFactory().createWebDriver();
+    return new SpecRunnerExecutor().executeStreaming(
+      runner,
+      driver,
+      this.timeout,
+      this.debug,
+      this.getLog(),
+      this.format,
+      getReporters(),
+      getFileSystemReporters(),
+      this.isCoffeeScriptCompilationEnabled() ? new AppliesSourceMaps(this) : null
+    );
+  }
+
+  private JasmineResult executeShardedSpecs(URL serverUrl) throws Exception {
+    Log log = this.debug ? this.getLog() : new NullLog();
+
+    List<URL> runnerUrls = new ArrayList<URL>();
+    List<String> runnerFileNames = this.getShardRunnerFileNames();
+    for (int shard = 0; shard < this.shards; shard++) {
+      String runnerFileName = runnerFileNames.get(shard);
+      new CreatesRunner(
+        this,
+        log,
+        runnerFileName,
+        ReporterType.JsApiReporter,
+        new ShardsSpecs(shard, this.shards, this.specs)).create();
+      // served at the root like the single runner, as the script locations in it are relative to the root
+      runnerUrls.add(new URL(serverUrl, "/" + runnerFileName));
+    }
+
+    return new ShardedSpecRunnerExecutor().execute(
+      runnerUrls,
+      this.createDriverFactory(),
+      this.timeout,
+      this.debug,
+      this.getLog(),
+      this.format,
+      getReporters(),
+      getFileSystemReporters()
+    );
+  }
+
+  private List<String> getShardRunnerFileNames() {
+    String baseName = FilenameUtils.getBaseName(this.specRunnerHtmlFileName);
+    String extension = FilenameUtils.getExtension(this.specRunnerHtmlFileName);
+    List<String> runnerFileNames = new ArrayList<String>();
+    for (int shard = 0; shard < this.shards; shard++) {
+      runnerFileNames.add(baseName + "-shard" + (shard + 1) + (extension.isEmpty() ? "" : "." + extension));
+    }
+    return runnerFileNames;
+  }
+
+  private WebDriverFactory createDriverFactory() throws Exception {
     RepositoryDetails details = new RepositoryDetails();
     details.setRemoteRepositories(remoteRepositories);
     details.setRepositorySystem(repositorySystem);
@@ -254,8 +392,12 @@ public class TestMojo extends AbstractJasmineMojo {
     factory.setBrowserVersion(browserVersion);
     factory.setPhantomJsLocatorOptions(phantomjs);
     factory.setRepositoryDetails(details);
+    factory.setReuseWebDriver(reuseWebDriver);
+    if (reuseWebDriver) {
+      WebDriverPool.getInstance().shutdownWhenSessionEnds(mavenSession.getRequest());
+    }
 
-    return factory.createWebDriver();
+    return factory;
   }
 
   private void configure(Properties properties) {
@@ -291,10 +433,31 @@ public class TestMojo extends AbstractJasmineMojo {
     return Boolean.parseBoolean(properties.getProperty(property, Boolean.toString(defaultValue)));
   }
 
+  private void applySourceMaps(JasmineResult result) {
+    if (this.isCoffeeScriptCompilationEnabled()) {
+      result.setDetails(new AppliesSourceMaps(this).apply(result.getDetails()));
+    }
+  }
+
   private void logResults(JasmineResult result) {
+    JasmineResultLogger resultLogger = this.createResultLogger();
+    if (this.streamResults && this.shards <= 1) {
+      resultLogger.logDetails(result);
+    } else {
+      resultLogger.log(result);
+    }
+  }
+
+  private JasmineResultLogger createResultLogger() {
     JasmineResultLogger resultLogger = new JasmineResultLogger();
     resultLogger.setLog(this.getLog());
-    resultLogger.log(result);
+    return resultLogger;
+  }
+
+  private void recordAffectedSpecs(JasmineResult result) throws IOException {
+    if (this.selectsAffectedSpecs != null && result.didPass()) {
+      this.selectsAffectedSpecs.record();
+    }
   }
 
   private void throwAnySpecFailures(JasmineResult result) throws MojoFailureException {
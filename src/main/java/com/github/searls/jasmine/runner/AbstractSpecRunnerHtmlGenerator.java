@@ -5,6 +5,7 @@ import org.codehaus.plexus.util.StringUtils;
 import org.stringtemplate.v4.ST;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -14,6 +15,16 @@ public abstract class AbstractSpecRunnerHtmlGenerator {
   protected static final String JAVASCRIPT_DEPENDENCIES_TEMPLATE_ATTR_NAME = "javascriptDependencies";
   protected static final String SOURCES_TEMPLATE_ATTR_NAME = "sources";
   protected static final String REPORTER_ATTR_NAME = "reporter";
+  /**
+   * All attributes given to runner templates, attributes not listed here can't be added.
+   */
+  protected static final List<String> TEMPLATE_ATTR_NAMES = Arrays.asList(
+    SOURCE_ENCODING, CSS_DEPENDENCIES_TEMPLATE_ATTR_NAME, JAVASCRIPT_DEPENDENCIES_TEMPLATE_ATTR_NAME,
+    "allScriptTags", "preloadScriptTags", "sourceScriptTags", "specScriptTags",
+    "allScriptsList", "preloadsList", "sourcesList", "specsList", "sourceDir", "specDir",
+    "autoRefresh", "autoRefreshInterval", "customRunnerConfiguration", REPORTER_ATTR_NAME,
+    SOURCES_TEMPLATE_ATTR_NAME, "specs", "priority");
+  private static final CachesRunnerTemplates CACHES_RUNNER_TEMPLATES = new CachesRunnerTemplates();
   private final HtmlGeneratorConfiguration configuration;
   private final FormatsScriptTags formatsScriptTags = new FormatsScriptTags();
 
@@ -26,8 +37,7 @@ public abstract class AbstractSpecRunnerHtmlGenerator {
   }
 
   protected ST resolveHtmlTemplate() throws IOException {
-    String htmlTemplate = configuration.getRunnerTemplate();
-    return new ST(htmlTemplate, '$', '$');
+    return CACHES_RUNNER_TEMPLATES.getTemplate(configuration, TEMPLATE_ATTR_NAMES);
   }
 
   protected void applyCssToTemplate(List<String> styles, ST template) throws IOException {
@@ -0,0 +1,77 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.io.scripts.ScriptResolver;
+import com.github.searls.jasmine.io.scripts.ScriptResolverException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Set;
+
+/**
+ * Loads all scripts from bundles, while still listing the individual preloads, sources and specs.
+ */
+public class BundledScriptResolver implements ScriptResolver {
+
+  private final ScriptResolver scriptResolver;
+  private final ScriptResolver fileScriptResolver;
+  private final BundlesScripts bundlesScripts;
+
+  private Set<String> allScripts;
+
+  /**
+   * @param scriptResolver     resolves the scripts as loaded by the spec runner
+   * @param fileScriptResolver resolves the same scripts as file URIs
+   */
+  public BundledScriptResolver(ScriptResolver scriptResolver, ScriptResolver fileScriptResolver, BundlesScripts bundlesScripts) {
+    this.scriptResolver = scriptResolver;
+    this.fileScriptResolver = fileScriptResolver;
+    this.bundlesScripts = bundlesScripts;
+  }
+
+  @Override
+  public String getSourceDirectory() throws ScriptResolverException {
+    return this.scriptResolver.getSourceDirectory();
+  }
+
+  @Override
+  public String getSpecDirectory() throws ScriptResolverException {
+    return this.scriptResolver.getSpecDirectory();
+  }
+
+  @Override
+  public String getBaseDirectory() throws ScriptResolverException {
+    return this.scriptResolver.getBaseDirectory();
+  }
+
+  @Override
+  public Set<String> getSources() throws ScriptResolverException {
+    return this.scriptResolver.getSources();
+  }
+
+  @Override
+  public Set<String> getSpecs() throws ScriptResolverException {
+    return this.scriptResolver.getSpecs();
+  }
+
+  @Override
+  public Set<String> getPreloads() throws ScriptResolverException {
+    return this.scriptResolver.getPreloads();
+  }
+
+  @Override
+  public Set<String> getAllScripts() throws ScriptResolverException {
+    if (this.allScripts == null) {
+      Set<String> locations = this.scriptResolver.getAllScripts();
+      Set<String> files = this.fileScriptResolver.getAllScripts();
+      if (locations.size() != files.size()) {
+        throw new ScriptResolverException("Failed to match " + files.size() + " scripts to " + locations.size() + " locations for bundling");
+      }
+      try {
+        this.allScripts = this.bundlesScripts.bundle(new ArrayList<String>(files), new ArrayList<String>(locations));
+      } catch (IOException e) {
+        throw new ScriptResolverException("Failed to bundle scripts", e);
+      }
+    }
+    return this.allScripts;
+  }
+}
@@ -0,0 +1,254 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.coffee.CoffeeScript;
+import com.github.searls.jasmine.coffee.DetectsCoffee;
+import com.github.searls.jasmine.coffee.MapsCompiledCoffee;
+import com.github.searls.jasmine.format.BuildsJavaScriptToWriteFailureHtml;
+import com.github.searls.jasmine.format.BuildsSourceMap;
+import com.github.searls.jasmine.io.RelativizesFilePaths;
+import com.google.common.hash.Hashing;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Concatenates scripts into bundles, so the spec runner loads them with a single request. Every run of consecutive
+ * local files becomes one bundle, while other scripts (e.g. preloads from other servers) keep loading on their own
+ * in between. CoffeeScript is compiled into the bundle and mapped back to its source lines.
+ * <p>
+ * Bundles are named by the hash of their content and written to the <code>bundles</code> directory next to the
+ * spec runner, together with a source map pointing back at the original scripts. The spec runner is served at the
+ * root of the project's base directory, so bundles are loaded from the path of that directory below the base
+ * directory.
+ * <p>
+ * Bundles replaced by a later call are deleted, unless another instance still uses them, e.g. a shard runner
+ * bundling the same sources.
+ */
+public class BundlesScripts {
+
+  static final String BUNDLE_DIRECTORY = "bundles";
+
+  private static final String SEPARATOR = ";\n";
+  private static final URI RUNNER_LOCATION = URI.create("/");
+  private static final Map<File, Integer> BUNDLES_IN_USE = new HashMap<File, Integer>();
+
+  private final File basedir;
+  private final File bundleDirectory;
+  private final Charset encoding;
+  private final CoffeeScript coffeeScript;
+  private final DetectsCoffee detectsCoffee = new DetectsCoffee();
+  private final BuildsJavaScriptToWriteFailureHtml buildsJavaScriptToWriteFailureHtml = new BuildsJavaScriptToWriteFailureHtml();
+  private final RelativizesFilePaths relativizesFilePaths = new RelativizesFilePaths();
+
+  private List<File> bundledFiles = new ArrayList<File>();
+  private Set<File> bundles = Collections.emptySet();
+
+  /**
+   * @param basedir         the directory served at the root, where the spec runner is loaded from
+   * @param runnerDirectory the directory the spec runner is written to
+   * @param coffeeScript    compiles CoffeeScript, or <code>null</code> to bundle it as is
+   */
+  public BundlesScripts(File basedir, File runnerDirectory, String encoding, CoffeeScript coffeeScript) {
+    this.basedir = basedir;
+    this.bundleDirectory = new File(runnerDirectory, BUNDLE_DIRECTORY);
+    this.encoding = Charset.forName(StringUtils.defaultIfBlank(encoding, SpecRunnerHtmlGenerator.DEFAULT_SOURCE_ENCODING));
+    this.coffeeScript = coffeeScript;
+  }
+
+  /**
+   * @param scripts   the scripts in load order, as file URIs where they are local files
+   * @param locations the same scripts as loaded by the spec runner
+   * @return the scripts for the spec runner to load, bundles by their absolute path on the server
+   */
+  public synchronized Set<String> bundle(List<String> scripts, List<String> locations) throws IOException {
+    List<File> files = new ArrayList<File>();
+    Set<File> bundles = new HashSet<File>();
+    Set<String> bundled = new LinkedHashSet<String>();
+    List<File> group = new ArrayList<File>();
+    List<String> groupLocations = new ArrayList<String>();
+    for (int i = 0; i < scripts.size(); i++) {
+      File file = localFile(scripts.get(i));
+      if (file != null) {
+        group.add(file);
+        groupLocations.add(locations.get(i));
+        continue;
+      }
+      if (!group.isEmpty()) {
+        bundled.add(this.writeBundle(group, groupLocations, bundles));
+        files.addAll(group);
+        group.clear();
+        groupLocations.clear();
+      }
+      bundled.add(locations.get(i));
+    }
+    if (!group.isEmpty()) {
+      bundled.add(this.writeBundle(group, groupLocations, bundles));
+      files.addAll(group);
+    }
+    this.bundledFiles = files;
+    replace(this.bundles, bundles);
+    this.bundles = bundles;
+    return bundled;
+  }
+
+  /**
+   * Counts the uses of the new bundles and deletes the replaced ones nobody uses anymore, with their source maps.
+   */
+  private static void replace(Set<File> replaced, Set<File> bundles) {
+    List<File> unused = new ArrayList<File>();
+    synchronized (BUNDLES_IN_USE) {
+      for (File bundle : bundles) {
+        Integer uses = BUNDLES_IN_USE.get(bundle);
+        BUNDLES_IN_USE.put(bundle, uses == null ? 1 : uses + 1);
+      }
+      for (File bundle : replaced) {
+        Integer uses = BUNDLES_IN_USE.get(bundle);
+        if (uses == null || uses <= 1) {
+          BUNDLES_IN_USE.remove(bundle);
+          unused.add(bundle);
+        } else {
+          BUNDLES_IN_USE.put(bundle, uses - 1);
+        }
+      }
+    }
+    for (File bundle : unused) {
+      FileUtils.deleteQuietly(bundle);
+      FileUtils.deleteQuietly(new File(bundle.getPath() + ".map"));
+    }
+  }
+
+  /**
+   * @return a stamp of the files bundled last, changing when any of them is modified
+   */
+  public synchronized String stamp() {
+    StringBuilder stamp = new StringBuilder();
+    for (File file : this.bundledFiles) {
+      stamp.append(file.lastModified()).append('/').append(file.length()).append(',');
+    }
+    return stamp.toString();
+  }
+
+  private String writeBundle(List<File> files, List<String> locations, Set<File> bundles) throws IOException {
+    StringBuilder content = new StringBuilder();
+    BuildsSourceMap sourceMap = new BuildsSourceMap();
+    for (int i = 0; i < files.size(); i++) {
+      File file = files.get(i);
+      String original = FileUtils.readFileToString(file, this.encoding);
+      String script = original;
+      int[] lineMap = null;
+      if (this.coffeeScript != null && this.detectsCoffee.detect(file.getName())) {
+        try {
+          script = this.coffeeScript.compile(original);
+          lineMap = this.coffeeScript.lineMap(original);
+        } catch (Exception e) {
+          script = this.buildsJavaScriptToWriteFailureHtml.build("CoffeeScript Error: failed to compile <code>" + file.getName() + "</code>. <br/>Error message:<br/><br/><code>" + e.getMessage() + "</code>");
+        }
+      }
+      if (!endsWithLineTerminator(script)) {
+        script += "\n";
+      }
+      String location = fromRunner(locations.get(i));
+      int source = lineMap == null ? sourceMap.addSource(location) : sourceMap.addSource(location, original);
+      int lines = countLines(script);
+      for (int line = 0; line < lines; line++) {
+        int sourceLine = lineMap == null ? line : (line < lineMap.length ? lineMap[line] : MapsCompiledCoffee.UNMAPPED);
+        if (sourceLine == MapsCompiledCoffee.UNMAPPED) {
+          sourceMap.skipLine();
+        } else {
+          sourceMap.addLine(source, sourceLine);
+        }
+      }
+      sourceMap.skipLine();
+      content.append(script).append(SEPARATOR);
+    }
+
+    String name = "bundle-" + Hashing.sha256().hashString(content, this.encoding).toString().substring(0, 16) + ".js";
+    content.append("//# sourceMappingURL=").append(name).append(".map\n");
+    File bundle = new File(this.bundleDirectory, name);
+    this.write(bundle, content.toString());
+    bundles.add(bundle.getAbsoluteFile());
+    this.write(new File(this.bundleDirectory, name + ".map"), sourceMap.build(name));
+    return "/" + this.relativizesFilePaths.relativize(this.basedir, this.bundleDirectory) + "/" + name;
+  }
+
+  /**
+   * Source maps resolve their sources relative to themselves, while the locations are relative to the spec runner.
+   */
+  private static String fromRunner(String location) {
+    try {
+      return RUNNER_LOCATION.resolve(location).toString();
+    } catch (IllegalArgumentException e) {
+      return location;
+    }
+  }
+
+  /**
+   * Counts the lines the way JavaScript does, which ends them at CR LF, CR, LF, LS and PS alike.
+   */
+  static int countLines(String script) {
+    int lines = 0;
+    for (int i = 0; i < script.length(); i++) {
+      char c = script.charAt(i);
+      if (c == '\r') {
+        if (i + 1 < script.length() && script.charAt(i + 1) == '\n') {
+          i++;
+        }
+        lines++;
+      } else if (isLineTerminator(c)) {
+        lines++;
+      }
+    }
+    return lines;
+  }
+
+  private static boolean endsWithLineTerminator(String script) {
+    return !script.isEmpty() && isLineTerminator(script.charAt(script.length() - 1));
+  }
+
+  private static boolean isLineTerminator(char c) {
+    return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029';
+  }
+
+  private void write(File destination, String content) throws IOException {
+    if (destination.isFile()) {
+      return;
+    }
+    FileUtils.forceMkdir(this.bundleDirectory);
+    File temp = File.createTempFile(destination.getName(), ".tmp", this.bundleDirectory);
+    FileUtils.writeStringToFile(temp, content, this.encoding);
+    if (!temp.renameTo(destination)) {
+      FileUtils.deleteQuietly(temp);
+      if (!destination.isFile()) {
+        throw new IOException("Failed to write " + destination);
+      }
+    }
+  }
+
+  private static File localFile(String script) {
+    try {
+      URI uri = new URI(script);
+      if ("file".equals(uri.getScheme())) {
+        File file = new File(uri);
+        return file.isFile() ? file : null;
+      }
+    } catch (URISyntaxException e) {
+      // not a local file
+    } catch (IllegalArgumentException e) {
+      // not a local file
+    }
+    return null;
+  }
+}
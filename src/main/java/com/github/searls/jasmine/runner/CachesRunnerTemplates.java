@@ -0,0 +1,83 @@
+package com.github.searls.jasmine.runner;
+
+import org.apache.commons.io.FileUtils;
+import org.stringtemplate.v4.ST;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the runner templates, compiled, and the custom runner configurations read so far, so that generating a
+ * runner again neither reads nor parses them again. Custom files are read again once their modification time or
+ * length changes; the bundled templates never change.
+ * <p>
+ * New instances are copies of a compiled prototype. A template learns its attributes as they are added, changing
+ * the compiled template shared by all copies, and copies made before then take values added later for lists. So
+ * every attribute is added to the prototype and removed again up front, leaving it defined but unset.
+ */
+public class CachesRunnerTemplates {
+
+  private static final ConcurrentMap<String, Cached<ST>> templates = new ConcurrentHashMap<String, Cached<ST>>();
+  private static final ConcurrentMap<String, Cached<String>> configurations = new ConcurrentHashMap<String, Cached<String>>();
+
+  /**
+   * @param attributes the names of all attributes that will be added to the template
+   * @return a new instance of the runner template of the configuration, ready to be filled in.
+   */
+  public ST getTemplate(HtmlGeneratorConfiguration configuration, Collection<String> attributes) throws IOException {
+    File customTemplate = configuration.getCustomRunnerTemplate();
+    String key;
+    if (customTemplate != null) {
+      key = customTemplate.getAbsolutePath();
+    } else {
+      SpecRunnerTemplate template = configuration.getSpecRunnerTemplate();
+      key = (template == null ? SpecRunnerTemplate.DEFAULT : template).getTemplate();
+    }
+    String stamp = stamp(customTemplate);
+    Cached<ST> cached = templates.get(key);
+    if (cached == null || !cached.stamp.equals(stamp)) {
+      ST prototype = new ST(configuration.getRunnerTemplate(), '$', '$');
+      for (String attribute : attributes) {
+        prototype.add(attribute, null);
+        prototype.remove(attribute);
+      }
+      cached = new Cached<ST>(stamp, prototype);
+      templates.put(key, cached);
+    }
+    return new ST(cached.value);
+  }
+
+  /**
+   * @return the contents of the custom runner configuration, or <code>null</code> without one.
+   */
+  public String getCustomRunnerConfiguration(File customRunnerConfiguration) throws IOException {
+    if (customRunnerConfiguration == null) {
+      return null;
+    }
+    String key = customRunnerConfiguration.getAbsolutePath();
+    String stamp = stamp(customRunnerConfiguration);
+    Cached<String> cached = configurations.get(key);
+    if (cached == null || !cached.stamp.equals(stamp)) {
+      cached = new Cached<String>(stamp, FileUtils.readFileToString(customRunnerConfiguration));
+      configurations.put(key, cached);
+    }
+    return cached.value;
+  }
+
+  private static String stamp(File file) {
+    return file == null ? "" : file.lastModified() + "/" + file.length();
+  }
+
+  private static class Cached<T> {
+    private final String stamp;
+    private final T value;
+
+    Cached(String stamp, T value) {
+      this.stamp = stamp;
+      this.value = value;
+    }
+  }
+}
@@ -1,15 +1,33 @@
 package com.github.searls.jasmine.runner;
 
+import com.github.searls.jasmine.coffee.CoffeeScript;
 import com.github.searls.jasmine.config.JasmineConfiguration;
+import com.github.searls.jasmine.io.ScansDirectory;
+import com.github.searls.jasmine.io.StampsDirectories;
+import com.github.searls.jasmine.io.WatchingScansDirectory;
 import com.github.searls.jasmine.io.scripts.BasicScriptResolver;
 import com.github.searls.jasmine.io.scripts.ContextPathScriptResolver;
+import com.github.searls.jasmine.io.scripts.ConvertsFileToUriString;
+import com.github.searls.jasmine.io.scripts.FindsScriptLocationsInDirectory;
 import com.github.searls.jasmine.io.scripts.ScriptResolver;
+import com.github.searls.jasmine.io.scripts.SelectedSpecsScriptResolver;
+import com.github.searls.jasmine.io.scripts.SelectsSpecs;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import org.apache.commons.io.Charsets;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.logging.Log;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 public class CreatesRunner {
 
@@ -18,57 +36,186 @@ public class CreatesRunner {
   private final Log log;
   private final String runnerFileName;
   private final ReporterType reporterType;
+  private final SelectsSpecs selectsSpecs;
+  private final ScansDirectory scansDirectory;
+  private final StampsDirectories stampsDirectories = new StampsDirectories();
+  private final BundlesScripts bundlesScripts;
+
+  private String fingerprint;
+  private HashCode runnerHash;
+  private String runnerStamp;
 
   public CreatesRunner(JasmineConfiguration config, Log log, String runnerFileName, ReporterType reporterType) {
+    this(config, log, runnerFileName, reporterType, null);
+  }
+
+  public CreatesRunner(JasmineConfiguration config, Log log, String runnerFileName, ReporterType reporterType, SelectsSpecs selectsSpecs) {
+    this(config, log, runnerFileName, reporterType, selectsSpecs, null);
+  }
+
+  /**
+   * @param scansDirectory scans the source and spec directories, or <code>null</code> to scan them from scratch
+   *                       whenever the runner is created.
+   */
+  public CreatesRunner(JasmineConfiguration config, Log log, String runnerFileName, ReporterType reporterType, SelectsSpecs selectsSpecs, ScansDirectory scansDirectory) {
     this.config = config;
+    this.scansDirectory = scansDirectory;
     this.runnerFileName = runnerFileName;
     this.reporterType = reporterType;
+    this.selectsSpecs = selectsSpecs;
     this.log = log;
+    this.bundlesScripts = this.createBundlesScripts();
   }
 
   public String getRunnerFile() {
     return this.runnerFileName;
   }
 
-  public void create() throws IOException {
+  /**
+   * Generates the spec runner, unless neither the script directories, the bundled scripts nor the custom runner
+   * template and configuration changed since the runner was last generated by this instance.
+   *
+   * @return <code>true</code> if the scripts were resolved again, <code>false</code> if nothing changed.
+   */
+  public synchronized boolean create() throws IOException {
     File runnerDestination = new File(this.config.getJasmineTargetDir(), this.runnerFileName);
-    ScriptResolver resolver = new BasicScriptResolver(
-      config.getBasedir(),
-      config.getSources(),
-      config.getSpecs(),
-      config.getPreloadSources());
+    String scriptsFingerprint = this.scriptsFingerprint();
+    if (this.fingerprint(scriptsFingerprint).equals(this.fingerprint) && runnerDestination.exists()) {
+      return false;
+    }
+    ScriptResolver resolver = this.createBasicScriptResolver();
+    if (this.selectsSpecs != null) {
+      resolver = new SelectedSpecsScriptResolver(resolver, this.selectsSpecs);
+    }
+    ScriptResolver fileResolver = resolver;
     resolver = new ContextPathScriptResolver(
       resolver,
       config.getSrcDirectoryName(),
       config.getSpecDirectoryName());
+    if (this.bundlesScripts != null) {
+      resolver = new BundledScriptResolver(resolver, fileResolver, this.bundlesScripts);
+    }
 
     SpecRunnerHtmlGenerator generator = new SpecRunnerHtmlGeneratorFactory().create(this.reporterType, this.config, resolver);
 
-    String newRunnerHtml = generator.generate();
-    if (this.newRunnerDiffersFromOldRunner(runnerDestination, newRunnerHtml)) {
-      this.saveRunner(runnerDestination, newRunnerHtml);
-    } else {
-      this.log.info("Skipping spec runner generation, because an identical spec runner already exists.");
+    File newRunner = this.createTemporaryRunner(runnerDestination);
+    try {
+      HashCode newRunnerHash = this.render(generator, newRunner);
+      if (newRunnerHash.equals(this.existingRunnerHash(runnerDestination))) {
+        this.log.info("Skipping spec runner generation, because an identical spec runner already exists.");
+      } else {
+        this.saveRunner(newRunner, runnerDestination);
+      }
+      this.runnerHash = newRunnerHash;
+      this.runnerStamp = this.stamp(runnerDestination);
+    } finally {
+      FileUtils.deleteQuietly(newRunner);
+    }
+    this.fingerprint = this.fingerprint(scriptsFingerprint);
+    return true;
+  }
+
+  private ScriptResolver createBasicScriptResolver() {
+    if (this.scansDirectory == null) {
+      return new BasicScriptResolver(
+        config.getBasedir(),
+        config.getSources(),
+        config.getSpecs(),
+        config.getPreloadSources());
+    }
+    return new BasicScriptResolver(
+      config.getBasedir(),
+      config.getSources(),
+      config.getSpecs(),
+      config.getPreloadSources(),
+      new FindsScriptLocationsInDirectory(this.scansDirectory, new ConvertsFileToUriString()));
+  }
+
+  private BundlesScripts createBundlesScripts() {
+    if (!this.config.isBundleScripts()) {
+      return null;
+    }
+    if (SpecRunnerTemplate.REQUIRE_JS.equals(this.config.getSpecRunnerTemplate()) && this.config.getCustomRunnerTemplate() == null) {
+      this.log.warn("Bundling scripts is not supported with the REQUIRE_JS spec runner template, loading them separately.");
+      return null;
     }
+    CoffeeScript coffeeScript = this.config.isCoffeeScriptCompilationEnabled()
+      ? new CoffeeScript(new File(this.config.getJasmineTargetDir(), "coffee-cache"))
+      : null;
+    return new BundlesScripts(this.config.getBasedir(), this.config.getJasmineTargetDir(), this.config.getSourceEncoding(), coffeeScript);
+  }
+
+  private String scriptsFingerprint() {
+    File[] directories = {this.config.getSources().getDirectory(), this.config.getSpecs().getDirectory()};
+    long stamp = this.scansDirectory instanceof WatchingScansDirectory
+      ? ((WatchingScansDirectory) this.scansDirectory).stamp(directories)
+      : this.stampsDirectories.stamp(directories);
+    return stamp + ":" + this.stamp(this.config.getCustomRunnerTemplate()) + ":" + this.stamp(this.config.getCustomRunnerConfiguration());
+  }
+
+  /**
+   * Bundled scripts are part of the runner, so their modification stamps are part of its fingerprint.
+   */
+  private String fingerprint(String scriptsFingerprint) {
+    return this.bundlesScripts == null ? scriptsFingerprint : scriptsFingerprint + ":" + this.bundlesScripts.stamp();
   }
 
-  private String existingRunner(File destination) throws IOException {
-    String existingRunner = null;
+  private String stamp(File file) {
+    return file == null ? "" : file.lastModified() + "/" + file.length();
+  }
+
+  private File createTemporaryRunner(File runnerDestination) throws IOException {
+    File directory = runnerDestination.getAbsoluteFile().getParentFile();
+    FileUtils.forceMkdir(directory);
+    return File.createTempFile("runner", ".tmp", directory);
+  }
+
+  /**
+   * Renders the runner straight into the given file.
+   *
+   * @return the hash of the runner
+   */
+  private HashCode render(SpecRunnerHtmlGenerator generator, File newRunner) throws IOException {
+    HashingOutputStream hashingOutputStream = new HashingOutputStream(Hashing.sha256(), new FileOutputStream(newRunner));
+    Writer writer = new BufferedWriter(new OutputStreamWriter(hashingOutputStream, Charsets.toCharset(this.config.getSourceEncoding())));
     try {
-      if (destination.exists()) {
-        existingRunner = FileUtils.readFileToString(destination);
-      }
-    } catch (IOException e) {
-      this.log.warn("An error occurred while trying to open an existing manual spec runner. Continuing.");
+      generator.generate(writer);
+    } finally {
+      writer.close();
     }
-    return existingRunner;
+    return hashingOutputStream.hash();
   }
 
-  private boolean newRunnerDiffersFromOldRunner(File runnerDestination, String newRunner) throws IOException {
-    return !StringUtils.equals(newRunner, this.existingRunner(runnerDestination));
+  /**
+   * The existing runner is only read when it isn't the one this instance wrote or checked last.
+   *
+   * @return the hash of the existing runner, or <code>null</code> if there is none.
+   */
+  private HashCode existingRunnerHash(File runnerDestination) {
+    if (!runnerDestination.exists()) {
+      return null;
+    }
+    if (this.runnerHash != null && this.stamp(runnerDestination).equals(this.runnerStamp)) {
+      return this.runnerHash;
+    }
+    try {
+      return com.google.common.io.Files.hash(runnerDestination, Hashing.sha256());
+    } catch (IOException e) {
+      this.log.warn("An error occurred while trying to open an existing manual spec runner. Continuing.");
+      return null;
+    }
   }
 
-  private void saveRunner(File runnerDestination, String newRunner) throws IOException {
-    FileUtils.writeStringToFile(runnerDestination, newRunner, this.config.getSourceEncoding());
+  /**
+   * Moves the new runner into place in one step, so that browsers and forked test runs never load a partly written
+   * runner.
+   */
+  private void saveRunner(File newRunner, File runnerDestination) throws IOException {
+    try {
+      Files.move(newRunner.toPath(), runnerDestination.toPath(), StandardCopyOption.ATOMIC_MOVE);
+    } catch (FileSystemException e) {
+      // file systems that can't move atomically, or something other than a file in the way
+      Files.move(newRunner.toPath(), runnerDestination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
   }
 }
@@ -3,9 +3,11 @@ package com.github.searls.jasmine.runner;
 import com.github.searls.jasmine.io.scripts.ScriptResolver;
 import com.github.searls.jasmine.io.scripts.ScriptResolverException;
 import org.apache.commons.lang3.StringUtils;
+import org.stringtemplate.v4.AutoIndentWriter;
 import org.stringtemplate.v4.ST;
 
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.Set;
 
@@ -17,9 +19,23 @@ public class DefaultSpecRunnerHtmlGenerator extends AbstractSpecRunnerHtmlGenera
 
   @Override
   public String generate() {
+    try {
+      return this.createTemplate().render();
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to load files for dependencies, sources, or a custom runner", e);
+    }
+  }
+
+  @Override
+  public void generate(Writer writer) throws IOException {
+    // the same writer render() uses, so both produce the same runner
+    this.createTemplate().write(new AutoIndentWriter(writer));
+  }
+
+  private ST createTemplate() throws IOException {
     try {
       ScriptResolver resolver = this.getConfiguration().getScriptResolver();
-      return this.generateHtml(
+      return this.createTemplate(
         resolver.getAllScripts(),
         resolver.getPreloads(),
         resolver.getSources(),
@@ -29,12 +45,10 @@ public class DefaultSpecRunnerHtmlGenerator extends AbstractSpecRunnerHtmlGenera
       );
     } catch (ScriptResolverException e) {
       throw new RuntimeException("Failed to load files for dependencies, sources, or a custom runner", e);
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to load files for dependencies, sources, or a custom runner", e);
     }
   }
 
-  private String generateHtml(Set<String> allScripts,
+  private ST createTemplate(Set<String> allScripts,
                               Set<String> preloads,
                               Set<String> sources,
                               Set<String> specs,
@@ -69,7 +83,7 @@ public class DefaultSpecRunnerHtmlGenerator extends AbstractSpecRunnerHtmlGenera
     template.add("specs", this.createJsonArray(specs));
     template.add("priority", this.createJsonArray(preloads));
 
-    return template.render();
+    return template;
   }
 
   private String createJsonArray(Set<String> scripts) {
@@ -9,6 +9,7 @@ import java.io.File;
 import java.io.IOException;
 
 public class HtmlGeneratorConfiguration {
+  private static final CachesRunnerTemplates CACHES_RUNNER_TEMPLATES = new CachesRunnerTemplates();
   private final String sourceEncoding;
   private final ReporterType reporterType;
   private final File customRunnerTemplate;
@@ -103,7 +104,7 @@ public class HtmlGeneratorConfiguration {
   }
 
   public String getCustomRunnerConfiguration() throws IOException {
-    return this.customRunnerConfiguration == null ? null : FileUtils.readFileToString(this.customRunnerConfiguration);
+    return CACHES_RUNNER_TEMPLATES.getCustomRunnerConfiguration(this.customRunnerConfiguration);
   }
 
   public String getSrcDirectoryName() {
@@ -0,0 +1,144 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.driver.WebDriverFactory;
+import com.github.searls.jasmine.format.MergesJunitXmlReports;
+import com.github.searls.jasmine.model.FileSystemReporter;
+import com.github.searls.jasmine.model.JasmineResult;
+import com.github.searls.jasmine.model.Reporter;
+import com.github.searls.jasmine.model.SpecResults;
+import com.github.searls.jasmine.mojo.ReporterRetriever;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes one spec runner per shard, each in its own web driver, and merges the results.
+ */
+public class ShardedSpecRunnerExecutor {
+
+  private final SpecRunnerExecutor specRunnerExecutor;
+  private final MergesJunitXmlReports mergesJunitXmlReports;
+
+  public ShardedSpecRunnerExecutor(SpecRunnerExecutor specRunnerExecutor, MergesJunitXmlReports mergesJunitXmlReports) {
+    this.specRunnerExecutor = specRunnerExecutor;
+    this.mergesJunitXmlReports = mergesJunitXmlReports;
+  }
+
+  public ShardedSpecRunnerExecutor() {
+    this(new SpecRunnerExecutor(), new MergesJunitXmlReports());
+  }
+
+  public JasmineResult execute(final List<URL> runnerUrls, final WebDriverFactory webDriverFactory, final int timeout, final boolean debug, final Log log, final String format, final List<Reporter> reporters, final List<FileSystemReporter> fileSystemReporters) throws Exception {
+    int shardCount = runnerUrls.size();
+    ExecutorService executorService = Executors.newFixedThreadPool(shardCount);
+    try {
+      List<Future<JasmineResult>> futures = new ArrayList<Future<JasmineResult>>();
+      for (int shard = 0; shard < shardCount; shard++) {
+        final URL runnerUrl = runnerUrls.get(shard);
+        final List<FileSystemReporter> shardFileSystemReporters = this.shardFileSystemReporters(fileSystemReporters, shard);
+        futures.add(executorService.submit(new Callable<JasmineResult>() {
+          @Override
+          public JasmineResult call() throws Exception {
+            return specRunnerExecutor.execute(runnerUrl, webDriverFactory.createWebDriver(), timeout, debug, log, format, reporters, shardFileSystemReporters);
+          }
+        }));
+      }
+
+      List<JasmineResult> results = new ArrayList<JasmineResult>();
+      for (Future<JasmineResult> future : futures) {
+        results.add(this.resultOf(future));
+      }
+      this.mergeFileSystemReports(fileSystemReporters, shardCount);
+      return this.merge(results);
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private JasmineResult resultOf(Future<JasmineResult> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  private List<FileSystemReporter> shardFileSystemReporters(List<FileSystemReporter> fileSystemReporters, int shard) {
+    List<FileSystemReporter> shardReporters = new ArrayList<FileSystemReporter>();
+    for (FileSystemReporter reporter : fileSystemReporters) {
+      FileSystemReporter shardReporter = new FileSystemReporter(this.shardFile(reporter.file, shard), reporter.reporterFile);
+      shardReporter.reporterName = reporter.reporterName;
+      shardReporter.fileName = reporter.fileName;
+      shardReporters.add(shardReporter);
+    }
+    return shardReporters;
+  }
+
+  private File shardFile(File file, int shard) {
+    return new File(new File(file.getParentFile(), "shard-" + (shard + 1)), file.getName());
+  }
+
+  private void mergeFileSystemReports(List<FileSystemReporter> fileSystemReporters, int shardCount) throws IOException {
+    for (FileSystemReporter reporter : fileSystemReporters) {
+      if (ReporterRetriever.JUNIT_XML_REPORTER.equals(reporter.reporterName)) {
+        List<File> shardReports = new ArrayList<File>();
+        for (int shard = 0; shard < shardCount; shard++) {
+          shardReports.add(this.shardFile(reporter.file, shard));
+        }
+        this.mergesJunitXmlReports.merge(shardReports, reporter.file);
+        for (File shardReport : shardReports) {
+          FileUtils.deleteQuietly(shardReport);
+        }
+      }
+    }
+  }
+
+  /**
+   * Merges the spec results of the shards. Shards whose runner provides no spec results are only counted by whether
+   * they passed, and the merged result then keeps no spec results either, as they would be incomplete.
+   */
+  private JasmineResult merge(List<JasmineResult> results) {
+    StringBuilder details = new StringBuilder();
+    SpecResults specResults = new SpecResults();
+    int shardsWithoutSpecResults = 0;
+    int failedShardsWithoutSpecResults = 0;
+    for (JasmineResult result : results) {
+      details.append(result.getDetails());
+      if (result.getSpecResults() != null) {
+        specResults.addAll(result.getSpecResults());
+      } else {
+        shardsWithoutSpecResults++;
+        if (!result.didPass()) {
+          failedShardsWithoutSpecResults++;
+        }
+      }
+    }
+
+    details.append("\n\nExecuted ").append(results.size()).append(" shards\n");
+    details.append("Results: ").append(specResults.getSpecCount()).append(" specs, ")
+      .append(specResults.getFailedCount() + failedShardsWithoutSpecResults).append(" failures, ")
+      .append(specResults.getPendingCount()).append(" pending");
+    if (shardsWithoutSpecResults > 0) {
+      details.append(", ").append(shardsWithoutSpecResults).append(" shards without spec results");
+    }
+    details.append("\n");
+
+    JasmineResult merged = new JasmineResult();
+    merged.setDetails(details.toString());
+    merged.setSpecResults(shardsWithoutSpecResults == 0 ? specResults : null);
+    return merged;
+  }
+}
@@ -1,9 +1,16 @@
 package com.github.searls.jasmine.runner;
 
+import com.github.searls.jasmine.format.AppliesSourceMaps;
+import com.github.searls.jasmine.format.BuildsReport;
+import com.github.searls.jasmine.format.LogsSpecResults;
+import com.github.searls.jasmine.format.ReceivesSpecResults;
+import com.github.searls.jasmine.format.WritesJunitXmlReport;
 import com.github.searls.jasmine.io.FileUtilsWrapper;
 import com.github.searls.jasmine.model.FileSystemReporter;
 import com.github.searls.jasmine.model.JasmineResult;
 import com.github.searls.jasmine.model.Reporter;
+import com.github.searls.jasmine.model.SpecResults;
+import com.github.searls.jasmine.mojo.ReporterRetriever;
 import org.apache.maven.plugin.logging.Log;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
@@ -11,56 +18,144 @@ import org.openqa.selenium.WebDriver;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class SpecRunnerExecutor {
 
   private final FileUtilsWrapper fileUtilsWrapper;
   private final WebDriverWaiter webDriverWaiter;
   private final ConsoleErrorChecker consoleErrorChecker;
+  private final StreamsSpecResults streamsSpecResults;
+  private final BuildsReport buildsReport = new BuildsReport();
 
   public SpecRunnerExecutor(FileUtilsWrapper fileUtilsWrapper, WebDriverWaiter webDriverWaiter, ConsoleErrorChecker consoleErrorChecker) {
+    this(fileUtilsWrapper, webDriverWaiter, consoleErrorChecker, new StreamsSpecResults());
+  }
+
+  public SpecRunnerExecutor(FileUtilsWrapper fileUtilsWrapper, WebDriverWaiter webDriverWaiter, ConsoleErrorChecker consoleErrorChecker, StreamsSpecResults streamsSpecResults) {
     this.fileUtilsWrapper = fileUtilsWrapper;
     this.webDriverWaiter = webDriverWaiter;
     this.consoleErrorChecker = consoleErrorChecker;
+    this.streamsSpecResults = streamsSpecResults;
   }
 
   public SpecRunnerExecutor() {
     this(new FileUtilsWrapper(), new WebDriverWaiter(), new ConsoleErrorChecker());
   }
 
+  /**
+   * Executes the specs like {@link #execute}, but streams the results of the standard reporter and the JUnit XML
+   * reporter while the specs are running: spec results are logged and written to the JUnit XML report batch by
+   * batch. Custom reporters are still evaluated once the specs finished. The details of the result only hold the
+   * output of custom reporters and the summary of the standard reporter, as the rest has been logged already, and
+   * its spec results only count the specs and keep the failed ones.
+   *
+   * @param appliesSourceMaps maps failure locations in compiled CoffeeScript, or <code>null</code>
+   */
+  public JasmineResult executeStreaming(final URL runnerUrl, final WebDriver driver, final int timeout, final boolean debug, final Log log, final String format, final List<Reporter> reporters, final List<FileSystemReporter> fileSystemReporters, final AppliesSourceMaps appliesSourceMaps) {
+    try {
+      JavascriptExecutor executor = this.javascriptExecutorOf(driver);
+      List<ReceivesSpecResults> receivers = new ArrayList<ReceivesSpecResults>();
+      Map<Reporter, LogsSpecResults> streamedReporters = new LinkedHashMap<Reporter, LogsSpecResults>();
+      for (Reporter reporter : reporters) {
+        if (ReporterRetriever.STANDARD_REPORTER.equals(reporter.reporterName)) {
+          LogsSpecResults logsSpecResults = new LogsSpecResults(log, format, appliesSourceMaps);
+          streamedReporters.put(reporter, logsSpecResults);
+          receivers.add(logsSpecResults);
+        }
+      }
+      List<FileSystemReporter> evaluatedFileSystemReporters = new ArrayList<FileSystemReporter>();
+      for (FileSystemReporter reporter : fileSystemReporters) {
+        if (ReporterRetriever.JUNIT_XML_REPORTER.equals(reporter.reporterName)) {
+          receivers.add(new WritesJunitXmlReport(reporter.file));
+        } else {
+          evaluatedFileSystemReporters.add(reporter);
+        }
+      }
+
+      // custom reporters read the results from the page once the specs finished
+      boolean releaseDrained = streamedReporters.size() == reporters.size() && evaluatedFileSystemReporters.isEmpty();
+
+      driver.get(runnerUrl.toString());
+      SpecResults specResults = streamsSpecResults.stream(executor, timeout, debug, log, receivers, releaseDrained);
+
+      consoleErrorChecker.checkForConsoleErrors(driver, log);
+
+      storeFileSystemReports(evaluatedFileSystemReporters, executor, debug, null);
+
+      StringBuilder details = new StringBuilder();
+      for (Reporter reporter : reporters) {
+        LogsSpecResults logsSpecResults = streamedReporters.get(reporter);
+        details.append(logsSpecResults != null ? logsSpecResults.getSummary() : buildReport(executor, reporter.reporterFile, format));
+      }
+      JasmineResult jasmineResult = new JasmineResult();
+      jasmineResult.setDetails(details.toString());
+      jasmineResult.setSpecResults(specResults);
+      return jasmineResult;
+
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    } finally {
+      quit(driver, log);
+    }
+  }
 
+  /**
+   * Executes the specs and extracts their results once they finished. The reports of the standard reporter and the
+   * JUnit XML reporter are built from the extracted results, while custom reporters are evaluated in the browser.
+   * When the runner does not provide its results, all reporters are evaluated in the browser.
+   */
   public JasmineResult execute(final URL runnerUrl, final WebDriver driver, final int timeout, final boolean debug, final Log log, final String format, final List<Reporter> reporters, final List<FileSystemReporter> fileSystemReporters) {
     try {
-      if (!(driver instanceof JavascriptExecutor)) {
-        throw new RuntimeException("The provided web driver can't execute JavaScript: " + driver.getClass());
-      }
-      JavascriptExecutor executor = (JavascriptExecutor) driver;
+      JavascriptExecutor executor = this.javascriptExecutorOf(driver);
       driver.get(runnerUrl.toString());
       webDriverWaiter.waitForRunnerToFinish(driver, timeout, debug, log);
 
       consoleErrorChecker.checkForConsoleErrors(driver, log);
 
-      storeFileSystemReports(fileSystemReporters, executor, debug);
+      SpecResults specResults = streamsSpecResults.extract(executor);
+
+      storeFileSystemReports(fileSystemReporters, executor, debug, specResults);
 
       JasmineResult jasmineResult = new JasmineResult();
-      jasmineResult.setDetails(buildReports(reporters, executor, format));
+      jasmineResult.setDetails(buildReports(reporters, executor, format, specResults));
+      jasmineResult.setSpecResults(specResults);
       return jasmineResult;
 
     } catch (Exception e) {
       throw new RuntimeException(e);
     } finally {
-      try {
-        driver.quit();
-      } catch (Exception e) {
-        log.error("There was an exception quitting WebDriver.", e);
-      }
+      quit(driver, log);
     }
   }
 
-  private void storeFileSystemReports(final List<FileSystemReporter> fileSystemReporters, final JavascriptExecutor executor, final boolean debug) throws IOException {
+  private JavascriptExecutor javascriptExecutorOf(final WebDriver driver) {
+    if (!(driver instanceof JavascriptExecutor)) {
+      throw new RuntimeException("The provided web driver can't execute JavaScript: " + driver.getClass());
+    }
+    return (JavascriptExecutor) driver;
+  }
+
+  private void quit(final WebDriver driver, final Log log) {
+    try {
+      driver.quit();
+    } catch (Exception e) {
+      log.error("There was an exception quitting WebDriver.", e);
+    }
+  }
+
+  private void storeFileSystemReports(final List<FileSystemReporter> fileSystemReporters, final JavascriptExecutor executor, final boolean debug, final SpecResults specResults) throws IOException {
     for (FileSystemReporter reporter : fileSystemReporters) {
-      fileUtilsWrapper.writeStringToFile(reporter.file, this.buildFileSystemReport(executor, reporter.reporterFile, debug));
+      if (specResults != null && ReporterRetriever.JUNIT_XML_REPORTER.equals(reporter.reporterName)) {
+        WritesJunitXmlReport writesJunitXmlReport = new WritesJunitXmlReport(reporter.file);
+        writesJunitXmlReport.receive(specResults.get(0, specResults.size()));
+        writesJunitXmlReport.finish();
+      } else {
+        fileUtilsWrapper.writeStringToFile(reporter.file, this.buildFileSystemReport(executor, reporter.reporterFile, debug));
+      }
     }
   }
 
@@ -69,10 +164,14 @@ public class SpecRunnerExecutor {
     return executeReportCommand(driver, reporter, command);
   }
 
-  private String buildReports(final List<Reporter> reporters, final JavascriptExecutor executor, final String format) throws IOException {
+  private String buildReports(final List<Reporter> reporters, final JavascriptExecutor executor, final String format, final SpecResults specResults) throws IOException {
     final StringBuilder report = new StringBuilder();
     for (Reporter reporter : reporters) {
-      report.append(buildReport(executor, reporter.reporterFile, format));
+      if (specResults != null && ReporterRetriever.STANDARD_REPORTER.equals(reporter.reporterName)) {
+        report.append(buildsReport.build(specResults, format));
+      } else {
+        report.append(buildReport(executor, reporter.reporterFile, format));
+      }
     }
     return report.toString();
   }
@@ -1,5 +1,8 @@
 package com.github.searls.jasmine.runner;
 
+import java.io.IOException;
+import java.io.Writer;
+
 public interface SpecRunnerHtmlGenerator {
   String DEFAULT_SOURCE_ENCODING = "UTF-8";
   String JASMINE_JS = "/webjars/jasmine/jasmine.js";
@@ -9,4 +12,9 @@ public interface SpecRunnerHtmlGenerator {
   String JASMINE_HTMLSPECFILTER_PATCH_JS = "/classpath/lib/htmlSpecFilterPatch.js";
 
   String generate();
+
+  /**
+   * Writes the runner to the writer as it is rendered, instead of building it up in memory first.
+   */
+  void generate(Writer writer) throws IOException;
 }
@@ -0,0 +1,178 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.format.ReceivesSpecResults;
+import com.github.searls.jasmine.io.IOUtilsWrapper;
+import com.github.searls.jasmine.model.SpecResult;
+import com.github.searls.jasmine.model.SpecResults;
+import org.apache.maven.plugin.logging.Log;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains spec results out of the browser, either in batches while the specs are running or all at once after the run
+ * finished. Every batch is handed to the receivers before the next one is drained. While streaming, the receivers
+ * report the full results as they arrive, so the {@link SpecResults} of the run only count the specs and keep the
+ * failures, and memory does not grow with the number of specs.
+ * <p>
+ * The script draining the results is only sent to the browser when the page does not define it yet, so polling
+ * only sends a short command. While streaming, drained results can be dropped from the page as well, so the browser
+ * does not hold all results of a long run.
+ */
+public class StreamsSpecResults {
+
+  static final String STREAM_SCRIPT = "/lib/streamSpecResults.js";
+  static final int DEFAULT_BATCH_SIZE = 500;
+  static final long DEFAULT_POLL_INTERVAL = 250;
+
+  private static final int ALL = -1;
+
+  static final String NOT_LOADED = "streamSpecResults.js is not loaded";
+  static final String DRAIN_COMMAND = "var plugin = window.jasmineMavenPlugin;" +
+    " return plugin && plugin.drainSpecResults ? plugin.drainSpecResults(arguments[0], arguments[1], arguments[2]) : '" + NOT_LOADED + "';";
+
+  private final IOUtilsWrapper ioUtilsWrapper;
+  private final int batchSize;
+  private final long pollInterval;
+
+  private String drainScript;
+
+  public StreamsSpecResults() {
+    this(new IOUtilsWrapper(), DEFAULT_BATCH_SIZE, DEFAULT_POLL_INTERVAL);
+  }
+
+  public StreamsSpecResults(IOUtilsWrapper ioUtilsWrapper, int batchSize, long pollInterval) {
+    this.ioUtilsWrapper = ioUtilsWrapper;
+    this.batchSize = batchSize;
+    this.pollInterval = pollInterval;
+  }
+
+  /**
+   * Extracts the results of all specs at once, after the runner finished.
+   *
+   * @return the results, or <code>null</code> when the runner does not provide them
+   */
+  public SpecResults extract(JavascriptExecutor executor) throws IOException {
+    Map<?, ?> batch = this.drain(executor, 0, ALL, false);
+    if (batch == null) {
+      return null;
+    }
+    SpecResults specResults = new SpecResults();
+    this.collect(batch, toResults(batch.get("specs")), specResults);
+    return specResults;
+  }
+
+  /**
+   * Streams the spec results to the receivers until the runner finished or the timeout passed.
+   *
+   * @param releaseDrained whether to drop drained results from the page, when nothing reads them there afterwards
+   * @return the counts of all streamed specs and the results of the failed ones
+   */
+  public SpecResults stream(JavascriptExecutor executor, int timeout, boolean debug, Log log, List<? extends ReceivesSpecResults> receivers, boolean releaseDrained) throws IOException, InterruptedException {
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeout);
+    SpecResults specResults = SpecResults.failuresOnly();
+    boolean timedOut = false;
+    while (true) {
+      Map<?, ?> batch = this.drain(executor, specResults.getSpecCount(), this.batchSize, releaseDrained);
+      List<SpecResult> results = batch == null ? Collections.<SpecResult>emptyList() : toResults(batch.get("specs"));
+      if (batch != null) {
+        this.collect(batch, results, specResults);
+      }
+      if (!results.isEmpty()) {
+        for (ReceivesSpecResults receiver : receivers) {
+          receiver.receive(results);
+        }
+      }
+      if (results.size() < this.batchSize) {
+        if (batch != null && Boolean.TRUE.equals(batch.get("finished"))) {
+          break;
+        }
+        if (System.currentTimeMillis() > deadline) {
+          timedOut = true;
+          break;
+        }
+        Thread.sleep(this.pollInterval);
+      }
+    }
+    for (ReceivesSpecResults receiver : receivers) {
+      receiver.finish();
+    }
+    if (timedOut) {
+      WebDriverWaiter.handleTimeout(timeout, debug, log);
+    }
+    return specResults;
+  }
+
+  private Map<?, ?> drain(JavascriptExecutor executor, int index, int length, boolean release) throws IOException {
+    Object batch = executor.executeScript(DRAIN_COMMAND, index, length, release);
+    if (NOT_LOADED.equals(batch)) {
+      batch = executor.executeScript(this.getDrainScript() + DRAIN_COMMAND, index, length, release);
+    }
+    return batch instanceof Map ? (Map<?, ?>) batch : null;
+  }
+
+  private void collect(Map<?, ?> batch, List<SpecResult> results, SpecResults specResults) {
+    for (SpecResult result : results) {
+      specResults.add(result);
+    }
+    if (batch.get("executionTime") instanceof Number) {
+      specResults.setDuration(((Number) batch.get("executionTime")).longValue());
+    }
+  }
+
+  private synchronized String getDrainScript() throws IOException {
+    if (this.drainScript == null) {
+      this.drainScript = this.ioUtilsWrapper.toString(STREAM_SCRIPT);
+    }
+    return this.drainScript;
+  }
+
+  private static List<SpecResult> toResults(Object specs) {
+    List<SpecResult> results = new ArrayList<SpecResult>();
+    if (specs instanceof List) {
+      for (Object spec : (List<?>) specs) {
+        Map<?, ?> result = (Map<?, ?>) spec;
+        results.add(new SpecResult(
+          stringOf(result.get("description")),
+          stringsOf(result.get("suites")),
+          stringOf(result.get("status")),
+          failuresOf(result.get("failures")),
+          result.get("duration") instanceof Number ? ((Number) result.get("duration")).longValue() : 0));
+      }
+    }
+    return results;
+  }
+
+  private static List<SpecResult.Failure> failuresOf(Object failures) {
+    List<SpecResult.Failure> result = new ArrayList<SpecResult.Failure>();
+    if (failures instanceof List) {
+      for (Object failure : (List<?>) failures) {
+        Map<?, ?> expectation = (Map<?, ?>) failure;
+        result.add(new SpecResult.Failure(
+          stringOf(expectation.get("message")),
+          stringOf(expectation.get("stack")),
+          stringOf(expectation.get("matcherName"))));
+      }
+    }
+    return result;
+  }
+
+  private static List<String> stringsOf(Object values) {
+    List<String> strings = new ArrayList<String>();
+    if (values instanceof List) {
+      for (Object value : (List<?>) values) {
+        strings.add(stringOf(value));
+      }
+    }
+    return strings;
+  }
+
+  private static String stringOf(Object value) {
+    return value == null ? null : value.toString();
+  }
+}
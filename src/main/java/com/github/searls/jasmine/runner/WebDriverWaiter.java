@@ -5,31 +5,60 @@ import org.apache.maven.plugin.logging.Log;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.util.concurrent.TimeUnit;
+
 class WebDriverWaiter {
   static final String EXECUTION_FINISHED_SCRIPT = "return (window.jsApiReporter === undefined) ? false : window.jsApiReporter.finished";
 
+  /**
+   * Calls back as soon as jasmine reports <code>jasmineDone</code>. Calls back with <code>false</code> when the
+   * runner doesn't expose a jasmine environment to listen on, in which case we fall back to polling.
+   */
+  static final String EXECUTION_FINISHED_CALLBACK_SCRIPT =
+    "var done = arguments[arguments.length - 1];" +
+    "if (window.jsApiReporter === undefined || window.jasmine === undefined || !window.jasmine.getEnv) { done(false); return; }" +
+    "if (window.jsApiReporter.finished) { done(true); return; }" +
+    "window.jasmine.getEnv().addReporter({jasmineDone: function() { setTimeout(function() { done(true); }, 0); }});";
+
   void waitForRunnerToFinish(final WebDriver driver, final int timeout, final boolean debug, final Log log) throws InterruptedException {
     final JavascriptExecutor executor = (JavascriptExecutor) driver;
+    long start = System.currentTimeMillis();
     try {
-      new WebDriverWait(driver, timeout, 1000).until(new Predicate<WebDriver>() {
-        @Override
-        public boolean apply(WebDriver input) {
-          return executionFinished(executor);
-        }
-      });
+      if (!awaitExecutionFinished(driver, executor, timeout, log)) {
+        int remaining = Math.max(1, timeout - (int) TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - start));
+        new WebDriverWait(driver, remaining, 1000).until(new Predicate<WebDriver>() {
+          @Override
+          public boolean apply(WebDriver input) {
+            return executionFinished(executor);
+          }
+        });
+      }
     } catch (TimeoutException e) {
       handleTimeout(timeout, debug, log);
     }
 
   }
 
+  private boolean awaitExecutionFinished(final WebDriver driver, final JavascriptExecutor executor, final int timeout, final Log log) {
+    try {
+      driver.manage().timeouts().setScriptTimeout(timeout, TimeUnit.SECONDS);
+      return Boolean.TRUE.equals(executor.executeAsyncScript(EXECUTION_FINISHED_CALLBACK_SCRIPT));
+    } catch (TimeoutException e) {
+      throw e;
+    } catch (WebDriverException e) {
+      log.debug("Unable to wait for jasmineDone, polling for the specs to finish instead.", e);
+      return false;
+    }
+  }
+
   private Boolean executionFinished(final JavascriptExecutor driver) {
     return (Boolean) driver.executeScript(EXECUTION_FINISHED_SCRIPT);
   }
 
-  private void handleTimeout(final int timeout, final boolean debug, final Log log) {
+  static void handleTimeout(final int timeout, final boolean debug, final Log log) {
     log.warn("Attempted to wait for your specs to finish processing over the course of " +
       timeout +
       " seconds, but it still appears to be running.");
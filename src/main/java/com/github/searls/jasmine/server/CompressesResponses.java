@@ -0,0 +1,131 @@
+package com.github.searls.jasmine.server;
+
+import org.eclipse.jetty.http.HttpHeaders;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips response bodies for clients accepting it. Compressed bodies are kept in memory keyed by the entity tag of
+ * the uncompressed content, so every version of a resource is only compressed once. The cache is bounded by the
+ * total size of the compressed bodies.
+ */
+public class CompressesResponses {
+
+  /**
+   * Provides the uncompressed body, which is only needed when its compressed version is not cached.
+   */
+  public interface Body {
+    byte[] load() throws IOException;
+  }
+
+  static final long DEFAULT_MAX_SIZE = 16L * 1024 * 1024;
+
+  private static final String GZIP = "gzip";
+
+  private final long maxSize;
+  private final Map<String, byte[]> compressed = new LinkedHashMap<String, byte[]>(16, 0.75f, true);
+  private long size;
+
+  public CompressesResponses() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public CompressesResponses(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Marks the response as varying by accepted encoding.
+   *
+   * @return whether the client accepts gzipped content
+   */
+  public boolean negotiate(HttpServletRequest request, HttpServletResponse response) {
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    return this.accepts(request);
+  }
+
+  boolean accepts(HttpServletRequest request) {
+    String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parameters = coding.trim().split(";");
+      if (GZIP.equalsIgnoreCase(parameters[0].trim())) {
+        return parameters.length < 2 || !parameters[1].trim().matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the entity tag of the compressed representation of the content with the given tag
+   */
+  public String etagOf(String etag) {
+    return etag + "-" + GZIP;
+  }
+
+  public void write(HttpServletResponse response, String etag, byte[] body) throws IOException {
+    this.write(response, etag, loaded(body));
+  }
+
+  public void write(HttpServletResponse response, String etag, Body body) throws IOException {
+    byte[] gzipped = this.compress(etag, body);
+    response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    response.setHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(gzipped.length));
+    response.getOutputStream().write(gzipped);
+  }
+
+  byte[] compress(String etag, byte[] body) throws IOException {
+    return this.compress(etag, loaded(body));
+  }
+
+  byte[] compress(String etag, Body body) throws IOException {
+    synchronized (this) {
+      byte[] cached = this.compressed.get(etag);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    byte[] uncompressed = body.load();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(uncompressed.length / 4 + 64);
+    GZIPOutputStream gzip = new GZIPOutputStream(out);
+    gzip.write(uncompressed);
+    gzip.close();
+    byte[] gzipped = out.toByteArray();
+    this.put(etag, gzipped);
+    return gzipped;
+  }
+
+  private static Body loaded(final byte[] body) {
+    return new Body() {
+      @Override
+      public byte[] load() {
+        return body;
+      }
+    };
+  }
+
+  private synchronized void put(String etag, byte[] gzipped) {
+    if (gzipped.length > this.maxSize) {
+      return;
+    }
+    byte[] previous = this.compressed.put(etag, gzipped);
+    if (previous != null) {
+      this.size -= previous.length;
+    }
+    this.size += gzipped.length;
+    Iterator<byte[]> leastRecentlyUsedFirst = this.compressed.values().iterator();
+    while (this.size > this.maxSize) {
+      this.size -= leastRecentlyUsedFirst.next().length;
+      leastRecentlyUsedFirst.remove();
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.github.searls.jasmine.server;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.jetty.http.HttpHeaders;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Computes content hash entity tags and answers conditional requests carrying a matching
+ * <code>If-None-Match</code> header with <code>304 Not Modified</code>.
+ * <p>
+ * Entity tags of files are cached per file version (last modified time and length), so unchanged files are only
+ * hashed once. Files modified too recently to tell apart from a later change within the same timestamp are hashed
+ * on every request.
+ */
+public class HandlesConditionalRequests {
+
+  private static final long RACY_INTERVAL = 2000;
+
+  private final ConcurrentMap<File, FileTag> fileTags = new ConcurrentHashMap<File, FileTag>();
+
+  public String etagOf(String content) {
+    return etagOf(content.getBytes(Charsets.UTF_8));
+  }
+
+  public String etagOf(byte[] content) {
+    return Hashing.sha256().hashBytes(content).toString();
+  }
+
+  public String etagOf(File file) throws IOException {
+    long lastModified = file.lastModified();
+    long length = file.length();
+    FileTag cached = this.fileTags.get(file);
+    if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+      return cached.etag;
+    }
+    String etag = Files.hash(file, Hashing.sha256()).toString();
+    if (System.currentTimeMillis() - lastModified >= RACY_INTERVAL) {
+      this.fileTags.put(file, new FileTag(lastModified, length, etag));
+    }
+    return etag;
+  }
+
+  /**
+   * Sets the validator headers on the response and, when the request already holds the current version, answers it
+   * with <code>304 Not Modified</code>.
+   *
+   * @return true if the response is complete and no content must be written
+   */
+  public boolean isNotModified(HttpServletRequest request, HttpServletResponse response, String etag) {
+    String quoted = "\"" + etag + "\"";
+    response.setHeader(HttpHeaders.ETAG, quoted);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    if (this.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), quoted)) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return true;
+    }
+    return false;
+  }
+
+  private boolean matches(String ifNoneMatch, String quoted) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : StringUtils.split(ifNoneMatch, ',')) {
+      String tag = StringUtils.removeStart(candidate.trim(), "W/");
+      if ("*".equals(tag) || quoted.equals(tag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static class FileTag {
+    private final long lastModified;
+    private final long length;
+    private final String etag;
+
+    private FileTag(long lastModified, long length, String etag) {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.etag = etag;
+    }
+  }
+}
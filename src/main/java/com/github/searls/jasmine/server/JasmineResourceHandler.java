@@ -4,6 +4,10 @@ import com.github.searls.jasmine.coffee.DetectsCoffee;
 import com.github.searls.jasmine.coffee.HandlesRequestsForCoffee;
 import com.github.searls.jasmine.config.JasmineConfiguration;
 import com.github.searls.jasmine.runner.CreatesRunner;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.jetty.io.Buffer;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.server.handler.ResourceHandler;
 import org.eclipse.jetty.util.resource.Resource;
@@ -11,13 +15,27 @@ import org.eclipse.jetty.util.resource.Resource;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 public class JasmineResourceHandler extends ResourceHandler {
 
+  private static final Set<String> COMPRESSIBLE_EXTENSIONS = new HashSet<String>(
+    Arrays.asList("js", "css", "html", "htm", "json", "map", "svg", "txt", "xml"));
+
   private final DetectsCoffee detectsCoffee;
   private final HandlesRequestsForCoffee handlesRequestsForCoffee;
   private final CreatesRunner createsRunner;
+  private final HandlesConditionalRequests handlesConditionalRequests;
+  private CompressesResponses compressesResponses;
+  private File runnerDirectory;
+  private Set<String> runnerFileNames = Collections.emptySet();
 
   public JasmineResourceHandler(CreatesRunner createsRunner, JasmineConfiguration configuration) {
     this(createsRunner, new HandlesRequestsForCoffee(configuration), new DetectsCoffee());
@@ -26,19 +44,62 @@ public class JasmineResourceHandler extends ResourceHandler {
   public JasmineResourceHandler(CreatesRunner createsRunner,
                                 HandlesRequestsForCoffee handlesRequestsForCoffee,
                                 DetectsCoffee detectsCoffee) {
+    this(createsRunner, handlesRequestsForCoffee, detectsCoffee, new HandlesConditionalRequests());
+  }
+
+  public JasmineResourceHandler(CreatesRunner createsRunner,
+                                HandlesRequestsForCoffee handlesRequestsForCoffee,
+                                DetectsCoffee detectsCoffee,
+                                HandlesConditionalRequests handlesConditionalRequests) {
     this.detectsCoffee = detectsCoffee;
+    this.handlesConditionalRequests = handlesConditionalRequests;
     this.createsRunner = createsRunner;
     this.handlesRequestsForCoffee = handlesRequestsForCoffee;
     setAliases(true);
   }
 
+  public void setCompressesResponses(CompressesResponses compressesResponses) {
+    this.compressesResponses = compressesResponses;
+  }
+
+  /**
+   * Serves the named spec runners of the given directory at the root as well, next to the runner served as welcome
+   * file, so that the relative script locations in them resolve the same way.
+   */
+  public void setRunners(File runnerDirectory, Collection<String> runnerFileNames) {
+    this.runnerDirectory = runnerDirectory;
+    this.runnerFileNames = new HashSet<String>(runnerFileNames);
+  }
+
+  @Override
+  public Resource getResource(String path) throws MalformedURLException {
+    Resource resource = super.getResource(path);
+    if (this.runnerDirectory == null || (resource != null && resource.exists()) || !this.isRunnerPath(path)) {
+      return resource;
+    }
+    File runner = new File(this.runnerDirectory, path.substring(1));
+    try {
+      return runner.isFile() ? Resource.newResource(runner) : resource;
+    } catch (IOException e) {
+      return resource;
+    }
+  }
+
+  private boolean isRunnerPath(String path) {
+    return path != null && path.startsWith("/") && this.runnerFileNames.contains(path.substring(1));
+  }
+
   @Override
   public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
     this.createSpecRunnerIfNecessary(target);
     Resource resource = this.getResource(baseRequest);
-    response.addDateHeader("EXPIRES", 0L);
+    Resource coffeeOfSourceMap = this.coffeeOfSourceMap(target, baseRequest, resource);
     if (this.detectsCoffee.detect(target) && this.weCanHandleIt(baseRequest, resource)) {
       this.handlesRequestsForCoffee.handle(baseRequest, response, resource);
+    } else if (coffeeOfSourceMap != null) {
+      this.handlesRequestsForCoffee.handleSourceMap(baseRequest, response, coffeeOfSourceMap);
+    } else if (this.handledFile(request, response, baseRequest, resource)) {
+      baseRequest.setHandled(true);
     } else {
       //Not testable. Who knew test-driving an LSP violation would be this hard. Sigh.  :-(
       super.handle(target, baseRequest, baseRequest, response);
@@ -47,8 +108,61 @@ public class JasmineResourceHandler extends ResourceHandler {
 
   private void createSpecRunnerIfNecessary(String target) throws IOException {
     if ("/".equals(target)) {
-      this.createsRunner.create();
+      if (this.createsRunner.create()) {
+        this.handlesRequestsForCoffee.precompile();
+      }
+    }
+  }
+
+  /**
+   * @return the CoffeeScript resource whose source map is requested, or null if the target is no such source map
+   */
+  private Resource coffeeOfSourceMap(String target, Request baseRequest, Resource resource) throws IOException {
+    if (target == null || !target.endsWith(HandlesRequestsForCoffee.SOURCE_MAP_EXTENSION) || (resource != null && resource.exists())) {
+      return null;
+    }
+    String coffeeTarget = StringUtils.removeEnd(target, HandlesRequestsForCoffee.SOURCE_MAP_EXTENSION);
+    if (!this.detectsCoffee.detect(coffeeTarget)) {
+      return null;
+    }
+    Resource coffee = this.getResource(coffeeTarget);
+    return this.weCanHandleIt(baseRequest, coffee) ? coffee : null;
+  }
+
+  /**
+   * Answers conditional requests for files and serves compressed files.
+   *
+   * @return true if the response is complete, false if the file still has to be served
+   */
+  private boolean handledFile(HttpServletRequest request, HttpServletResponse response, Request baseRequest, Resource resource) throws IOException {
+    if (!this.weCanHandleIt(baseRequest, resource)) {
+      return false;
+    }
+    final File file = resource.getFile();
+    if (file == null || !file.isFile()) {
+      return false;
+    }
+    String etag = this.handlesConditionalRequests.etagOf(file);
+    boolean compress = this.compressesResponses != null
+      && COMPRESSIBLE_EXTENSIONS.contains(FilenameUtils.getExtension(file.getName()).toLowerCase())
+      && this.compressesResponses.negotiate(request, response);
+    if (this.handlesConditionalRequests.isNotModified(request, response, compress ? this.compressesResponses.etagOf(etag) : etag)) {
+      return true;
+    }
+    if (compress) {
+      Buffer mimeType = this.getMimeTypes().getMimeByExtension(file.getName());
+      if (mimeType != null) {
+        response.setContentType(mimeType.toString());
+      }
+      this.compressesResponses.write(response, etag, new CompressesResponses.Body() {
+        @Override
+        public byte[] load() throws IOException {
+          return FileUtils.readFileToByteArray(file);
+        }
+      });
+      return true;
     }
+    return false;
   }
 
   private boolean weCanHandleIt(Request baseRequest, Resource resource) {
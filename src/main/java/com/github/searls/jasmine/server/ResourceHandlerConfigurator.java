@@ -1,5 +1,7 @@
 package com.github.searls.jasmine.server;
 
+import com.github.searls.jasmine.coffee.DetectsCoffee;
+import com.github.searls.jasmine.coffee.HandlesRequestsForCoffee;
 import com.github.searls.jasmine.config.JasmineConfiguration;
 import com.github.searls.jasmine.io.RelativizesFilePaths;
 import com.github.searls.jasmine.mojo.Context;
@@ -10,16 +12,21 @@ import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.handler.ContextHandler;
 import org.eclipse.jetty.server.handler.ContextHandlerCollection;
-import org.eclipse.jetty.server.handler.ResourceHandler;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 public class ResourceHandlerConfigurator {
 
   private final JasmineConfiguration configuration;
   private final RelativizesFilePaths relativizesFilePaths;
   private final CreatesRunner createsRunner;
+  private final HandlesRequestsForCoffee handlesRequestsForCoffee;
+  private final HandlesConditionalRequests handlesConditionalRequests;
+  private final CompressesResponses compressesResponses;
+  private List<String> runnerFileNames = Collections.emptyList();
 
   public ResourceHandlerConfigurator(JasmineConfiguration configuration,
                                      RelativizesFilePaths relativizesFilePaths,
@@ -27,6 +34,17 @@ public class ResourceHandlerConfigurator {
     this.configuration = configuration;
     this.relativizesFilePaths = relativizesFilePaths;
     this.createsRunner = createsRunner;
+    this.handlesConditionalRequests = new HandlesConditionalRequests();
+    this.compressesResponses = configuration.isCompressResponses() ? new CompressesResponses() : null;
+    this.handlesRequestsForCoffee = new HandlesRequestsForCoffee(configuration, this.handlesConditionalRequests);
+    this.handlesRequestsForCoffee.setCompressesResponses(this.compressesResponses);
+  }
+
+  /**
+   * Serves these spec runners of the jasmine target directory at the root, besides the runner served as welcome file.
+   */
+  public void setRunnerFileNames(List<String> runnerFileNames) {
+    this.runnerFileNames = runnerFileNames;
   }
 
   public Handler createHandler() throws IOException {
@@ -40,22 +58,31 @@ public class ResourceHandlerConfigurator {
     }
 
     ContextHandler rootContextHandler = contexts.addContext("/", "");
-    rootContextHandler.setHandler(this.createResourceHandler(false, this.configuration.getBasedir().getCanonicalPath(), new String[]{this.getWelcomeFilePath()}));
+    JasmineResourceHandler rootResourceHandler = this.createResourceHandler(false, this.configuration.getBasedir().getCanonicalPath(), new String[]{this.getWelcomeFilePath()});
+    if (!this.runnerFileNames.isEmpty()) {
+      rootResourceHandler.setRunners(this.configuration.getJasmineTargetDir(), this.runnerFileNames);
+    }
+    rootContextHandler.setHandler(rootResourceHandler);
     rootContextHandler.setAliases(true);
 
+    ClassPathResourceHandler classPathResourceHandler = new ClassPathResourceHandler(configuration.getProjectClassLoader());
+    classPathResourceHandler.setCompressesResponses(this.compressesResponses);
     ContextHandler classPathContextHandler = contexts.addContext("/classpath", "");
-    classPathContextHandler.setHandler(new ClassPathResourceHandler(configuration.getProjectClassLoader()));
+    classPathContextHandler.setHandler(classPathResourceHandler);
     classPathContextHandler.setAliases(true);
 
+    WebJarResourceHandler webJarResourceHandler = new WebJarResourceHandler(configuration.getProjectClassLoader(), this.getWebJarIndexDirectory());
+    webJarResourceHandler.setCompressesResponses(this.compressesResponses);
     ContextHandler webJarsContextHandler = contexts.addContext("/webjars", "");
-    webJarsContextHandler.setHandler(new WebJarResourceHandler(configuration.getProjectClassLoader()));
+    webJarsContextHandler.setHandler(webJarResourceHandler);
     webJarsContextHandler.setAliases(true);
 
     return contexts;
   }
 
-  private ResourceHandler createResourceHandler(boolean directory, String absolutePath, String[] welcomeFiles) {
-    ResourceHandler resourceHandler = new JasmineResourceHandler(this.createsRunner, this.configuration);
+  private JasmineResourceHandler createResourceHandler(boolean directory, String absolutePath, String[] welcomeFiles) {
+    JasmineResourceHandler resourceHandler = new JasmineResourceHandler(this.createsRunner, this.handlesRequestsForCoffee, new DetectsCoffee(), this.handlesConditionalRequests);
+    resourceHandler.setCompressesResponses(this.compressesResponses);
     resourceHandler.setDirectoriesListed(directory);
     if (welcomeFiles != null) {
       resourceHandler.setWelcomeFiles(welcomeFiles);
@@ -64,6 +91,11 @@ public class ResourceHandlerConfigurator {
     return resourceHandler;
   }
 
+  private File getWebJarIndexDirectory() {
+    File jasmineTargetDir = this.configuration.getJasmineTargetDir();
+    return jasmineTargetDir == null ? null : new File(jasmineTargetDir, "webjars-index");
+  }
+
   private String getWelcomeFilePath() throws IOException {
     return this.relativizesFilePaths.relativize(this.configuration.getBasedir(), this.configuration.getJasmineTargetDir()) + File.separator + createsRunner.getRunnerFile();
   }
@@ -0,0 +1,94 @@
+package com.github.searls.jasmine.server;
+
+import com.github.searls.jasmine.mojo.ServerOptions;
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.thread.ExecutorThreadPool;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Applies the {@link ServerOptions} to the Jetty server and its connector.
+ */
+public class TunesServer {
+
+  private final ServerOptions options;
+  private final Log log;
+
+  public TunesServer(ServerOptions options, Log log) {
+    this.options = options;
+    this.log = log;
+  }
+
+  public void tune(Server server) {
+    ThreadPool threadPool = this.createThreadPool();
+    if (threadPool != null) {
+      server.setThreadPool(threadPool);
+    }
+  }
+
+  public void tune(Connector connector) {
+    if (this.options == null) {
+      return;
+    }
+    if (this.options.getMaxIdleTime() != null) {
+      connector.setMaxIdleTime(this.options.getMaxIdleTime());
+    }
+    if (connector instanceof AbstractConnector) {
+      AbstractConnector abstractConnector = (AbstractConnector) connector;
+      if (this.options.getAcceptors() != null) {
+        abstractConnector.setAcceptors(this.options.getAcceptors());
+      }
+      if (this.options.getAcceptQueueSize() != null) {
+        abstractConnector.setAcceptQueueSize(this.options.getAcceptQueueSize());
+      }
+    } else if (this.options.getAcceptors() != null || this.options.getAcceptQueueSize() != null) {
+      this.log.warn("Connector " + connector.getClass().getName() + " does not support tuning acceptors");
+    }
+  }
+
+  ThreadPool createThreadPool() {
+    if (this.options == null) {
+      return null;
+    }
+    if (this.options.isVirtualThreads()) {
+      ExecutorService executor = newVirtualThreadPerTaskExecutor();
+      if (executor != null) {
+        return new ExecutorThreadPool(executor);
+      }
+      this.log.warn("Virtual threads are not supported by Java " + System.getProperty("java.version") + ", using a thread pool");
+    }
+    if (this.options.getMinThreads() == null && this.options.getMaxThreads() == null
+      && this.options.getMaxQueued() == null && this.options.getThreadIdleTimeout() == null) {
+      return null;
+    }
+
+    QueuedThreadPool threadPool = new QueuedThreadPool();
+    if (this.options.getMaxThreads() != null) {
+      threadPool.setMaxThreads(this.options.getMaxThreads());
+    }
+    if (this.options.getMinThreads() != null) {
+      threadPool.setMinThreads(this.options.getMinThreads());
+    }
+    if (this.options.getMaxQueued() != null) {
+      threadPool.setMaxQueued(this.options.getMaxQueued());
+    }
+    if (this.options.getThreadIdleTimeout() != null) {
+      threadPool.setMaxIdleTimeMs(this.options.getThreadIdleTimeout());
+    }
+    return threadPool;
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+}
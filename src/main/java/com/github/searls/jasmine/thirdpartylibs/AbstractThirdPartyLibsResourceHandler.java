@@ -1,5 +1,8 @@
 package com.github.searls.jasmine.thirdpartylibs;
 
+import com.github.searls.jasmine.server.CompressesResponses;
+import com.github.searls.jasmine.server.HandlesConditionalRequests;
+import com.google.common.base.Charsets;
 import org.apache.commons.io.IOUtils;
 import org.eclipse.jetty.http.HttpHeaders;
 import org.eclipse.jetty.server.Request;
@@ -10,11 +13,19 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
-import java.util.Date;
 
 public abstract class AbstractThirdPartyLibsResourceHandler extends ResourceHandler {
 
+  private static final String BOOT_JS = "/jasmine/boot.js";
+
+  private final HandlesConditionalRequests handlesConditionalRequests = new HandlesConditionalRequests();
+  private final CachesResources cachesResources = new CachesResources();
+  private CompressesResponses compressesResponses;
+
+  public void setCompressesResponses(CompressesResponses compressesResponses) {
+    this.compressesResponses = compressesResponses;
+  }
+
   @Override
   public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
     if (baseRequest.isHandled()) {
@@ -22,44 +33,54 @@ public abstract class AbstractThirdPartyLibsResourceHandler extends ResourceHand
     }
 
     String resourcePath = getResourcePath(target);
-    InputStream resource = findResource(resourcePath);
+    CachedResource resource = cachesResources.get(resourcePath);
+    if (resource == null) {
+      resource = loadResource(target, resourcePath);
+      if (resource == null) {
+        return;
+      }
+      cachesResources.put(resourcePath, resource);
+    }
 
-    if (resource != null) {
-      String javascript = IOUtils.toString(resource, "UTF-8");
-      if ("/jasmine/boot.js".equals(target)) {
-        javascript = javascript.replaceAll("window.onload =", "jasmine.boot =");
+    boolean compress = compressesResponses != null && compressesResponses.negotiate(request, response);
+    String etag = compress ? compressesResponses.etagOf(resource.getEtag()) : resource.getEtag();
+    if (!handlesConditionalRequests.isNotModified(request, response, etag)) {
+      response.setContentType(resource.getContentType());
+      if (compress) {
+        compressesResponses.write(response, resource.getEtag(), resource.getBody());
+      } else {
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, resource.getContentLength());
+        response.getOutputStream().write(resource.getBody());
       }
-      setHeaders(response, resourcePath, javascript);
-      writeResponse(response, javascript);
-      baseRequest.setHandled(true);
     }
+    baseRequest.setHandled(true);
   }
 
   protected abstract InputStream findResource(String resourcePath);
 
-  private String getResourcePath(String url) {
-    return url.replaceFirst("^/", "");
-  }
-
-  private void setHeaders(HttpServletResponse response, String resourcePath, String content) {
-    response.setCharacterEncoding("UTF-8");
-
-    if (resourcePath.endsWith(".css")) {
-      response.setContentType("text/css");
-    } else {
-      response.setContentType("text/javascript");
+  private CachedResource loadResource(String target, String resourcePath) throws IOException {
+    InputStream resource = findResource(resourcePath);
+    if (resource == null) {
+      return null;
     }
-    response.addDateHeader("EXPIRES", 0L);
-    response.setDateHeader(HttpHeaders.LAST_MODIFIED, new Date().getTime());
+    byte[] body;
     try {
-      int contentLength = content.getBytes("UTF-8").length;
-      response.setHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(contentLength));
-    } catch (UnsupportedEncodingException e) {
-      throw new RuntimeException("The JVM does not support javascript default encoding.", e);
+      body = IOUtils.toByteArray(resource);
+    } finally {
+      IOUtils.closeQuietly(resource);
+    }
+    if (BOOT_JS.equals(target)) {
+      String javascript = new String(body, Charsets.UTF_8);
+      body = javascript.replaceAll("window.onload =", "jasmine.boot =").getBytes(Charsets.UTF_8);
     }
+    return new CachedResource(body, getContentType(resourcePath), handlesConditionalRequests.etagOf(body));
+  }
+
+  private String getResourcePath(String url) {
+    return url.replaceFirst("^/", "");
   }
 
-  private void writeResponse(HttpServletResponse response, String javascript) throws IOException {
-    response.getWriter().write(javascript);
+  private String getContentType(String resourcePath) {
+    return (resourcePath.endsWith(".css") ? "text/css" : "text/javascript") + ";charset=UTF-8";
   }
 }
@@ -0,0 +1,35 @@
+package com.github.searls.jasmine.thirdpartylibs;
+
+/**
+ * The encoded body of a classpath resource together with its precomputed response headers.
+ */
+public class CachedResource {
+
+  private final byte[] body;
+  private final String contentType;
+  private final String contentLength;
+  private final String etag;
+
+  public CachedResource(byte[] body, String contentType, String etag) {
+    this.body = body;
+    this.contentType = contentType;
+    this.contentLength = Integer.toString(body.length);
+    this.etag = etag;
+  }
+
+  public byte[] getBody() {
+    return body;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public String getContentLength() {
+    return contentLength;
+  }
+
+  public String getEtag() {
+    return etag;
+  }
+}
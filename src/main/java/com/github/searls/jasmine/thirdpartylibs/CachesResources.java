@@ -0,0 +1,51 @@
+package com.github.searls.jasmine.thirdpartylibs;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the most recently served classpath resources in memory, bounded by the total size of their bodies.
+ * Resources larger than the bound are never cached.
+ */
+public class CachesResources {
+
+  static final long DEFAULT_MAX_SIZE = 16L * 1024 * 1024;
+
+  private final long maxSize;
+  private final Map<String, CachedResource> resources = new LinkedHashMap<String, CachedResource>(16, 0.75f, true);
+  private long size;
+
+  public CachesResources() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public CachesResources(long maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public synchronized CachedResource get(String key) {
+    return this.resources.get(key);
+  }
+
+  public synchronized void put(String key, CachedResource resource) {
+    long length = resource.getBody().length;
+    if (length > this.maxSize) {
+      return;
+    }
+    CachedResource previous = this.resources.put(key, resource);
+    if (previous != null) {
+      this.size -= previous.getBody().length;
+    }
+    this.size += length;
+    Iterator<CachedResource> leastRecentlyUsedFirst = this.resources.values().iterator();
+    while (this.size > this.maxSize) {
+      this.size -= leastRecentlyUsedFirst.next().getBody().length;
+      leastRecentlyUsedFirst.remove();
+    }
+  }
+
+  public synchronized long size() {
+    return this.size;
+  }
+}
@@ -0,0 +1,125 @@
+package com.github.searls.jasmine.thirdpartylibs;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.webjars.WebJarAssetLocator;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Builds the {@link WebJarIndex} of a class loader. Scanning the class path for WebJars means opening every jar on
+ * it, so the result is persisted in the index directory, keyed by the class path entries with their timestamps and
+ * sizes, and reloaded as long as the class path does not change.
+ * <p>
+ * Indexes of class loaders whose class path cannot be determined are neither persisted nor reloaded.
+ */
+public class IndexesWebJars {
+
+  private static final Pattern WILDCARD = Pattern.compile(".*");
+
+  private final File indexDirectory;
+
+  public IndexesWebJars(File indexDirectory) {
+    this.indexDirectory = indexDirectory;
+  }
+
+  public WebJarIndex index(ClassLoader classLoader) {
+    String key = this.indexDirectory == null ? null : key(classLoader);
+    File indexFile = key == null ? null : new File(this.indexDirectory, key + ".txt");
+    if (indexFile != null && indexFile.isFile()) {
+      try {
+        return new WebJarIndex(FileUtils.readLines(indexFile, "UTF-8"));
+      } catch (IOException e) {
+        // scan again
+      }
+    }
+
+    WebJarIndex index = new WebJarIndex(this.scan(classLoader));
+    if (indexFile != null) {
+      this.write(indexFile, index);
+    }
+    return index;
+  }
+
+  protected List<String> scan(ClassLoader classLoader) {
+    return new ArrayList<String>(WebJarAssetLocator.getFullPathIndex(WILDCARD, classLoader).values());
+  }
+
+  private void write(File indexFile, WebJarIndex index) {
+    try {
+      FileUtils.forceMkdir(this.indexDirectory);
+      File temp = File.createTempFile(indexFile.getName(), ".tmp", this.indexDirectory);
+      FileUtils.writeLines(temp, "UTF-8", index.getFullPaths(), "\n");
+      if (!temp.renameTo(indexFile)) {
+        FileUtils.deleteQuietly(temp);
+      }
+    } catch (IOException e) {
+      // the index is rebuilt next time
+    }
+  }
+
+  /**
+   * Only the levels of the hierarchy that are {@link URLClassLoader}s have URLs to hash. The first ancestor that is
+   * not one, like the application class loader of Java 9 and later, is keyed by the <code>java.class.path</code> it
+   * loads from, and the hierarchy above it is assumed to hold the JDK only.
+   *
+   * @return a hash of the class path of the class loader and its parents, or null if it cannot be determined
+   */
+  static String key(ClassLoader classLoader) {
+    if (!(classLoader instanceof URLClassLoader)) {
+      return null;
+    }
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+      if (!(loader instanceof URLClassLoader)) {
+        putClassPath(hasher, System.getProperty("java.class.path", ""));
+        break;
+      }
+      for (URL url : ((URLClassLoader) loader).getURLs()) {
+        hasher.putString(url.toString(), Charsets.UTF_8).putByte((byte) 0);
+        if ("file".equals(url.getProtocol())) {
+          File file;
+          try {
+            file = new File(url.toURI());
+          } catch (URISyntaxException e) {
+            return null;
+          }
+          putStamp(hasher, file);
+        }
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private static void putClassPath(Hasher hasher, String classPath) {
+    for (String entry : classPath.split(Pattern.quote(File.pathSeparator))) {
+      if (!entry.isEmpty()) {
+        hasher.putString(entry, Charsets.UTF_8).putByte((byte) 0);
+        putStamp(hasher, new File(entry));
+      }
+    }
+  }
+
+  private static void putStamp(Hasher hasher, File file) {
+    if (file.isDirectory()) {
+      File webJars = new File(file, WebJarAssetLocator.WEBJARS_PATH_PREFIX);
+      if (webJars.isDirectory()) {
+        for (File asset : FileUtils.listFiles(webJars, TrueFileFilter.INSTANCE, TrueFileFilter.INSTANCE)) {
+          hasher.putString(asset.getPath(), Charsets.UTF_8).putByte((byte) 0);
+        }
+      }
+    } else {
+      hasher.putLong(file.lastModified()).putLong(file.length());
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.github.searls.jasmine.thirdpartylibs;
+
+import org.webjars.WebJarAssetLocator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves WebJar asset paths to their full classpath paths with hash lookups instead of scanning the index.
+ * <p>
+ * A path resolves if exactly one asset ends with it (on whole path segments). Otherwise, the first path segment is
+ * taken as the name of a WebJar and the rest of the path has to identify exactly one asset of that WebJar. This
+ * follows {@link WebJarAssetLocator#getFullPath(String)} and {@link WebJarAssetLocator#getFullPath(String, String)}.
+ */
+public class WebJarIndex {
+
+  private static final String WEBJARS_PATH_PREFIX = WebJarAssetLocator.WEBJARS_PATH_PREFIX + "/";
+  private static final String AMBIGUOUS = "";
+
+  private final List<String> fullPaths;
+  private final Map<String, String> bySuffix = new HashMap<String, String>();
+  private final Map<String, Map<String, String>> byWebJarAndSuffix = new HashMap<String, Map<String, String>>();
+
+  public WebJarIndex(List<String> fullPaths) {
+    this.fullPaths = Collections.unmodifiableList(fullPaths);
+    for (String fullPath : fullPaths) {
+      String webJar = webJarOf(fullPath);
+      for (String suffix : suffixesOf(fullPath)) {
+        put(this.bySuffix, suffix, fullPath);
+        if (webJar != null) {
+          put(this.webJarSuffixes(webJar), suffix, fullPath);
+        }
+      }
+    }
+  }
+
+  public List<String> getFullPaths() {
+    return this.fullPaths;
+  }
+
+  public String find(String path) {
+    String fullPath = unique(this.bySuffix.get(path));
+    if (fullPath == null) {
+      int splitAt = path.indexOf('/');
+      if (splitAt > 0) {
+        Map<String, String> webJarSuffixes = this.byWebJarAndSuffix.get(path.substring(0, splitAt));
+        if (webJarSuffixes != null) {
+          fullPath = unique(webJarSuffixes.get(path.substring(splitAt + 1)));
+        }
+      }
+    }
+    return fullPath;
+  }
+
+  private Map<String, String> webJarSuffixes(String webJar) {
+    Map<String, String> suffixes = this.byWebJarAndSuffix.get(webJar);
+    if (suffixes == null) {
+      suffixes = new HashMap<String, String>();
+      this.byWebJarAndSuffix.put(webJar, suffixes);
+    }
+    return suffixes;
+  }
+
+  private static void put(Map<String, String> index, String suffix, String fullPath) {
+    String existing = index.get(suffix);
+    index.put(suffix, existing == null || existing.equals(fullPath) ? fullPath : AMBIGUOUS);
+  }
+
+  private static String unique(String fullPath) {
+    return AMBIGUOUS.equals(fullPath) ? null : fullPath;
+  }
+
+  private static String webJarOf(String fullPath) {
+    if (!fullPath.startsWith(WEBJARS_PATH_PREFIX)) {
+      return null;
+    }
+    int end = fullPath.indexOf('/', WEBJARS_PATH_PREFIX.length());
+    return end < 0 ? null : fullPath.substring(WEBJARS_PATH_PREFIX.length(), end);
+  }
+
+  private static Collection<String> suffixesOf(String fullPath) {
+    List<String> suffixes = new ArrayList<String>();
+    suffixes.add(fullPath);
+    for (int slash = fullPath.indexOf('/'); slash >= 0; slash = fullPath.indexOf('/', slash + 1)) {
+      if (slash + 1 < fullPath.length()) {
+        suffixes.add(fullPath.substring(slash + 1));
+      }
+    }
+    return suffixes;
+  }
+}
@@ -1,22 +1,26 @@
 package com.github.searls.jasmine.thirdpartylibs;
 
-import org.webjars.WebJarAssetLocator;
-
+import java.io.File;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
 
 public class WebJarResourceHandler extends AbstractThirdPartyLibsResourceHandler {
 
-  private static final Pattern WILDCARD = Pattern.compile(".*");
-
-  private final List<WebJarAssetLocator> webJarAssetLocators;
+  private final List<WebJarIndex> webJarIndexes;
   private final ClassLoader projectClassLoader;
 
   public WebJarResourceHandler(ClassLoader projectClassLoader) {
+    this(projectClassLoader, null);
+  }
+
+  /**
+   * @param indexDirectory where to persist the WebJar indexes between builds, or null to scan the class path each time
+   */
+  public WebJarResourceHandler(ClassLoader projectClassLoader, File indexDirectory) {
     this.projectClassLoader = projectClassLoader;
-    this.webJarAssetLocators = createWebJarAssetLocators(
+    this.webJarIndexes = createWebJarIndexes(
+      new IndexesWebJars(indexDirectory),
       WebJarResourceHandler.class.getClassLoader(),
       projectClassLoader
     );
@@ -30,8 +34,8 @@ public class WebJarResourceHandler extends AbstractThirdPartyLibsResourceHandler
 
   private String findFullPath(String resourcePath) {
     String fullPath = null;
-    for (WebJarAssetLocator locator : webJarAssetLocators) {
-      fullPath = findFullPath(locator, resourcePath);
+    for (WebJarIndex index : webJarIndexes) {
+      fullPath = index.find(resourcePath);
       if (fullPath != null) {
         break;
       }
@@ -39,40 +43,11 @@ public class WebJarResourceHandler extends AbstractThirdPartyLibsResourceHandler
     return fullPath;
   }
 
-  private String findFullPath(WebJarAssetLocator locator, String resourcePath) {
-    String fullPath = null;
-    try {
-      fullPath = locator.getFullPath(resourcePath);
-    } catch (Exception e) {
-      fullPath = findFullPathByPartial(locator, resourcePath);
-    }
-    return fullPath;
-  }
-
-  private String findFullPathByPartial(WebJarAssetLocator locator, String resourcePath) {
-
-    String fullPath = null;
-
-    int splitAt = resourcePath.indexOf("/");
-
-    if (splitAt > 0) {
-      String webjar = resourcePath.substring(0, splitAt);
-      String partialPath = resourcePath.substring(splitAt + 1);
-      try {
-        fullPath = locator.getFullPath(webjar, partialPath);
-      } catch (Exception e) {
-        // TODO: at least log this exception
-      }
-    }
-
-    return fullPath;
-  }
-
-  private List<WebJarAssetLocator> createWebJarAssetLocators(ClassLoader... classLoaders) {
-    List<WebJarAssetLocator> locators = new ArrayList<WebJarAssetLocator>();
+  private List<WebJarIndex> createWebJarIndexes(IndexesWebJars indexesWebJars, ClassLoader... classLoaders) {
+    List<WebJarIndex> indexes = new ArrayList<WebJarIndex>();
     for (ClassLoader classLoader : classLoaders) {
-      locators.add(new WebJarAssetLocator(WebJarAssetLocator.getFullPathIndex(WILDCARD, classLoader)));
+      indexes.add(indexesWebJars.index(classLoader));
     }
-    return locators;
+    return indexes;
   }
 }
@@ -1,10 +1,11 @@
 (function() {
   var jasmineMavenPlugin = window.jasmineMavenPlugin = window.jasmineMavenPlugin || {};
-  var reporter,reportedItems,specCount,failureCount,pendingCount;
+  var reporter,resultsById,reportedItems,specCount,failureCount,pendingCount;
 
   jasmineMavenPlugin.printReport = function(r, config) {
     config = config || {};
-    reporter = r, reportedItems=[], specCount=0, failureCount=0, pendingCount=0;
+    reporter = r, reportedItems={}, specCount=0, failureCount=0, pendingCount=0;
+    resultsById = indexResults(reporter.specs());
     var result;
     if (config.format === 'progress') {
       result = printProgressFormat(jasmine.getEnv().topSuite().children);
@@ -67,7 +68,7 @@
             output += '.';
           }
         }
-        reportedItems.push(item);
+        reportedItems[item.id] = true;
         output += buildProgressFormatReport(item.children);
       }
     }
@@ -79,7 +80,7 @@
     if (items) {
       for(var i=0;i<items.length;i++){
         var item = items[i];
-        if(!inArray(reportedItems,item)) {
+        if(!reportedItems[item.id]) {
           line += (i > 0 && indentLevel === 0 ? '\n' : '')+"\n"+indent(indentLevel)+item.description;
 
           if(item instanceof jasmine.Spec) {
@@ -94,7 +95,7 @@
             }
           }
 
-          reportedItems.push(item);
+          reportedItems[item.id] = true;
           line += buildDocumentationFormatReport(item.children,indentLevel+1);
         }
       }
@@ -118,14 +119,16 @@
     }
   };
 
-  var resultForSpec = function(spec){
-    var specResults = reporter.specs();
+  var indexResults = function(specResults) {
+    var index = {};
     for (var i=0; i < specResults.length; i++) {
-      if (spec.id == specResults[i].id) {
-        return specResults[i];
-      }
+      index[specResults[i].id] = specResults[i];
     }
-    return {};
+    return index;
+  };
+
+  var resultForSpec = function(spec){
+    return resultsById[spec.id] || {};
   };
 
   var describeFailureSentences = function() {
@@ -142,15 +145,4 @@
     return result;
   };
 
-  var inArray = function(arr,val) {
-    var result = false;
-    for(var i=0;i<arr.length;i++) {
-      if(arr[i] === val) {
-        result = true;
-        break;
-      }
-    }
-    return result;
-  };
-
 })();
\ No newline at end of file
@@ -1,14 +1,12 @@
 var fileSystemReporter;
 
 (function() {
-  var resultForSpec = function(reporter, spec){
-    var specResults = reporter.specs();
+  var indexResults = function(specResults) {
+    var index = {};
     for (var i=0; i < specResults.length; i++) {
-      if (spec.id == specResults[i].id) {
-        return specResults[i];
-      }
+      index[specResults[i].id] = specResults[i];
     }
-    return {};
+    return index;
   };
 
   fileSystemReporter = {
@@ -19,7 +17,8 @@ var fileSystemReporter;
       if (reporter.finished !== true && !debug)
         throw 'Jasmine runner is not finished!';
 
-      var results = this.crunchResults(reporter.specs());
+      var specResults = reporter.specs();
+      var results = this.crunchResults(specResults);
 
       var writer = new XmlWriter();
       writer.beginNode('testsuite');
@@ -31,20 +30,20 @@ var fileSystemReporter;
       writer.attrib('hostname','localhost');
       writer.attrib('time', '0.0');
       writer.attrib('timestamp',this.currentTimestamp());
-      this.writeChildren(reporter, writer, jasmine.getEnv().topSuite().children,'');
+      this.writeChildren(indexResults(specResults), writer, jasmine.getEnv().topSuite().children,'');
       writer.endNode();
 
       return this.prolog+writer.toString();
     },
-    writeChildren: function(reporter, writer, tests,runningName) {
+    writeChildren: function(resultsById, writer, tests,runningName) {
       if (tests) {
         for(var i=0;i<tests.length;i++) {
           var name = (runningName && runningName.length > 0 ? runningName+' ' : '')+tests[i].description;
           if(tests[i] instanceof jasmine.Spec) {
-            var specResult = resultForSpec(reporter, tests[i]);
+            var specResult = resultsById[tests[i].id] || {};
             this.writeTestcase(writer,specResult,name);
           }
-          this.writeChildren(reporter, writer,tests[i].children,name);
+          this.writeChildren(resultsById, writer,tests[i].children,name);
         }
       }
     },
@@ -0,0 +1,65 @@
+(function() {
+  var jasmineMavenPlugin = window.jasmineMavenPlugin = window.jasmineMavenPlugin || {};
+  if (jasmineMavenPlugin.drainSpecResults) {
+    return;
+  }
+
+  var suitePaths;
+  var released = 0;
+
+  var collectSuitePaths = function(items, path) {
+    for (var i = 0; i < items.length; i++) {
+      var item = items[i];
+      if (item.children) {
+        collectSuitePaths(item.children, path.concat([item.description]));
+      } else {
+        suitePaths[item.id] = path;
+      }
+    }
+  };
+
+  var failuresOf = function(result) {
+    var failures = [];
+    var expectations = result.failedExpectations || [];
+    for (var i = 0; i < expectations.length; i++) {
+      failures.push({
+        message: expectations[i].message,
+        stack: expectations[i].stack || null,
+        matcherName: expectations[i].matcherName || null
+      });
+    }
+    return failures;
+  };
+
+  jasmineMavenPlugin.drainSpecResults = function(index, length, release) {
+    var reporter = window.jsApiReporter;
+    if (!reporter || !reporter.specResults) {
+      return null;
+    }
+    if (!suitePaths) {
+      suitePaths = {};
+      collectSuitePaths(jasmine.getEnv().topSuite().children, []);
+    }
+    var finished = reporter.finished === true;
+    var all = reporter.specs();
+    var start = Math.max(0, index - released);
+    var results = length < 0 ? all.slice(start) : all.slice(start, start + length);
+    var specs = [];
+    for (var i = 0; i < results.length; i++) {
+      specs.push({
+        description: results[i].description,
+        suites: suitePaths[results[i].id] || [],
+        status: results[i].status,
+        duration: typeof results[i].duration === 'number' ? results[i].duration : null,
+        failures: failuresOf(results[i])
+      });
+    }
+    if (release && all === reporter.specs()) {
+      // the reporter hands out the array it collects into, so drained results can be dropped from it
+      all.splice(0, start + results.length);
+      released += start + results.length;
+    }
+    var executionTime = finished && reporter.executionTime ? reporter.executionTime() : null;
+    return {finished: finished, executionTime: typeof executionTime === 'number' ? executionTime : null, specs: specs};
+  };
+})();
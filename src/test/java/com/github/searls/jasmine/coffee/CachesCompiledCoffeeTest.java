@@ -0,0 +1,96 @@
+package com.github.searls.jasmine.coffee;
+
+import com.github.searls.jasmine.io.CreatesTempDirectories;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class CachesCompiledCoffeeTest {
+
+  private File directory;
+
+  @Before
+  public void before() {
+    directory = new CreatesTempDirectories().create("coffee-cache");
+  }
+
+  @After
+  public void after() {
+    FileUtils.deleteQuietly(directory);
+  }
+
+  @Test
+  public void returnsCachedJavaScript() {
+    new CachesCompiledCoffee(directory).put("key", "javascript");
+
+    assertThat(new CachesCompiledCoffee(directory).get("key"), is("javascript"));
+  }
+
+  @Test
+  public void missesUnknownKey() {
+    assertThat(new CachesCompiledCoffee(directory).get("unknown"), is(nullValue()));
+  }
+
+  @Test
+  public void keyDependsOnEveryPart() {
+    assertThat(CachesCompiledCoffee.key("compiler-1", "coffee"), is(CachesCompiledCoffee.key("compiler-1", "coffee")));
+    assertThat(CachesCompiledCoffee.key("compiler-1", "coffee"), is(not(CachesCompiledCoffee.key("compiler-2", "coffee"))));
+    assertThat(CachesCompiledCoffee.key("ab", "c"), is(not(CachesCompiledCoffee.key("a", "bc"))));
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedEntries() {
+    CachesCompiledCoffee subject = new CachesCompiledCoffee(directory, 10);
+    subject.put("old", "12345");
+    subject.put("used", "12345");
+    new File(directory, "old.js").setLastModified(1000L);
+    new File(directory, "used.js").setLastModified(2000L);
+
+    subject.put("new", "12345");
+
+    assertThat(subject.get("old"), is(nullValue()));
+    assertThat(subject.get("used"), is("12345"));
+    assertThat(subject.get("new"), is("12345"));
+  }
+
+  @Test
+  public void evictsTheEntriesUsedLeastRecentlySinceTheFirstWrite() {
+    CachesCompiledCoffee subject = new CachesCompiledCoffee(directory, 10);
+    subject.put("first", "12345");
+    subject.put("second", "12345");
+    subject.get("first");
+
+    subject.put("third", "12345");
+
+    assertThat(subject.get("first"), is("12345"));
+    assertThat(subject.get("second"), is(nullValue()));
+  }
+
+  @Test
+  public void countsTheEntriesOfEarlierBuilds() {
+    new CachesCompiledCoffee(directory).put("earlier", "12345");
+    CachesCompiledCoffee subject = new CachesCompiledCoffee(directory, 10);
+
+    subject.put("later", "123456");
+
+    assertThat(subject.get("earlier"), is(nullValue()));
+    assertThat(subject.get("later"), is("123456"));
+  }
+
+  @Test
+  public void sharesOneCachePerDirectory() {
+    CachesCompiledCoffee cache = CachesCompiledCoffee.forDirectory(directory);
+
+    assertThat(CachesCompiledCoffee.forDirectory(new File(directory, "../" + directory.getName())), is(sameInstance(cache)));
+    assertThat(CachesCompiledCoffee.forDirectory(new File(directory, "other")), is(not(sameInstance(cache))));
+  }
+}
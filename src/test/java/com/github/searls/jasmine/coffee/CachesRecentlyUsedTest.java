@@ -0,0 +1,52 @@
+package com.github.searls.jasmine.coffee;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CachesRecentlyUsedTest {
+
+  private final CachesRecentlyUsed<String> subject = new CachesRecentlyUsed<String>(10);
+
+  @Test
+  public void keepsValues() {
+    subject.put("key", "value", 5);
+
+    assertThat(subject.get("key"), is("value"));
+  }
+
+  @Test
+  public void evictsTheLeastRecentlyUsedValuesOnceTheBoundIsExceeded() {
+    subject.put("first", "1", 4);
+    subject.put("second", "2", 4);
+    subject.get("first");
+
+    subject.put("third", "3", 4);
+
+    assertThat(subject.get("first"), is("1"));
+    assertThat(subject.get("second"), is(nullValue()));
+    assertThat(subject.get("third"), is("3"));
+  }
+
+  @Test
+  public void replacingAValueReleasesItsWeight() {
+    subject.put("key", "old", 8);
+    subject.put("key", "new", 8);
+    subject.put("other", "value", 2);
+
+    assertThat(subject.get("key"), is("new"));
+    assertThat(subject.get("other"), is("value"));
+  }
+
+  @Test
+  public void doesNotKeepValuesHeavierThanTheBound() {
+    subject.put("small", "value", 5);
+
+    subject.put("huge", "value", 11);
+
+    assertThat(subject.get("huge"), is(nullValue()));
+    assertThat(subject.get("small"), is("value"));
+  }
+}
@@ -1,14 +1,13 @@
 package com.github.searls.jasmine.coffee;
 
-import org.apache.commons.lang3.StringEscapeUtils;
+import com.github.searls.jasmine.io.CreatesTempDirectories;
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
@@ -34,12 +33,12 @@ public class CoffeeScriptIntegrationTest {
 
   private CoffeeScript subject;
 
-  private Map<String, String> mockCache;
+  private CachesRecentlyUsed<String> mockCache;
 
   @Before
   public void before() throws Exception {
     subject = new CoffeeScript();
-    mockCache = Collections.synchronizedMap(new WeakHashMap<String, String>());
+    mockCache = new CachesRecentlyUsed<String>(CoffeeScript.MAX_CACHED_CHARACTERS);
     injectFakeCache(mockCache);
   }
 
@@ -50,18 +49,42 @@ public class CoffeeScriptIntegrationTest {
     assertThat(result, is(JAVASCRIPT));
   }
 
+  @Test
+  public void itCompilesWithHtmlUnit() throws IOException {
+    String result = new CoffeeScript(new HtmlUnitCoffeeScriptCompiler(), null).compile(COFFEE);
+
+    assertThat(result, is(JAVASCRIPT));
+  }
+
   @Test
   public void itReliesOnTheCache() throws IOException {
     String expected = "win";
     subject.compile(COFFEE);
-    mockCache.put(StringEscapeUtils.escapeEcmaScript(COFFEE), expected);
+    mockCache.put(subject.key(COFFEE), expected, expected.length());
 
     String result = subject.compile(COFFEE);
 
     assertThat(result, is(expected));
   }
 
-  private void injectFakeCache(Map<String, String> cacheMap) throws Exception {
+  @Test
+  public void itStoresCompiledCoffeeOnDisk() throws IOException {
+    File cacheDirectory = new CreatesTempDirectories().create("coffee-cache");
+    try {
+      new CoffeeScript(cacheDirectory).compile(COFFEE);
+      mockCache.clear();
+
+      File[] entries = cacheDirectory.listFiles();
+      assertThat(entries.length, is(1));
+      FileUtils.writeStringToFile(entries[0], "cached", "UTF-8");
+
+      assertThat(new CoffeeScript(cacheDirectory).compile(COFFEE), is("cached"));
+    } finally {
+      FileUtils.deleteQuietly(cacheDirectory);
+    }
+  }
+
+  private void injectFakeCache(CachesRecentlyUsed<String> cacheMap) throws Exception {
     Field cache = subject.getClass().getDeclaredField("cache");
     cache.setAccessible(true);
     cache.set(subject, cacheMap);
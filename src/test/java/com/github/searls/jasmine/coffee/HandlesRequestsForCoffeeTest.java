@@ -2,6 +2,7 @@ package com.github.searls.jasmine.coffee;
 
 import com.github.searls.jasmine.config.JasmineConfiguration;
 import com.github.searls.jasmine.format.BuildsJavaScriptToWriteFailureHtml;
+import com.github.searls.jasmine.model.ScriptSearch;
 import org.eclipse.jetty.http.HttpHeaders;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.util.resource.Resource;
@@ -15,9 +16,12 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -30,6 +34,8 @@ public class HandlesRequestsForCoffeeTest {
   @Mock
   private CoffeeScript coffeeScript = new CoffeeScript();
   @Mock
+  private PrecompilesCoffee precompilesCoffee;
+  @Mock
   private BuildsJavaScriptToWriteFailureHtml buildsJavaScriptToWriteFailureHtml;
   @Mock
   private JasmineConfiguration configuration;
@@ -109,6 +115,39 @@ public class HandlesRequestsForCoffeeTest {
     verify(response).setHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(expected.getBytes("UTF-8").length));
   }
 
+  @Test
+  public void whenCoffeeWasPrecompiledThenWriteIt() throws IOException {
+    File file = new File("some-file.coffee");
+    when(resource.getFile()).thenReturn(file);
+    when(precompilesCoffee.get(file)).thenReturn("precompiled");
+
+    subject.handle(baseRequest, response, resource);
+
+    verify(response.getWriter()).write("precompiled");
+    verify(coffeeScript, never()).compile(COFFEE);
+  }
+
+  @Test
+  public void precompilesSourcesAndSpecs() throws Exception {
+    ScriptSearch sources = new ScriptSearch(new File("src"), null, null);
+    ScriptSearch specs = new ScriptSearch(new File("spec"), null, null);
+    when(configuration.getSources()).thenReturn(sources);
+    when(configuration.getSpecs()).thenReturn(specs);
+
+    subject.precompile();
+
+    verify(precompilesCoffee).precompile(sources, specs);
+  }
+
+  @Test
+  public void doesNotPrecompileWithREQUIRE_JS() throws Exception {
+    when(configuration.isCoffeeScriptCompilationEnabled()).thenReturn(false);
+
+    subject.precompile();
+
+    verifyZeroInteractions(precompilesCoffee);
+  }
+
   @Test
   public void whenCoffeeCompilationFailsThenWriteTheErrorOutInItsStead() throws IOException {
     String name = "some-file.coffee";
@@ -133,4 +172,36 @@ public class HandlesRequestsForCoffeeTest {
     verify(response).setHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(COFFEE.length()));
   }
 
+  @Test
+  public void pointsAtTheSourceMap() throws IOException {
+    when(resource.getFile()).thenReturn(new File("some-file.coffee"));
+
+    subject.handle(baseRequest, response, resource);
+
+    verify(response).setHeader("SourceMap", "some-file.coffee.map");
+    verify(response).setHeader("X-SourceMap", "some-file.coffee.map");
+  }
+
+  @Test
+  public void whenSourceMapRequestedThenWriteItWithTheCoffee() throws IOException {
+    when(resource.getFile()).thenReturn(new File("some-file.coffee"));
+    when(coffeeScript.lineMap(COFFEE)).thenReturn(new int[]{MapsCompiledCoffee.UNMAPPED, 0});
+
+    subject.handleSourceMap(baseRequest, response, resource);
+
+    verify(baseRequest).setHandled(true);
+    verify(response).setContentType("application/json");
+    verify(response.getWriter()).write("{\"version\":3,\"file\":\"some-file.coffee\",\"sources\":[\"some-file.coffee\"],"
+      + "\"sourcesContent\":[\"coffee\"],\"names\":[],\"mappings\":\";AAAA\"}");
+  }
+
+  @Test
+  public void whenSourceMapCannotBeBuiltThenAnswerNotFound() throws IOException {
+    when(coffeeScript.lineMap(COFFEE)).thenThrow(new IOException("failed"));
+
+    subject.handleSourceMap(baseRequest, response, resource);
+
+    verify(response).sendError(HttpServletResponse.SC_NOT_FOUND);
+  }
+
 }
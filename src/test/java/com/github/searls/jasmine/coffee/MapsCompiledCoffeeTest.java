@@ -0,0 +1,88 @@
+package com.github.searls.jasmine.coffee;
+
+import org.junit.Test;
+
+import static com.github.searls.jasmine.coffee.MapsCompiledCoffee.UNMAPPED;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MapsCompiledCoffeeTest {
+
+  private MapsCompiledCoffee subject = new MapsCompiledCoffee();
+
+  @Test
+  public void mapsStatementsToTheirSourceLines() {
+    String coffee =
+      "describe \"HelloWorld\", ->\n" +
+        "  it \"should say hello\", ->\n" +
+        "    hello_world = new HelloWorld\n" +
+        "    expect(hello_world.greeting()).toBe \"Hello, World\"";
+    String javascript =
+      "(function() {\n\n" +
+        "  describe(\"HelloWorld\", function() {\n" +
+        "    return it(\"should say hello\", function() {\n" +
+        "      var hello_world;\n" +
+        "      hello_world = new HelloWorld;\n" +
+        "      return expect(hello_world.greeting()).toBe(\"Hello, World\");\n" +
+        "    });\n" +
+        "  });\n\n" +
+        "}).call(this);\n";
+
+    int[] lines = subject.map(coffee, javascript);
+
+    assertThat(lines, is(new int[]{UNMAPPED, UNMAPPED, 0, 1, UNMAPPED, 2, 3, UNMAPPED, UNMAPPED, UNMAPPED, UNMAPPED, UNMAPPED}));
+  }
+
+  @Test
+  public void mapsLinesToTheSourceLineSharingTheMostWords() {
+    String coffee =
+      "it 'a', ->\n" +
+        "  expect(a).toBe 1\n" +
+        "it 'b', ->\n" +
+        "  expect(b).toBe 1";
+    String javascript =
+      "it('a', function() {\n" +
+        "  return expect(a).toBe(1);\n" +
+        "});\n" +
+        "it('b', function() {\n" +
+        "  return expect(b).toBe(1);\n" +
+        "});";
+
+    assertThat(subject.map(coffee, javascript), is(new int[]{0, 1, UNMAPPED, 2, 3, UNMAPPED}));
+  }
+
+  @Test
+  public void leavesLinesMatchingSeveralSourceLinesUnmapped() {
+    String coffee =
+      "it 'a', ->\n" +
+        "  expect(value).toBe 1\n" +
+        "it 'b', ->\n" +
+        "  expect(value).toBe 1";
+    String javascript =
+      "it('a', function() {\n" +
+        "  return expect(value).toBe(1);\n" +
+        "});\n" +
+        "it('b', function() {\n" +
+        "  return expect(value).toBe(1);\n" +
+        "});";
+
+    assertThat(subject.map(coffee, javascript), is(new int[]{0, UNMAPPED, UNMAPPED, 2, UNMAPPED, UNMAPPED}));
+  }
+
+  @Test
+  public void ignoresCommentsAndGeneratedVariables() {
+    String coffee =
+      "# total of the items\n" +
+        "total = 0\n" +
+        "total += item for item in items";
+    String javascript =
+      "var item, total, _i, _len;\n" +
+        "total = 0;\n" +
+        "for (_i = 0, _len = items.length; _i < _len; _i++) {\n" +
+        "  item = items[_i];\n" +
+        "  total += item;\n" +
+        "}";
+
+    assertThat(subject.map(coffee, javascript), is(new int[]{UNMAPPED, 1, 2, 2, 2, UNMAPPED}));
+  }
+}
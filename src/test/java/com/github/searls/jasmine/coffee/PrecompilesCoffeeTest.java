@@ -0,0 +1,103 @@
+package com.github.searls.jasmine.coffee;
+
+import com.github.searls.jasmine.io.CreatesTempDirectories;
+import com.github.searls.jasmine.model.ScriptSearch;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PrecompilesCoffeeTest {
+
+  @Mock
+  private CoffeeScript coffeeScript;
+
+  private File directory;
+  private File coffee;
+  private ScriptSearch search;
+
+  private PrecompilesCoffee subject;
+
+  @Before
+  public void before() throws IOException {
+    directory = new CreatesTempDirectories().create("precompile");
+    coffee = new File(directory, "spec.coffee");
+    FileUtils.writeStringToFile(coffee, "coffee", "UTF-8");
+    FileUtils.writeStringToFile(new File(directory, "plain.js"), "javascript", "UTF-8");
+    search = new ScriptSearch(directory, Collections.singletonList("**/*"), Collections.<String>emptyList());
+    when(coffeeScript.compile("coffee")).thenReturn("compiled");
+    subject = new PrecompilesCoffee(coffeeScript);
+  }
+
+  @After
+  public void after() {
+    FileUtils.deleteQuietly(directory);
+  }
+
+  @Test
+  public void compilesOnlyCoffee() throws Exception {
+    subject.precompile(search);
+
+    assertThat(subject.get(coffee), is("compiled"));
+    verify(coffeeScript, never()).compile("javascript");
+  }
+
+  @Test
+  public void doesNotRecompileUnchangedCoffee() throws Exception {
+    subject.precompile(search);
+    subject.precompile(search);
+
+    verify(coffeeScript, times(1)).compile(anyString());
+  }
+
+  @Test
+  public void ignoresChangedCoffee() throws Exception {
+    subject.precompile(search);
+    coffee.setLastModified(coffee.lastModified() - 10000);
+
+    assertThat(subject.get(coffee), is(nullValue()));
+  }
+
+  @Test
+  public void leavesCoffeeThatFailsToCompile() throws Exception {
+    when(coffeeScript.compile("coffee")).thenThrow(new RuntimeException("syntax error"));
+
+    subject.precompile(search);
+
+    assertThat(subject.get(coffee), is(nullValue()));
+  }
+
+  @Test
+  public void instancesShareBoundedDaemonCompilerThreads() throws Exception {
+    int processors = Runtime.getRuntime().availableProcessors();
+    for (int instance = 0; instance < 2 * processors + 1; instance++) {
+      new PrecompilesCoffee(coffeeScript).precompile(search);
+    }
+
+    int compilerThreads = 0;
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      if (thread.getName().startsWith("jasmine-coffee-compiler-")) {
+        compilerThreads++;
+        assertThat(thread.isDaemon(), is(true));
+      }
+    }
+    assertThat(compilerThreads <= processors, is(true));
+  }
+}
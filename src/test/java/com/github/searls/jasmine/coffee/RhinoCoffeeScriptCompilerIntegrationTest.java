@@ -0,0 +1,62 @@
+package com.github.searls.jasmine.coffee;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class RhinoCoffeeScriptCompilerIntegrationTest {
+
+  private RhinoCoffeeScriptCompiler subject = new RhinoCoffeeScriptCompiler(2);
+
+  @Test
+  public void itPassesSourceWithoutEscaping() throws Exception {
+    assertThat(subject.compile("quote = \"it's \\\"quoted\\\"\\n\""), containsString("quote = \"it's \\\"quoted\\\"\\n\";"));
+  }
+
+  @Test(expected = Exception.class)
+  public void itFailsOnInvalidCoffee() throws Exception {
+    subject.compile("->)");
+  }
+
+  @Test
+  public void itCompilesConcurrentlyWithABoundedPool() throws Exception {
+    ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String>> results = new ArrayList<Future<String>>();
+      for (int i = 0; i < 8; i++) {
+        final int value = i;
+        results.add(executorService.submit(new Callable<String>() {
+          @Override
+          public String call() throws Exception {
+            return subject.compile("value = " + value);
+          }
+        }));
+      }
+      for (int i = 0; i < results.size(); i++) {
+        assertThat(results.get(i).get(), containsString("value = " + i + ";"));
+      }
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  public void itRecoversAfterAFailedCompilation() throws Exception {
+    try {
+      subject.compile("->)");
+    } catch (Exception e) {
+      // expected
+    }
+
+    assertThat(subject.compile("a = 1").contains("a = 1;"), is(true));
+  }
+}
@@ -0,0 +1,146 @@
+package com.github.searls.jasmine.driver;
+
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class WebDriverPoolTest {
+
+  private WebDriverPool pool;
+  private WebDriverFactory factory;
+  private WebDriver driver;
+
+  @Before
+  public void before() throws Exception {
+    pool = new WebDriverPool(2);
+    factory = mock(WebDriverFactory.class);
+    driver = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class).defaultAnswer(RETURNS_DEEP_STUBS));
+    when(factory.getPoolKey()).thenReturn("key");
+    when(factory.newWebDriver()).thenReturn(driver);
+  }
+
+  @Test
+  public void handsOutDriversThatCanExecuteJavaScript() throws Exception {
+    assertTrue(pool.acquire(factory) instanceof JavascriptExecutor);
+  }
+
+  @Test
+  public void delegatesToTheDriver() throws Exception {
+    pool.acquire(factory).get("http://localhost/runner.html");
+
+    verify(driver).get("http://localhost/runner.html");
+  }
+
+  @Test
+  public void reusesReleasedDriver() throws Exception {
+    pool.acquire(factory).quit();
+    pool.acquire(factory).get("http://localhost/runner.html");
+
+    verify(factory, times(1)).newWebDriver();
+    verify(driver, never()).quit();
+    verify(driver).get("http://localhost/runner.html");
+  }
+
+  @Test
+  public void resetsReleasedDriver() throws Exception {
+    pool.acquire(factory).quit();
+
+    verify((JavascriptExecutor) driver).executeScript(anyString());
+    verify(driver.manage()).deleteAllCookies();
+    verify(driver).get("about:blank");
+    assertEquals(1, pool.idleCount());
+  }
+
+  @Test
+  public void releasesDriverOnlyOnce() throws Exception {
+    WebDriver pooled = pool.acquire(factory);
+    pooled.quit();
+    pooled.quit();
+
+    assertEquals(1, pool.idleCount());
+  }
+
+  @Test
+  public void createsNewDriverForDifferentKey() throws Exception {
+    pool.acquire(factory).quit();
+    when(factory.getPoolKey()).thenReturn("other");
+
+    pool.acquire(factory);
+
+    verify(factory, times(2)).newWebDriver();
+  }
+
+  @Test
+  public void quitsDriverThatCannotBeReset() throws Exception {
+    doThrow(new WebDriverException("gone")).when(driver).get("about:blank");
+
+    pool.acquire(factory).quit();
+
+    verify(driver).quit();
+    assertEquals(0, pool.idleCount());
+  }
+
+  @Test
+  public void quitsReleasedDriversBeyondTheMaximumIdleCount() throws Exception {
+    WebDriver third = mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class).defaultAnswer(RETURNS_DEEP_STUBS));
+    when(factory.newWebDriver()).thenReturn(driver, driver, third);
+    WebDriver first = pool.acquire(factory);
+    WebDriver second = pool.acquire(factory);
+    WebDriver last = pool.acquire(factory);
+
+    first.quit();
+    second.quit();
+    last.quit();
+
+    verify(third).quit();
+    assertEquals(2, pool.idleCount());
+  }
+
+  @Test
+  public void quitsIdleDriversWhenTheSessionEnds() throws Exception {
+    MavenExecutionRequest request = new DefaultMavenExecutionRequest();
+    ExecutionListener listener = mock(ExecutionListener.class);
+    ExecutionEvent event = mock(ExecutionEvent.class);
+    request.setExecutionListener(listener);
+    pool.shutdownWhenSessionEnds(request);
+    pool.shutdownWhenSessionEnds(request);
+    pool.acquire(factory).quit();
+
+    request.getExecutionListener().projectSucceeded(event);
+    assertEquals(1, pool.idleCount());
+    request.getExecutionListener().sessionEnded(event);
+
+    verify(listener).projectSucceeded(event);
+    verify(listener).sessionEnded(event);
+    verify(driver).quit();
+    assertEquals(0, pool.idleCount());
+  }
+
+  @Test
+  public void quitsIdleDriversOnShutdown() throws Exception {
+    pool.acquire(factory).quit();
+
+    pool.shutdown();
+
+    verify(driver).quit();
+    assertEquals(0, pool.idleCount());
+  }
+}
@@ -0,0 +1,82 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.coffee.CoffeeScript;
+import com.github.searls.jasmine.config.JasmineConfiguration;
+import com.github.searls.jasmine.mojo.Context;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.util.Arrays;
+
+import static com.github.searls.jasmine.coffee.MapsCompiledCoffee.UNMAPPED;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AppliesSourceMapsTest {
+
+  private static final String COFFEE = "describe 'a', ->\n  it 'b', ->\n    expect(1).toBe 2";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Mock
+  private JasmineConfiguration configuration;
+  @Mock
+  private CoffeeScript coffeeScript;
+
+  private AppliesSourceMaps subject;
+
+  @Before
+  public void before() throws Exception {
+    File specs = folder.newFolder("specs");
+    FileUtils.writeStringToFile(new File(specs, "aSpec.coffee"), COFFEE, "UTF-8");
+    when(configuration.getContexts()).thenReturn(Arrays.asList(new Context("spec", specs)));
+    when(configuration.getBasedir()).thenReturn(folder.getRoot());
+    when(coffeeScript.lineMap(COFFEE)).thenReturn(new int[]{UNMAPPED, UNMAPPED, 0, 1, 2, UNMAPPED});
+    subject = new AppliesSourceMaps(configuration, coffeeScript);
+  }
+
+  @Test
+  public void mapsLinesOfStackFrames() {
+    assertThat(subject.apply("at http://localhost:1234/spec/aSpec.coffee:5:12"),
+      is("at http://localhost:1234/spec/aSpec.coffee:5:12 (CoffeeScript line ~3)"));
+  }
+
+  @Test
+  public void mapsLinesOfThrownErrors() {
+    assertThat(subject.apply("* TypeError: oops in http://localhost:1234/spec/aSpec.coffee (line 4)"),
+      is("* TypeError: oops in http://localhost:1234/spec/aSpec.coffee (line 4) (CoffeeScript line ~2)"));
+  }
+
+  @Test
+  public void mapsLinesOfScriptErrors() {
+    assertThat(subject.apply("TypeError: oops (http://localhost:1234/spec/aSpec.coffee#5)"),
+      is("TypeError: oops (http://localhost:1234/spec/aSpec.coffee#5 (CoffeeScript line ~3))"));
+  }
+
+  @Test
+  public void leavesUnmappedLinesAlone() {
+    assertThat(subject.apply("at http://localhost:1234/spec/aSpec.coffee:1:1"),
+      is("at http://localhost:1234/spec/aSpec.coffee:1:1"));
+  }
+
+  @Test
+  public void leavesUnknownFilesAlone() {
+    assertThat(subject.apply("at http://localhost:1234/spec/missing.coffee:5"),
+      is("at http://localhost:1234/spec/missing.coffee:5"));
+  }
+
+  @Test
+  public void leavesJavaScriptAlone() {
+    assertThat(subject.apply("at http://localhost:1234/spec/aSpec.js:5"), is("at http://localhost:1234/spec/aSpec.js:5"));
+  }
+}
@@ -0,0 +1,50 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.model.SpecResult;
+import com.github.searls.jasmine.model.SpecResults;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BuildsReportTest {
+
+  private BuildsReport subject = new BuildsReport();
+
+  @Test
+  public void buildsDocumentationFormat() {
+    SpecResults results = new SpecResults();
+    results.add(spec("passes", "passed", "Outer"));
+    results.add(new SpecResult("fails", Arrays.asList("Outer", "Inner"), SpecResult.FAILED,
+      Collections.singletonList(new SpecResult.Failure("Expected 1 to be 2.", null, "toBe"))));
+    results.add(spec("waits", "pending", "Other"));
+
+    assertThat(subject.build(results, "documentation"), is(
+      "\nOuter\n  passes\n  Inner\n    fails <<< FAILURE!\n      * Expected 1 to be 2.\n\nOther\n  waits <<< PENDING" +
+        "\n\nResults: 3 specs, 1 failures, 1 pending\n"));
+  }
+
+  @Test
+  public void buildsProgressFormat() {
+    SpecResults results = new SpecResults();
+    for (int spec = 0; spec < 81; spec++) {
+      results.add(spec("spec", spec == 80 ? "failed" : "passed", "Suite"));
+    }
+
+    assertThat(subject.build(results, FormatsSpecResults.PROGRESS_FORMAT), is(
+      "\n" + StringUtils.repeat('.', 80) + "\nF\n\nResults: 81 specs, 1 failures, 0 pending\n"));
+  }
+
+  @Test
+  public void buildsEmptyReport() {
+    assertThat(subject.build(new SpecResults(), "documentation"), is("\n\nResults: 0 specs, 0 failures, 0 pending\n"));
+  }
+
+  private static SpecResult spec(String description, String status, String... suites) {
+    return new SpecResult(description, Arrays.asList(suites), status, Collections.<SpecResult.Failure>emptyList());
+  }
+}
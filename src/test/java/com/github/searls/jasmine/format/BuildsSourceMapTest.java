@@ -0,0 +1,44 @@
+package com.github.searls.jasmine.format;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class BuildsSourceMapTest {
+
+  private BuildsSourceMap subject = new BuildsSourceMap();
+
+  @Test
+  public void encodesBase64Vlq() {
+    assertThat(BuildsSourceMap.encode(0), is("A"));
+    assertThat(BuildsSourceMap.encode(1), is("C"));
+    assertThat(BuildsSourceMap.encode(-1), is("D"));
+    assertThat(BuildsSourceMap.encode(15), is("e"));
+    assertThat(BuildsSourceMap.encode(16), is("gB"));
+    assertThat(BuildsSourceMap.encode(-17), is("jB"));
+  }
+
+  @Test
+  public void mapsLinesRelativeToPreviousMapping() {
+    int a = subject.addSource("/src/a.js");
+    int b = subject.addSource("/spec/b\"js");
+    subject.addLine(a, 0);
+    subject.addLine(a, 1);
+    subject.skipLine();
+    subject.addLine(b, 0);
+
+    assertThat(subject.build("bundle.js"), is("{\"version\":3,\"file\":\"bundle.js\",\"sources\":[\"\\/src\\/a.js\",\"\\/spec\\/b\\\"js\"],"
+      + "\"names\":[],\"mappings\":\"AAAA;AACA;;ACDA\"}"));
+  }
+
+  @Test
+  public void embedsSourcesContent() {
+    int source = subject.addSource("a.coffee", "square = (x) -> x * x\n");
+    subject.addSource("b.js");
+    subject.addLine(source, 0);
+
+    assertThat(subject.build("a.coffee"), is("{\"version\":3,\"file\":\"a.coffee\",\"sources\":[\"a.coffee\",\"b.js\"],"
+      + "\"sourcesContent\":[\"square = (x) -> x * x\\n\",null],\"names\":[],\"mappings\":\"AAAA\"}"));
+  }
+}
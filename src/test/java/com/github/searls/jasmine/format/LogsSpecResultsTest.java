@@ -0,0 +1,99 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.model.SpecResult;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LogsSpecResultsTest {
+
+  @Mock
+  private Log log;
+  @Mock
+  private AppliesSourceMaps appliesSourceMaps;
+
+  @Test
+  public void logsSuitesOnlyWhenTheyChange() {
+    LogsSpecResults subject = new LogsSpecResults(log, "documentation", null);
+
+    subject.receive(Arrays.asList(spec("a", "passed", "Outer", "Inner"), spec("b", "pending", "Outer", "Inner")));
+    subject.receive(Collections.singletonList(spec("c", "passed", "Other")));
+
+    verify(log).info("Outer\n  Inner\n    a\n    b <<< PENDING");
+    verify(log).info("\nOther\n  c");
+  }
+
+  @Test
+  public void logsFailuresWithTheirMappedLocation() {
+    when(appliesSourceMaps.apply(anyString())).thenAnswer(returnsFirstArg());
+    LogsSpecResults subject = new LogsSpecResults(log, "documentation", appliesSourceMaps);
+
+    subject.receive(Collections.singletonList(failed()));
+
+    verify(log).info("Suite\n  fails <<< FAILURE!\n    * Expected 1 to be 2.\n      at http://localhost:1234/spec/a.js:3:7");
+  }
+
+  @Test
+  public void logsFailuresWithoutLocationWithoutSourceMaps() {
+    LogsSpecResults subject = new LogsSpecResults(log, "documentation", null);
+
+    subject.receive(Collections.singletonList(failed()));
+
+    verify(log).info("Suite\n  fails <<< FAILURE!\n    * Expected 1 to be 2.");
+  }
+
+  @Test
+  public void logsProgressInRows() {
+    LogsSpecResults subject = new LogsSpecResults(log, FormatsSpecResults.PROGRESS_FORMAT, null);
+
+    subject.receive(specs(79, "passed"));
+    subject.receive(Arrays.asList(spec("x", "failed"), spec("y", "pending"), spec("z", "passed")));
+    subject.finish();
+
+    verify(log).info(StringUtils.repeat('.', 79) + "F");
+    verify(log).info(".");
+    verifyNoMoreInteractions(log);
+  }
+
+  @Test
+  public void summarizesCounts() {
+    LogsSpecResults subject = new LogsSpecResults(log, "documentation", null);
+
+    subject.receive(Arrays.asList(spec("a", "passed"), spec("b", "failed"), spec("c", "pending")));
+
+    assertThat(subject.getSummary(), is("\n\nResults: 3 specs, 1 failures, 1 pending\n"));
+  }
+
+  private static SpecResult failed() {
+    return new SpecResult("fails", Collections.singletonList("Suite"), SpecResult.FAILED,
+      Collections.singletonList(new SpecResult.Failure("Expected 1 to be 2.",
+        "Error: Expected 1 to be 2.\n    at http://localhost:1234/webjars/jasmine.js:10:5\n    at http://localhost:1234/spec/a.js:3:7",
+        "toBe")));
+  }
+
+  private static List<SpecResult> specs(int count, String status) {
+    SpecResult[] specs = new SpecResult[count];
+    Arrays.fill(specs, spec("spec", status));
+    return Arrays.asList(specs);
+  }
+
+  private static SpecResult spec(String description, String status, String... suites) {
+    return new SpecResult(description, Arrays.asList(suites), status, Collections.<SpecResult.Failure>emptyList());
+  }
+}
@@ -0,0 +1,60 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.io.CreatesTempDirectories;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertThat;
+
+public class MergesJunitXmlReportsTest {
+
+  private File directory;
+
+  private MergesJunitXmlReports subject = new MergesJunitXmlReports();
+
+  @Before
+  public void before() {
+    directory = new CreatesTempDirectories().create("junit-reports");
+  }
+
+  @After
+  public void after() {
+    FileUtils.deleteQuietly(directory);
+  }
+
+  @Test
+  public void mergesTestCasesAndSumsCounts() throws IOException {
+    File first = report("first.xml", "<testsuite name=\"jasmine\" tests=\"2\" failures=\"1\" errors=\"0\" skipped=\"0\">" +
+      "<testcase name=\"a\"/><testcase name=\"b\"><failure/></testcase></testsuite>");
+    File second = report("second.xml", "<testsuite name=\"jasmine\" tests=\"1\" failures=\"0\" errors=\"0\" skipped=\"1\">" +
+      "<testcase name=\"c\"><skipped/></testcase></testsuite>");
+    File destination = new File(directory, "merged.xml");
+
+    subject.merge(Arrays.asList(first, second), destination);
+
+    String merged = FileUtils.readFileToString(destination, "UTF-8");
+    assertThat(merged, containsString("tests=\"3\""));
+    assertThat(merged, containsString("failures=\"1\""));
+    assertThat(merged, containsString("skipped=\"1\""));
+    assertThat(merged, containsString("<testcase name=\"a\"/>"));
+    assertThat(merged, containsString("<testcase name=\"c\">"));
+  }
+
+  @Test(expected = IOException.class)
+  public void failsOnMalformedReport() throws IOException {
+    subject.merge(Arrays.asList(report("broken.xml", "<testsuite>")), new File(directory, "merged.xml"));
+  }
+
+  private File report(String name, String xml) throws IOException {
+    File report = new File(directory, name);
+    FileUtils.writeStringToFile(report, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + xml, "UTF-8");
+    return report;
+  }
+}
@@ -0,0 +1,73 @@
+package com.github.searls.jasmine.format;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class ReporterScriptsIntegrationTest {
+
+  private static final int SPECS = 200;
+  private static final String COUNT_LOOKUPS = "var specs = jsApiReporter.specs;\n" +
+    "window.specLookups = 0;\n" +
+    "jsApiReporter.specs = function() { window.specLookups++; return specs.apply(this, arguments); };";
+
+  @ClassRule
+  public static TemporaryFolder folder = new TemporaryFolder();
+
+  private static HtmlUnitDriver driver;
+
+  @BeforeClass
+  public static void runSpecs() throws Exception {
+    driver = new RunsGeneratedSpecs().run(folder.getRoot(), SPECS);
+    driver.executeScript(COUNT_LOOKUPS);
+  }
+
+  @AfterClass
+  public static void quit() {
+    driver.quit();
+  }
+
+  @Test
+  public void buildsDocumentationReportWithOneLookup() throws Exception {
+    String report = this.report("/lib/buildReport.js", "jasmineMavenPlugin.printReport(window.jsApiReporter,{format:'documentation'})");
+
+    assertThat(report, containsString("Suite 0\n    checks 0\n"));
+    assertThat(report, containsString("checks 9 <<< FAILURE!"));
+    assertThat(report, containsString("Results: 200 specs, 16 failures, 8 pending"));
+    assertThat(this.lookups(), is(1L));
+  }
+
+  @Test
+  public void buildsProgressReportWithOneLookup() throws Exception {
+    String report = this.report("/lib/buildReport.js", "jasmineMavenPlugin.printReport(window.jsApiReporter,{format:'progress'})");
+
+    assertThat(report, containsString("Results: 200 specs, 16 failures, 8 pending"));
+    assertThat(this.lookups(), is(1L));
+  }
+
+  @Test
+  public void buildsJunitXmlReportWithOneLookup() throws Exception {
+    String report = this.report("/lib/createJunitXml.js", "fileSystemReporter.report(window.jsApiReporter,false)");
+
+    assertThat(report, containsString("tests=\"200\" failures=\"16\" skipped=\"8\""));
+    assertThat(report, containsString("name=\"Group 0 Suite 0 checks 9\" time=\"0.0\" failure=\"true\""));
+    assertThat(this.lookups(), is(1L));
+  }
+
+  private String report(String script, String command) throws Exception {
+    driver.executeScript("window.specLookups = 0;");
+    return (String) driver.executeScript(IOUtils.toString(this.getClass().getResourceAsStream(script), "UTF-8") + "return " + command + ";");
+  }
+
+  private Long lookups() {
+    return (Long) driver.executeScript("return window.specLookups;");
+  }
+}
@@ -0,0 +1,67 @@
+package com.github.searls.jasmine.format;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Runs a generated suite of passing, failing and pending specs with jasmine in HtmlUnit, to exercise the reporter
+ * scripts against real spec results. Every twenty-fifth spec is pending and every other tenth spec fails.
+ */
+class RunsGeneratedSpecs {
+
+  private static final String JASMINE = "/META-INF/resources/webjars/jasmine/2.4.1/lib/jasmine-core/jasmine.js";
+  private static final String BOOT = "window.jasmine = jasmineRequire.core(jasmineRequire);\n" +
+    "var env = jasmine.getEnv();\n" +
+    "var jasmineInterface = jasmineRequire.interface(jasmine, env);\n" +
+    "for (var property in jasmineInterface) { window[property] = jasmineInterface[property]; }\n" +
+    "window.jsApiReporter = jasmineInterface.jsApiReporter;\n" +
+    "env.addReporter(jsApiReporter);\n" +
+    "window.onload = function() { env.execute(); };";
+  private static final int SPECS_PER_SUITE = 10;
+  private static final long TIMEOUT = 300000;
+
+  HtmlUnitDriver run(File directory, int specs) throws IOException, InterruptedException {
+    FileUtils.writeStringToFile(new File(directory, "jasmine.js"), IOUtils.toString(RunsGeneratedSpecs.class.getResourceAsStream(JASMINE), "UTF-8"), "UTF-8");
+    FileUtils.writeStringToFile(new File(directory, "boot.js"), BOOT, "UTF-8");
+    FileUtils.writeStringToFile(new File(directory, "specs.js"), generateSpecs(specs), "UTF-8");
+    FileUtils.writeStringToFile(new File(directory, "index.html"), "<html><head>" +
+      "<script src=\"jasmine.js\"></script><script src=\"boot.js\"></script><script src=\"specs.js\"></script>" +
+      "</head><body></body></html>", "UTF-8");
+
+    HtmlUnitDriver driver = new HtmlUnitDriver(true);
+    driver.get(new File(directory, "index.html").toURI().toString());
+    long deadline = System.currentTimeMillis() + TIMEOUT;
+    while (!Boolean.TRUE.equals(driver.executeScript("return window.jsApiReporter.finished;"))) {
+      if (System.currentTimeMillis() > deadline) {
+        driver.quit();
+        throw new IllegalStateException("The generated specs did not finish in time");
+      }
+      Thread.sleep(50);
+    }
+    return driver;
+  }
+
+  private static String generateSpecs(int specs) {
+    StringBuilder script = new StringBuilder();
+    for (int spec = 0; spec < specs; spec++) {
+      if (spec % SPECS_PER_SUITE == 0) {
+        script.append("describe('Group ").append(spec / (SPECS_PER_SUITE * 10)).append("', function() {\n")
+          .append("  describe('Suite ").append(spec / SPECS_PER_SUITE).append("', function() {\n");
+      }
+      if (spec % 25 == 24) {
+        script.append("    xit('is pending ").append(spec).append("', function() {});\n");
+      } else {
+        script.append("    it('checks ").append(spec).append("', function() { expect(").append(spec)
+          .append(").toBe(").append(spec % 10 == 9 ? -1 : spec).append("); });\n");
+      }
+      if (spec % SPECS_PER_SUITE == SPECS_PER_SUITE - 1 || spec == specs - 1) {
+        script.append("  });\n});\n");
+      }
+    }
+    return script.toString();
+  }
+}
@@ -0,0 +1,68 @@
+package com.github.searls.jasmine.format;
+
+import com.github.searls.jasmine.io.CreatesTempDirectories;
+import com.github.searls.jasmine.model.SpecResult;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+public class WritesJunitXmlReportTest {
+
+  private File directory;
+
+  @Before
+  public void before() {
+    directory = new CreatesTempDirectories().create("junit-report");
+  }
+
+  @After
+  public void after() {
+    FileUtils.deleteQuietly(directory);
+  }
+
+  @Test
+  public void writesTestCasesAndCounts() throws IOException {
+    File file = new File(directory, "reports/TEST-jasmine.xml");
+    WritesJunitXmlReport subject = new WritesJunitXmlReport(file);
+
+    subject.receive(Arrays.asList(
+      spec("passes", "passed"),
+      new SpecResult("fails", Collections.singletonList("Suite"), SpecResult.FAILED,
+        Collections.singletonList(new SpecResult.Failure("Expected \"a\" to be <b>.", null, "toBe")))));
+    subject.receive(Collections.singletonList(spec("is pending", "pending")));
+    subject.finish();
+
+    String report = FileUtils.readFileToString(file, "UTF-8");
+    assertThat(report, startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\" ?><testsuite errors=\"0\" name=\"jasmine.specs\" tests=\"3\" failures=\"1\" skipped=\"1\""));
+    assertThat(report, containsString("<testcase classname=\"jasmine\" name=\"Suite passes\" time=\"0.0\" failure=\"false\"/>"));
+    assertThat(report, containsString("<testcase classname=\"jasmine\" name=\"Suite fails\" time=\"0.0\" failure=\"true\">"
+      + "<error type=\"expect.toBe\" message=\"Expected &quot;a&quot; to be &lt;b&gt;.\">Expected &quot;a&quot; to be &lt;b&gt;.</error></testcase>"));
+    assertThat(report, containsString("<testcase classname=\"jasmine\" name=\"Suite is pending\" time=\"0.0\"><skipped/></testcase></testsuite>"));
+    assertThat(new File(file.getPath() + ".part").exists(), is(false));
+  }
+
+  @Test
+  public void writesEmptySuiteWithoutResults() throws IOException {
+    File file = new File(directory, "TEST-jasmine.xml");
+    WritesJunitXmlReport subject = new WritesJunitXmlReport(file);
+
+    subject.finish();
+
+    assertThat(FileUtils.readFileToString(file, "UTF-8"), containsString("tests=\"0\" failures=\"0\" skipped=\"0\""));
+  }
+
+  private static SpecResult spec(String description, String status) {
+    return new SpecResult(description, Collections.singletonList("Suite"), status, Collections.<SpecResult.Failure>emptyList());
+  }
+}
@@ -0,0 +1,109 @@
+package com.github.searls.jasmine.io;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class DirectoryIndexIntegrationTest {
+
+  private static final List<String> NO_EXCLUDES = Collections.emptyList();
+  private static final long EVENT_TIMEOUT = 10000;
+
+  private File directory;
+  private DirectoryIndex subject;
+
+  @Before
+  public void before() throws IOException {
+    directory = new CreatesTempDirectories().create("index");
+    createFile("b.js", "a.js", "lib/c.js", "lib/d.coffee", "lib/skipped.js", "page.html", ".svn/entries.js");
+  }
+
+  @After
+  public void after() throws IOException {
+    if (subject != null) {
+      subject.close();
+    }
+    FileUtils.deleteQuietly(directory);
+  }
+
+  @Test
+  public void scansLikeScansDirectory() {
+    subject = new DirectoryIndex(directory);
+
+    for (List<String> includes : asList(ScansDirectory.DEFAULT_INCLUDES, asList("b.js", "**/*.js"), asList("lib/"), asList("**"))) {
+      List<String> excludes = asList("**/skipped.js");
+      assertThat(subject.scan(includes, excludes), is(new ScansDirectory().scan(directory, includes, excludes)));
+    }
+  }
+
+  @Test
+  public void picksUpAddedFiles() throws Exception {
+    subject = new DirectoryIndex(directory);
+    long version = subject.getVersion();
+
+    createFile("lib/nested/e.js");
+
+    assertEventually("lib" + File.separator + "nested" + File.separator + "e.js", true);
+    assertThat(subject.getVersion(), is(not(version)));
+  }
+
+  @Test
+  public void dropsDeletedFiles() throws Exception {
+    subject = new DirectoryIndex(directory);
+
+    FileUtils.deleteDirectory(new File(directory, "lib"));
+
+    assertEventually("lib" + File.separator + "c.js", false);
+  }
+
+  @Test
+  public void keepsVersionWhenOnlyContentsChange() throws Exception {
+    subject = new DirectoryIndex(directory);
+    long version = subject.getVersion();
+
+    FileUtils.writeStringToFile(new File(directory, "a.js"), "changed");
+    Thread.sleep(DirectoryIndex.RESCAN_INTERVAL + 100);
+
+    assertThat(subject.getVersion(), is(version));
+  }
+
+  @Test
+  public void rescansWithoutWatchService() throws Exception {
+    subject = new DirectoryIndex(directory, false);
+
+    createFile("z.js");
+    Thread.sleep(DirectoryIndex.RESCAN_INTERVAL + 100);
+
+    assertThat(subject.scan(ScansDirectory.DEFAULT_INCLUDES, NO_EXCLUDES), hasItem("z.js"));
+  }
+
+  private void assertEventually(String file, boolean present) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + EVENT_TIMEOUT;
+    while (subject.scan(ScansDirectory.DEFAULT_INCLUDES, NO_EXCLUDES).contains(file) != present && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    assertThat(subject.scan(ScansDirectory.DEFAULT_INCLUDES, NO_EXCLUDES).contains(file), is(present));
+  }
+
+  private void createFile(String... names) {
+    for (String name : names) {
+      try {
+        FileUtils.writeStringToFile(new File(directory, name), name);
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
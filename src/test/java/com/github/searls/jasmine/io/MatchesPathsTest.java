@@ -0,0 +1,55 @@
+package com.github.searls.jasmine.io;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class MatchesPathsTest {
+
+  private static final String SEPARATOR = File.separator;
+
+  private MatchesPaths subject = new MatchesPaths(asList("lib/**/*.js", "**/*.js"), asList("**/*-min.js"));
+
+  @Test
+  public void matchesTheFirstMatchingInclude() {
+    assertThat(subject.match("lib" + SEPARATOR + "a.js"), is(0));
+    assertThat(subject.match("app" + SEPARATOR + "a.js"), is(1));
+  }
+
+  @Test
+  public void doesNotMatchWithoutAMatchingInclude() {
+    assertThat(subject.match("a.coffee"), is(MatchesPaths.UNMATCHED));
+  }
+
+  @Test
+  public void doesNotMatchExcludedPaths() {
+    assertThat(subject.match("lib" + SEPARATOR + "a-min.js"), is(MatchesPaths.UNMATCHED));
+  }
+
+  @Test
+  public void doesNotMatchDefaultExcludes() {
+    assertThat(subject.match(".git" + SEPARATOR + "a.js"), is(MatchesPaths.UNMATCHED));
+  }
+
+  @Test
+  public void mayMatchBelowDirectoriesIncludesCouldReach() {
+    MatchesPaths libOnly = new MatchesPaths(asList("lib/**/*.js"), Collections.<String>emptyList());
+
+    assertThat(libOnly.mayMatchBelow("lib" + SEPARATOR + "nested"), is(true));
+    assertThat(libOnly.mayMatchBelow("app"), is(false));
+  }
+
+  @Test
+  public void mayNotMatchBelowExcludedDirectories() {
+    MatchesPaths withoutVendor = new MatchesPaths(asList("**/*.js"), asList("vendor/"));
+
+    assertThat(withoutVendor.mayMatchBelow("vendor"), is(false));
+    assertThat(withoutVendor.mayMatchBelow("app" + SEPARATOR + ".svn"), is(false));
+    assertThat(withoutVendor.mayMatchBelow("app"), is(true));
+  }
+}
@@ -166,6 +166,50 @@ public class ScansDirectoryIntegrationTest {
       "utils.js")));
   }
 
+  @Test
+  public void excludesWholeDirectories() {
+    createSubDir("vendor", "vendor/lib", "app");
+    createFile("vendor/a.js", "vendor/lib/b.js", "app/c.js");
+
+    List<String> result = subject.scan(directory, ScansDirectory.DEFAULT_INCLUDES, asList("vendor/"));
+
+    assertThat(result, is(slashify("app/c.js")));
+  }
+
+  @Test
+  public void listsAWideTreeInOrder() {
+    List<String> expected = new ArrayList<String>();
+    for (int i = 0; i < 20; i++) {
+      createSubDir("dir" + i, "dir" + i + "/nested");
+      createFile("dir" + i + "/a.js", "dir" + i + "/nested/b.coffee");
+      expected.add("dir" + i + "/a.js");
+      expected.add("dir" + i + "/nested/b.coffee");
+    }
+    Collections.sort(expected);
+
+    List<String> result = subject.scan(directory, asList("**/*.coffee", "**/*.js"), Collections.EMPTY_LIST);
+
+    List<String> coffeeFirst = new ArrayList<String>();
+    for (String path : expected) {
+      if (path.endsWith(".coffee")) {
+        coffeeFirst.add(path);
+      }
+    }
+    for (String path : expected) {
+      if (path.endsWith(".js")) {
+        coffeeFirst.add(path);
+      }
+    }
+    assertThat(result, is(slashify(coffeeFirst.toArray(new String[coffeeFirst.size()]))));
+  }
+
+  @Test
+  public void returnsNothingForAMissingDirectory() {
+    List<String> results = subject.scan(new File(directory, "missing"), DEFAULT_INCLUDES, DEFAULT_EXCLUDES);
+
+    assertThat(results, is(DEFAULT_EXCLUDES));
+  }
+
   private List<String> slashify(String... scripts) {
     List<String> slashed = new ArrayList<String>();
     for (String s : scripts) {
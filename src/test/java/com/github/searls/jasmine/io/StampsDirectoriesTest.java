@@ -0,0 +1,86 @@
+package com.github.searls.jasmine.io;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class StampsDirectoriesTest {
+
+  private File directory;
+  private File nested;
+
+  private StampsDirectories subject = new StampsDirectories();
+
+  @Before
+  public void before() throws IOException {
+    directory = new CreatesTempDirectories().create("stamps");
+    nested = new File(directory, "nested");
+    FileUtils.writeStringToFile(new File(nested, "a.js"), "a");
+  }
+
+  @After
+  public void after() {
+    FileUtils.deleteQuietly(directory);
+  }
+
+  @Test
+  public void stampIsStableWhenNothingChanges() {
+    assertThat(subject.stamp(directory), is(subject.stamp(directory)));
+  }
+
+  @Test
+  public void stampIsUnaffectedByFileContents() throws IOException {
+    long before = subject.stamp(directory);
+
+    FileUtils.writeStringToFile(new File(nested, "a.js"), "changed");
+
+    assertThat(subject.stamp(directory), is(before));
+  }
+
+  @Test
+  public void stampChangesWhenANestedFileIsAdded() throws IOException {
+    long before = subject.stamp(directory);
+
+    FileUtils.writeStringToFile(new File(nested, "b.js"), "b");
+
+    assertThat(subject.stamp(directory), is(not(before)));
+  }
+
+  @Test
+  public void stampChangesWhenAFileIsRenamed() {
+    long before = subject.stamp(directory);
+
+    new File(nested, "a.js").renameTo(new File(nested, "c.js"));
+
+    assertThat(subject.stamp(directory), is(not(before)));
+  }
+
+  @Test
+  public void stampChangesWhenADirectoryIsCreated() {
+    File missing = new File(directory, "missing");
+    long before = subject.stamp(missing);
+
+    missing.mkdir();
+
+    assertThat(subject.stamp(missing), is(not(before)));
+  }
+
+  @Test
+  public void forgetsDirectoriesThatWentAway() throws IOException {
+    subject.stamp(directory);
+    assertThat(subject.getListingCount(), is(2));
+
+    FileUtils.deleteDirectory(nested);
+    subject.stamp(directory);
+
+    assertThat(subject.getListingCount(), is(1));
+  }
+}
@@ -0,0 +1,78 @@
+package com.github.searls.jasmine.io.scripts;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertSame;
+
+public class ScriptManifestTest {
+
+  private ScriptManifest subject = new ScriptManifest(
+    asList("preload.js", "src/a.js"),
+    asList("src/a.js", "src/b.js", "src/c.js"),
+    asList("spec/aSpec.js", "src/c.js", "spec/bSpec.js"));
+
+  @Test
+  public void listsPreloadsInOrder() {
+    assertThat(subject.getPreloads(), contains("preload.js", "src/a.js"));
+  }
+
+  @Test
+  public void leavesPreloadsOutOfSources() {
+    assertThat(subject.getSources(), contains("src/b.js", "src/c.js"));
+  }
+
+  @Test
+  public void listsSpecsThatAreSourcesToo() {
+    assertThat(subject.getSpecs(), contains("spec/aSpec.js", "src/c.js", "spec/bSpec.js"));
+  }
+
+  @Test
+  public void listsAllScriptsOnceInLoadOrder() {
+    assertThat(subject.getAllScripts(), contains("preload.js", "src/a.js", "src/b.js", "src/c.js", "spec/aSpec.js", "spec/bSpec.js"));
+  }
+
+  @Test
+  public void listsDuplicatesOnce() {
+    ScriptManifest manifest = new ScriptManifest(Collections.<String>emptyList(), asList("a.js", "a.js"), Collections.<String>emptyList());
+
+    assertThat(manifest.getSources(), contains("a.js"));
+  }
+
+  @Test
+  public void answersContainsPerSet() {
+    assertThat(subject.getSources().contains("src/b.js"), is(true));
+    assertThat(subject.getSources().contains("src/a.js"), is(false));
+    assertThat(subject.getSpecs().contains("src/c.js"), is(true));
+    assertThat(subject.getSpecs().contains("unknown.js"), is(false));
+  }
+
+  @Test
+  public void sharesEqualScripts() {
+    assertSame(subject.getSources().toArray()[1], subject.getSpecs().toArray()[1]);
+  }
+
+  @Test
+  public void handsOutTheSameSets() {
+    assertSame(subject.getAllScripts(), subject.getAllScripts());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void cannotBeChanged() {
+    subject.getSources().clear();
+  }
+
+  @Test
+  public void canBeEmpty() {
+    Set<String> none = Collections.emptySet();
+
+    assertThat(new ScriptManifest(none, none, none).getAllScripts(), is(empty()));
+  }
+}
@@ -0,0 +1,81 @@
+package com.github.searls.jasmine.io.scripts;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SelectedSpecsScriptResolverTest {
+
+  @Mock
+  private ScriptResolver scriptResolver;
+
+  @Mock
+  private SelectsSpecs selectsSpecs;
+
+  private SelectedSpecsScriptResolver subject;
+
+  private Set<String> specs = setOf("specA", "specB");
+  private Set<String> selected = setOf("specB");
+
+  @Before
+  public void before() throws ScriptResolverException {
+    when(scriptResolver.getSpecs()).thenReturn(specs);
+    when(selectsSpecs.select(scriptResolver)).thenReturn(selected);
+    subject = new SelectedSpecsScriptResolver(scriptResolver, selectsSpecs);
+  }
+
+  @Test
+  public void returnsSelectedSpecs() throws ScriptResolverException {
+    assertEquals(selected, subject.getSpecs());
+    assertEquals(selected, subject.getSpecs());
+
+    verify(selectsSpecs, times(1)).select(scriptResolver);
+  }
+
+  @Test
+  public void delegatesSources() throws ScriptResolverException {
+    Set<String> sources = setOf("source");
+    when(scriptResolver.getSources()).thenReturn(sources);
+
+    assertEquals(sources, subject.getSources());
+  }
+
+  @Test
+  public void includesOnlySelectedSpecsInAllScripts() throws ScriptResolverException {
+    when(scriptResolver.getPreloads()).thenReturn(setOf("preload"));
+    when(scriptResolver.getSources()).thenReturn(setOf("source"));
+
+    assertThat(subject.getAllScripts(), contains("preload", "source", "specB"));
+  }
+
+  @Test
+  public void delegatesDirectories() throws ScriptResolverException {
+    when(scriptResolver.getBaseDirectory()).thenReturn("base");
+    when(scriptResolver.getSourceDirectory()).thenReturn("src");
+    when(scriptResolver.getSpecDirectory()).thenReturn("spec");
+
+    assertEquals("base", subject.getBaseDirectory());
+    assertEquals("src", subject.getSourceDirectory());
+    assertEquals("spec", subject.getSpecDirectory());
+    assertEquals(Collections.<String>emptySet(), subject.getPreloads());
+  }
+
+  private static Set<String> setOf(String... scripts) {
+    return new LinkedHashSet<String>(Arrays.asList(scripts));
+  }
+}
@@ -0,0 +1,144 @@
+package com.github.searls.jasmine.io.scripts;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SelectsAffectedSpecsTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Mock
+  private ScriptResolver scriptResolver;
+
+  private File indexFile;
+  private File source;
+  private File helper;
+  private File specA;
+  private File specB;
+
+  @Before
+  public void before() throws Exception {
+    indexFile = new File(folder.getRoot(), "target/incremental-index.properties");
+    source = write("source.js", "var source;");
+    helper = write("helper.js", "var helper;");
+    specA = write("specA.js", "describe('a');");
+    specB = write("specB.js", "describe('b');");
+
+    when(scriptResolver.getPreloads()).thenReturn(setOf("http://example.com/lib.js"));
+    when(scriptResolver.getSources()).thenReturn(setOf(uri(source)));
+    when(scriptResolver.getSpecs()).thenReturn(setOf(uri(specA), uri(specB)));
+  }
+
+  @Test
+  public void selectsAllSpecsWithoutIndex() throws Exception {
+    assertThat(new SelectsAffectedSpecs(indexFile, noHelpers()).select(scriptResolver), contains(uri(specA), uri(specB)));
+  }
+
+  @Test
+  public void selectsNoSpecsWhenNothingChanged() throws Exception {
+    recordRun(noHelpers());
+
+    assertThat(new SelectsAffectedSpecs(indexFile, noHelpers()).select(scriptResolver), empty());
+  }
+
+  @Test
+  public void selectsChangedSpec() throws Exception {
+    recordRun(noHelpers());
+    write("specB.js", "describe('b changed');");
+
+    assertThat(new SelectsAffectedSpecs(indexFile, noHelpers()).select(scriptResolver), contains(uri(specB)));
+  }
+
+  @Test
+  public void selectsNewSpec() throws Exception {
+    recordRun(noHelpers());
+    File specC = write("specC.js", "describe('c');");
+    when(scriptResolver.getSpecs()).thenReturn(setOf(uri(specA), uri(specB), uri(specC)));
+
+    assertThat(new SelectsAffectedSpecs(indexFile, noHelpers()).select(scriptResolver), contains(uri(specC)));
+  }
+
+  @Test
+  public void selectsAllSpecsWhenSourceChanged() throws Exception {
+    recordRun(noHelpers());
+    write("source.js", "var source = 'changed';");
+
+    assertThat(new SelectsAffectedSpecs(indexFile, noHelpers()).select(scriptResolver), contains(uri(specA), uri(specB)));
+  }
+
+  @Test
+  public void selectsAllSpecsWhenSourceAdded() throws Exception {
+    recordRun(noHelpers());
+    File other = write("other.js", "var other;");
+    when(scriptResolver.getSources()).thenReturn(setOf(uri(source), uri(other)));
+
+    assertThat(new SelectsAffectedSpecs(indexFile, noHelpers()).select(scriptResolver), contains(uri(specA), uri(specB)));
+  }
+
+  @Test
+  public void alwaysSelectsHelpersAndSpecsLoadedAfterChangedHelper() throws Exception {
+    Set<String> helpers = Collections.singleton(uri(helper));
+    when(scriptResolver.getSpecs()).thenReturn(setOf(uri(specA), uri(helper), uri(specB)));
+    recordRun(helpers);
+
+    assertThat(new SelectsAffectedSpecs(indexFile, helpers).select(scriptResolver), contains(uri(helper)));
+
+    write("helper.js", "var helper = 'changed';");
+
+    assertThat(new SelectsAffectedSpecs(indexFile, helpers).select(scriptResolver), contains(uri(helper), uri(specB)));
+  }
+
+  @Test
+  public void keepsSelectingSpecsUntilRecorded() throws Exception {
+    recordRun(noHelpers());
+    write("specA.js", "describe('a changed');");
+
+    new SelectsAffectedSpecs(indexFile, noHelpers()).select(scriptResolver);
+
+    assertThat(new SelectsAffectedSpecs(indexFile, noHelpers()).select(scriptResolver), contains(uri(specA)));
+  }
+
+  private void recordRun(Set<String> helpers) throws Exception {
+    SelectsAffectedSpecs subject = new SelectsAffectedSpecs(indexFile, helpers);
+    subject.select(scriptResolver);
+    subject.record();
+  }
+
+  private File write(String name, String contents) throws IOException {
+    File file = new File(folder.getRoot(), name);
+    FileUtils.writeStringToFile(file, contents, "UTF-8");
+    return file;
+  }
+
+  private static String uri(File file) {
+    return new ConvertsFileToUriString().convert(file);
+  }
+
+  private static Set<String> noHelpers() {
+    return Collections.emptySet();
+  }
+
+  private static Set<String> setOf(String... scripts) {
+    return new LinkedHashSet<String>(Arrays.asList(scripts));
+  }
+}
@@ -0,0 +1,40 @@
+package com.github.searls.jasmine.io.scripts;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+public class ShardsSpecsTest {
+
+  private static final Set<String> SPECS = new LinkedHashSet<String>(Arrays.asList("a", "helper", "b", "c", "d", "e"));
+
+  @Test
+  public void dealsSpecsToShardsInTurn() {
+    assertThat(new ShardsSpecs(0, 2, Collections.<String>emptySet()).select(SPECS), contains("a", "b", "d"));
+    assertThat(new ShardsSpecs(1, 2, Collections.<String>emptySet()).select(SPECS), contains("helper", "c", "e"));
+  }
+
+  @Test
+  public void keepsHelpersInEveryShard() {
+    Set<String> helpers = Collections.singleton("helper");
+
+    assertThat(new ShardsSpecs(0, 2, helpers).select(SPECS), contains("a", "helper", "c", "e"));
+    assertThat(new ShardsSpecs(1, 2, helpers).select(SPECS), contains("helper", "b", "d"));
+  }
+
+  @Test
+  public void selectsEverySpecWithASingleShard() {
+    assertThat(new ShardsSpecs(0, 1, Collections.<String>emptySet()).select(SPECS), contains("a", "helper", "b", "c", "d", "e"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsShardIndexOutOfRange() {
+    new ShardsSpecs(2, 2, Collections.<String>emptySet());
+  }
+}
@@ -2,6 +2,8 @@ package com.github.searls.jasmine.model;
 
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 
@@ -44,4 +46,16 @@ public class JasmineResultTest {
     assertThat(success, is(false));
   }
 
+  @Test
+  public void shouldDecideBySpecResultsWhenPresent() {
+    SpecResults specResults = new SpecResults();
+    specResults.add(new SpecResult("fails", Collections.<String>emptyList(), SpecResult.FAILED, Collections.<SpecResult.Failure>emptyList()));
+    subject.setDetails("Results: 1 spec, 0 failures");
+    subject.setSpecResults(specResults);
+
+    boolean success = subject.didPass();
+
+    assertThat(success, is(false));
+  }
+
 }
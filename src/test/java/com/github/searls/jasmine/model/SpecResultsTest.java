@@ -0,0 +1,120 @@
+package com.github.searls.jasmine.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class SpecResultsTest {
+
+  private SpecResults subject = new SpecResults();
+
+  @Test
+  public void readsBackWhatWasAdded() {
+    subject.add(new SpecResult("fails", Arrays.asList("Outer", "Inner"), SpecResult.FAILED, Arrays.asList(
+      new SpecResult.Failure("first", "stack", "toBe"),
+      new SpecResult.Failure("second", null, null)), 12));
+
+    SpecResult result = subject.get(0);
+
+    assertThat(result.getDescription(), is("fails"));
+    assertThat(result.getSuites(), contains("Outer", "Inner"));
+    assertThat(result.isFailed(), is(true));
+    assertThat(result.getDuration(), is(12L));
+    assertThat(result.getFailures().size(), is(2));
+    assertThat(result.getFailures().get(0).getMatcherName(), is("toBe"));
+    assertThat(result.getFailures().get(1).getMessage(), is("second"));
+  }
+
+  @Test
+  public void keepsFailuresWithTheirSpecsAcrossGrowth() {
+    for (int spec = 0; spec < 100; spec++) {
+      List<SpecResult.Failure> failures = spec % 3 == 0
+        ? Collections.singletonList(new SpecResult.Failure("failure " + spec, null, "toBe"))
+        : Collections.<SpecResult.Failure>emptyList();
+      subject.add(new SpecResult("spec " + spec, Collections.singletonList("suite " + spec % 7), spec % 3 == 0 ? SpecResult.FAILED : "passed", failures));
+    }
+
+    assertThat(subject.size(), is(100));
+    assertThat(subject.getFailedCount(), is(34));
+    assertThat(subject.get(99).getFailures().get(0).getMessage(), is("failure 99"));
+    assertThat(subject.get(98).getFailures(), is(empty()));
+    assertThat(subject.get(50).getSuites(), contains("suite 1"));
+    assertThat(subject.get(90, 20).size(), is(10));
+  }
+
+  @Test
+  public void tellsNestedSuitesWithTheSameDescriptionApart() {
+    subject.add(spec("a", "A", "Shared"));
+    subject.add(spec("b", "B", "Shared"));
+    subject.add(spec("c"));
+
+    assertThat(subject.get(0).getSuites(), contains("A", "Shared"));
+    assertThat(subject.get(1).getSuites(), contains("B", "Shared"));
+    assertThat(subject.get(2).getSuites(), is(empty()));
+  }
+
+  @Test
+  public void countsPendingSpecs() {
+    subject.add(new SpecResult("later", Collections.<String>emptyList(), SpecResult.PENDING, Collections.<SpecResult.Failure>emptyList()));
+
+    assertThat(subject.getPendingCount(), is(1));
+    assertThat(subject.getFailedCount(), is(0));
+  }
+
+  @Test
+  public void addsAllResultsOfAnotherRun() {
+    SpecResults other = new SpecResults();
+    other.add(spec("b", "B"));
+    other.setDuration(30);
+    subject.add(spec("a", "A"));
+    subject.setDuration(20);
+
+    subject.addAll(other);
+
+    assertThat(subject.size(), is(2));
+    assertThat(subject.get(1).getFullName(), is("B b"));
+    assertThat(subject.getDuration(), is(30L));
+  }
+
+  @Test
+  public void countsAllSpecsButKeepsOnlyFailuresWhenAsked() {
+    subject = SpecResults.failuresOnly();
+    subject.add(spec("a", "A"));
+    subject.add(new SpecResult("b", Collections.singletonList("B"), SpecResult.FAILED, Collections.singletonList(new SpecResult.Failure("oops", null, "toBe"))));
+    subject.add(new SpecResult("c", Collections.<String>emptyList(), SpecResult.PENDING, Collections.<SpecResult.Failure>emptyList()));
+
+    assertThat(subject.getSpecCount(), is(3));
+    assertThat(subject.getFailedCount(), is(1));
+    assertThat(subject.getPendingCount(), is(1));
+    assertThat(subject.size(), is(1));
+    assertThat(subject.get(0).getFullName(), is("B b"));
+  }
+
+  @Test
+  public void addsTheCountsOfRunsKeepingOnlyFailures() {
+    SpecResults other = SpecResults.failuresOnly();
+    other.add(spec("b", "B"));
+    subject.add(spec("a", "A"));
+
+    subject.addAll(other);
+
+    assertThat(subject.getSpecCount(), is(2));
+    assertThat(subject.size(), is(1));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void rejectsMissingResults() {
+    subject.get(0);
+  }
+
+  private static SpecResult spec(String description, String... suites) {
+    return new SpecResult(description, Arrays.asList(suites), "passed", Collections.<SpecResult.Failure>emptyList());
+  }
+}
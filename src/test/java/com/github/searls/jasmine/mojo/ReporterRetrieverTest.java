@@ -17,6 +17,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -94,4 +95,18 @@ public class ReporterRetrieverTest {
     assertThat(reporters.get(0).reporterFile, is(junitXmlReporter));
     assertThat(reporters.get(0).file.getAbsolutePath(), new EndsWith("TEST-jasmine.xml"));
   }
+
+  @Test
+  public void itShouldLeaveTheConfiguredReportersAsTheyAre() throws Exception {
+    Reporter standard = new Reporter("STANDARD");
+    FileSystemReporter junitXml = new FileSystemReporter("TEST-file.xml", "JUNIT_XML");
+
+    subject.retrieveReporters(Arrays.asList(standard), mavenProject);
+    subject.retrieveFileSystemReporters(Arrays.asList(junitXml), targetDir, mavenProject);
+
+    assertThat(standard.reporterName, is("STANDARD"));
+    assertThat(standard.reporterFile, is(nullValue()));
+    assertThat(junitXml.reporterName, is("JUNIT_XML"));
+    assertThat(junitXml.file, is(nullValue()));
+  }
 }
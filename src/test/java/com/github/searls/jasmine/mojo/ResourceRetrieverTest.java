@@ -7,7 +7,9 @@ import org.codehaus.plexus.resource.ResourceManager;
 import org.codehaus.plexus.resource.loader.FileResourceCreationException;
 import org.codehaus.plexus.resource.loader.ResourceNotFoundException;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -16,7 +18,10 @@ import java.io.File;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -30,14 +35,24 @@ public class ResourceRetrieverTest {
 
   ResourceRetriever subject;
 
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
   @Before
   public void setUp() throws Exception {
     subject = new ResourceRetriever(locator);
-    File mavenFile = mock(File.class);
-    when(mavenProject.getFile()).thenReturn(mavenFile);
-    File mavenDir = mock(File.class);
-    when(mavenFile.getParentFile()).thenReturn(mavenDir);
-    when(mavenDir.getAbsolutePath()).thenReturn("/maven/dir");
+    when(mavenProject.getBasedir()).thenReturn(folder.getRoot());
+  }
+
+  @Test
+  public void testGetFileRelativeToTheProject() throws Exception {
+    File expectedFile = folder.newFile("template.html");
+
+    File actualFile = subject.getResourceAsFile("param", "template.html", mavenProject);
+
+    assertThat(actualFile, is(expectedFile));
+    verify(locator, never()).addSearchPath(anyString(), anyString());
+    verify(locator, never()).getResourceAsFile(anyString());
   }
 
   @Test
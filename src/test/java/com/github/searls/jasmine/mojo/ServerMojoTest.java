@@ -1,6 +1,7 @@
 package com.github.searls.jasmine.mojo;
 
 import com.github.searls.jasmine.io.RelativizesFilePaths;
+import com.github.searls.jasmine.io.WatchingScansDirectory;
 import com.github.searls.jasmine.model.ScriptSearch;
 import com.github.searls.jasmine.runner.CreatesRunner;
 import com.github.searls.jasmine.runner.ReporterType;
@@ -60,6 +61,8 @@ public class ServerMojoTest {
   @Mock
   private ScriptSearch specs;
   @Mock
+  private WatchingScansDirectory watchingScansDirectory;
+  @Mock
   private CreatesRunner createsRunner;
   @Mock
   private ResourceHandlerConfigurator configurator;
@@ -92,11 +95,15 @@ public class ServerMojoTest {
     when(this.relativizesFilePaths.relativize(this.baseDir, this.sources.getDirectory())).thenReturn(SOURCE_DIR);
     when(this.relativizesFilePaths.relativize(this.baseDir, this.specs.getDirectory())).thenReturn(SPECS_DIR);
 
+    whenNew(WatchingScansDirectory.class).withNoArguments().thenReturn(watchingScansDirectory);
+
     whenNew(CreatesRunner.class).withArguments(
       this.subject,
       this.log,
       MANUAL_SPEC_RUNNER_NAME,
-      ReporterType.HtmlReporter).thenReturn(createsRunner);
+      ReporterType.HtmlReporter,
+      null,
+      watchingScansDirectory).thenReturn(createsRunner);
 
     whenNew(ResourceHandlerConfigurator.class).withArguments(
       this.subject,
@@ -122,4 +129,9 @@ public class ServerMojoTest {
   public void joinsTheServer() throws Exception {
     verify(this.serverManager).join();
   }
+
+  @Test
+  public void closesTheDirectoryWatcherWhenTheServerStops() throws Exception {
+    verify(this.watchingScansDirectory).close();
+  }
 }
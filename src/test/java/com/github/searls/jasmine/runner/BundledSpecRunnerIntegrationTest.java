@@ -0,0 +1,53 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.io.CreatesTempDirectories;
+import com.github.searls.jasmine.model.FileSystemReporter;
+import com.github.searls.jasmine.model.JasmineResult;
+import com.github.searls.jasmine.model.Reporter;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URL;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class BundledSpecRunnerIntegrationTest {
+
+  private ServesGeneratedProject project;
+  private WebDriver driver;
+
+  @Before
+  public void before() throws Exception {
+    project = new ServesGeneratedProject(new CreatesTempDirectories().create("bundled-project"), true);
+    project.writeSource("calculator.js", "window.add = function(a, b) {\r\n  return a + b;\r\n};");
+    project.writeSpec("aSpec.js", "describe('a', function() { it('adds', function() { expect(add(1, 2)).toBe(3); }); });");
+    project.writeSpec("bSpec.js", "describe('b', function() { it('fails', function() { expect(add(2, 2)).toBe(5); }); });");
+  }
+
+  @After
+  public void after() throws Exception {
+    if (driver != null) {
+      driver.quit();
+    }
+    project.stop();
+  }
+
+  @Test
+  public void itRunsTheSpecsOfTheBundles() throws Exception {
+    URL serverUrl = project.start(project.createsRunner("SpecRunner.html"));
+    driver = project.webDriverFactory().createWebDriver();
+
+    JasmineResult result = new SpecRunnerExecutor().execute(serverUrl, driver, 60, false, new SystemStreamLog(),
+      "documentation", Collections.<Reporter>emptyList(), Collections.<FileSystemReporter>emptyList());
+
+    assertThat(result.getSpecResults().size(), is(2));
+    assertThat(result.getSpecResults().getFailedCount(), is(1));
+    assertFalse(result.didPass());
+  }
+}
@@ -0,0 +1,182 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.coffee.CoffeeScript;
+import com.github.searls.jasmine.coffee.MapsCompiledCoffee;
+import com.github.searls.jasmine.io.scripts.ConvertsFileToUriString;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BundlesScriptsTest {
+
+  private static final String REMOTE = "http://example.com/lib.js";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private File source;
+  private File spec;
+  private BundlesScripts subject;
+
+  @Before
+  public void before() throws IOException {
+    source = write("source.js", "var source = 1;\nvar other = 2;");
+    spec = write("spec.js", "describe('spec');\n");
+    subject = new BundlesScripts(folder.getRoot(), new File(folder.getRoot(), "target"), null, null);
+  }
+
+  @Test
+  public void concatenatesLocalScriptsInOrder() throws IOException {
+    List<String> bundled = new ArrayList<String>(subject.bundle(
+      Arrays.asList(uri(source), uri(spec)),
+      Arrays.asList("/src/source.js", "/spec/spec.js")));
+
+    assertThat(bundled, hasSize(1));
+    assertThat(bundled.get(0), startsWith("/target/bundles/bundle-"));
+    String bundle = read(bundled.get(0));
+    assertThat(bundle, startsWith("var source = 1;\nvar other = 2;\n;\ndescribe('spec');\n;\n//# sourceMappingURL="));
+  }
+
+  @Test
+  public void writesSourceMap() throws IOException {
+    Set<String> bundled = subject.bundle(
+      Arrays.asList(uri(source), uri(spec)),
+      Arrays.asList("/src/source.js", "/spec/spec.js"));
+
+    String sourceMap = read(bundled.iterator().next() + ".map");
+    assertThat(sourceMap, containsString("\"sources\":[\"\\/src\\/source.js\",\"\\/spec\\/spec.js\"]"));
+    assertThat(sourceMap, containsString("\"mappings\":\"AAAA;AACA;;ACDA;\""));
+  }
+
+  @Test
+  public void resolvesSourcesRelativeToTheSpecRunner() throws IOException {
+    Set<String> bundled = subject.bundle(
+      Arrays.asList(uri(source), uri(spec)),
+      Arrays.asList("src/source.js", "spec/spec.js"));
+
+    String sourceMap = read(bundled.iterator().next() + ".map");
+    assertThat(sourceMap, containsString("\"sources\":[\"\\/src\\/source.js\",\"\\/spec\\/spec.js\"]"));
+  }
+
+  @Test
+  public void mapsEveryKindOfLineTerminator() throws IOException {
+    write("source.js", "var a = 1;\r\nvar b = 2;\rvar c = 3;\u2028var d = 4;\u2029var e = 5;");
+
+    Set<String> bundled = subject.bundle(
+      Arrays.asList(uri(source), uri(spec)),
+      Arrays.asList("/src/source.js", "/spec/spec.js"));
+
+    String sourceMap = read(bundled.iterator().next() + ".map");
+    assertThat(sourceMap, containsString("\"mappings\":\"AAAA;AACA;AACA;AACA;AACA;;ACJA;\""));
+  }
+
+  @Test
+  public void countsLinesLikeJavaScript() {
+    assertThat(BundlesScripts.countLines("a\nb\r\nc\rd\u2028e\u2029"), is(5));
+    assertThat(BundlesScripts.countLines("a\r\n\r\n"), is(2));
+    assertThat(BundlesScripts.countLines("a"), is(0));
+  }
+
+  @Test
+  public void keepsRemoteScriptsInPlace() throws IOException {
+    List<String> bundled = new ArrayList<String>(subject.bundle(
+      Arrays.asList(uri(source), REMOTE, uri(spec)),
+      Arrays.asList("/src/source.js", REMOTE, "/spec/spec.js")));
+
+    assertThat(bundled, hasSize(3));
+    assertThat(bundled.get(1), is(REMOTE));
+    assertThat(read(bundled.get(0)), startsWith("var source"));
+    assertThat(read(bundled.get(2)), startsWith("describe"));
+  }
+
+  @Test
+  public void namesBundlesByContent() throws IOException {
+    List<String> scripts = Arrays.asList(uri(source));
+    List<String> locations = Arrays.asList("/src/source.js");
+    String before = subject.bundle(scripts, locations).iterator().next();
+    String stamp = subject.stamp();
+
+    assertThat(subject.bundle(scripts, locations).iterator().next(), is(before));
+
+    write("source.js", "var source = 'changed and longer';");
+
+    assertThat(subject.bundle(scripts, locations).iterator().next(), is(not(before)));
+    assertThat(subject.stamp(), is(not(stamp)));
+  }
+
+  @Test
+  public void deletesTheBundlesItReplaced() throws IOException {
+    List<String> scripts = Arrays.asList(uri(source));
+    List<String> locations = Arrays.asList("/src/source.js");
+    String before = subject.bundle(scripts, locations).iterator().next();
+
+    write("source.js", "var source = 'changed and longer';");
+    String after = subject.bundle(scripts, locations).iterator().next();
+
+    assertThat(new File(folder.getRoot(), before).exists(), is(false));
+    assertThat(new File(folder.getRoot(), before + ".map").exists(), is(false));
+    assertThat(new File(folder.getRoot(), after).exists(), is(true));
+  }
+
+  @Test
+  public void keepsReplacedBundlesThatAreStillInUse() throws IOException {
+    List<String> scripts = Arrays.asList(uri(source));
+    List<String> locations = Arrays.asList("/src/source.js");
+    BundlesScripts other = new BundlesScripts(folder.getRoot(), new File(folder.getRoot(), "target"), null, null);
+    String before = subject.bundle(scripts, locations).iterator().next();
+    other.bundle(scripts, locations);
+
+    write("source.js", "var source = 'changed and longer';");
+    subject.bundle(scripts, locations);
+
+    assertThat(new File(folder.getRoot(), before).exists(), is(true));
+  }
+
+  @Test
+  public void compilesCoffeeScriptAndMapsItToItsSource() throws IOException {
+    CoffeeScript coffeeScript = mock(CoffeeScript.class);
+    when(coffeeScript.compile("square = (x) -> x * x")).thenReturn("var square;\nsquare = function(x) { return x * x; };");
+    when(coffeeScript.lineMap("square = (x) -> x * x")).thenReturn(new int[]{MapsCompiledCoffee.UNMAPPED, 0});
+    File coffee = write("square.coffee", "square = (x) -> x * x");
+    subject = new BundlesScripts(folder.getRoot(), new File(folder.getRoot(), "target"), "UTF-8", coffeeScript);
+
+    String bundled = subject.bundle(Arrays.asList(uri(coffee)), Arrays.asList("/src/square.coffee")).iterator().next();
+
+    assertThat(read(bundled), startsWith("var square;\nsquare = function(x) { return x * x; };\n"));
+    String sourceMap = read(bundled + ".map");
+    assertThat(sourceMap, containsString("\"sourcesContent\":[\"square = (x) -> x * x\"]"));
+    assertThat(sourceMap, containsString("\"mappings\":\";AAAA;\""));
+  }
+
+  private File write(String name, String content) throws IOException {
+    File file = new File(folder.getRoot(), name);
+    FileUtils.writeStringToFile(file, content, "UTF-8");
+    return file;
+  }
+
+  private String read(String location) throws IOException {
+    return FileUtils.readFileToString(new File(folder.getRoot(), location), "UTF-8");
+  }
+
+  private static String uri(File file) {
+    return new ConvertsFileToUriString().convert(file);
+  }
+}
@@ -0,0 +1,94 @@
+package com.github.searls.jasmine.runner;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachesRunnerTemplatesTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static final List<String> ATTRIBUTES = Collections.singletonList("name");
+
+  private CachesRunnerTemplates subject = new CachesRunnerTemplates();
+
+  @Test
+  public void compilesACustomTemplateOnce() throws IOException {
+    File customTemplate = this.temporaryFolder.newFile("template.html");
+    HtmlGeneratorConfiguration configuration = this.configurationOf(customTemplate, "Hello $name$");
+
+    this.subject.getTemplate(configuration, ATTRIBUTES);
+    this.subject.getTemplate(configuration, ATTRIBUTES);
+
+    verify(configuration, times(1)).getRunnerTemplate();
+  }
+
+  @Test
+  public void handsOutSeparateInstances() throws IOException {
+    HtmlGeneratorConfiguration configuration = this.configurationOf(this.temporaryFolder.newFile("template.html"), "Hello $name$");
+
+    this.subject.getTemplate(configuration, ATTRIBUTES).add("name", "Jasmine");
+
+    assertThat(this.subject.getTemplate(configuration, ATTRIBUTES).add("name", "Maven").render(), is("Hello Maven"));
+  }
+
+  @Test
+  public void keepsAttributesOfInstancesApart() throws IOException {
+    HtmlGeneratorConfiguration configuration = this.configurationOf(this.temporaryFolder.newFile("template.html"), "$if(name)$Hello$endif$");
+
+    this.subject.getTemplate(configuration, ATTRIBUTES).add("name", true).render();
+
+    assertThat(this.subject.getTemplate(configuration, ATTRIBUTES).add("name", false).render(), is(""));
+  }
+
+  @Test
+  public void compilesACustomTemplateAgainOnceItChanged() throws IOException {
+    File customTemplate = this.temporaryFolder.newFile("template.html");
+    HtmlGeneratorConfiguration configuration = this.configurationOf(customTemplate, "Hello $name$");
+    this.subject.getTemplate(configuration, ATTRIBUTES);
+
+    when(configuration.getRunnerTemplate()).thenReturn("Goodbye $name$");
+    FileUtils.writeStringToFile(customTemplate, "Goodbye $name$");
+
+    assertThat(this.subject.getTemplate(configuration, ATTRIBUTES).add("name", "Jasmine").render(), is("Goodbye Jasmine"));
+  }
+
+  @Test
+  public void readsACustomRunnerConfigurationOnceUntilItChanged() throws IOException {
+    File customRunnerConfiguration = this.temporaryFolder.newFile("config.js");
+    FileUtils.writeStringToFile(customRunnerConfiguration, "var a;");
+
+    assertThat(this.subject.getCustomRunnerConfiguration(customRunnerConfiguration), is("var a;"));
+
+    FileUtils.writeStringToFile(customRunnerConfiguration, "var ab;");
+
+    assertThat(this.subject.getCustomRunnerConfiguration(customRunnerConfiguration), is("var ab;"));
+  }
+
+  @Test
+  public void hasNoCustomRunnerConfigurationWithoutAFile() throws IOException {
+    assertThat(this.subject.getCustomRunnerConfiguration(null), is(nullValue()));
+  }
+
+  private HtmlGeneratorConfiguration configurationOf(File customTemplate, String template) throws IOException {
+    HtmlGeneratorConfiguration configuration = mock(HtmlGeneratorConfiguration.class);
+    when(configuration.getCustomRunnerTemplate()).thenReturn(customTemplate);
+    when(configuration.getRunnerTemplate()).thenReturn(template);
+    return configuration;
+  }
+}
@@ -7,31 +7,37 @@ import com.github.searls.jasmine.mojo.AbstractJasmineMojo;
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.plugin.logging.Log;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
-import static org.mockito.Matchers.anyString;
-import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.powermock.api.mockito.PowerMockito.mockStatic;
-import static org.powermock.api.mockito.PowerMockito.verifyStatic;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({CreatesRunner.class, FileUtils.class})
+@PrepareForTest(CreatesRunner.class)
 public class CreatesRunnerTest {
 
   private static final String SOURCE_DIR = "sauces";
   private static final String SPEC_DIR = "specks";
-  private static final String SOURCE_ENCODING = "UTF-Pandaz";
+  private static final String SOURCE_ENCODING = "UTF-8";
   private static final String MANUAL_RUNNER_NAME = "Jerry. That's a nice name.";
   public static final String SPEC_RUNNER_GENERATOR = "DEFAULT";
 
@@ -50,10 +56,12 @@ public class CreatesRunnerTest {
   private File sourceDirectory;
   @Mock
   private File specDirectory;
-  @Mock
-  private File runnerDestination;
-  @Mock
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private File jasmineTargetDir;
+  private File runnerDestination;
 
   @Mock
   private SpecRunnerHtmlGeneratorFactory specRunnerHtmlGeneratorFactory;
@@ -64,8 +72,9 @@ public class CreatesRunnerTest {
   private CreatesRunner subject;
 
   @Before
-  public void before() {
-    mockStatic(FileUtils.class);
+  public void before() throws IOException {
+    this.jasmineTargetDir = this.temporaryFolder.newFolder("jasmine");
+    this.runnerDestination = new File(this.jasmineTargetDir, MANUAL_RUNNER_NAME);
 
     when(this.config.getSources()).thenReturn(this.sources);
     when(this.config.getSpecs()).thenReturn(this.specs);
@@ -86,11 +95,6 @@ public class CreatesRunnerTest {
     when(this.specDirectory.exists()).thenReturn(true);
   }
 
-  @Before
-  public void stubConstructionOfExistingRunnerFile() throws Exception {
-    whenNew(File.class).withParameterTypes(File.class, String.class).withArguments(this.jasmineTargetDir, MANUAL_RUNNER_NAME).thenReturn(this.runnerDestination);
-  }
-
   @Before
   public void stubConstructionOfHtmlGenerator() throws Exception {
     whenNew(SpecRunnerHtmlGeneratorFactory.class).withNoArguments().thenReturn(this.specRunnerHtmlGeneratorFactory);
@@ -100,57 +104,152 @@ public class CreatesRunnerTest {
   @Test
   public void whenRunnerDoesNotExistThenCreateNewRunner() throws Exception {
     String expected = "I'm a new spec runner yay!";
-    when(this.runnerDestination.exists()).thenReturn(false);
-    when(this.specRunnerHtmlGenerator.generate()).thenReturn(expected);
+    this.givenGeneratedRunner(expected);
 
     this.subject.create();
 
-    verifyStatic();
-    FileUtils.writeStringToFile(this.runnerDestination, expected, SOURCE_ENCODING);
+    assertThat(this.runner(), is(expected));
   }
 
   @Test
   public void whenRunnerExistsAndDiffersThenWriteNewOne() throws IOException {
     String expected = "HTRML!!!!111!111oneoneone";
-    when(this.runnerDestination.exists()).thenReturn(true);
-    when(FileUtils.readFileToString(this.runnerDestination)).thenReturn("old and crusty runner");
-    when(this.specRunnerHtmlGenerator.generate()).thenReturn(expected);
+    this.givenExistingRunner("old and crusty runner");
+    this.givenGeneratedRunner(expected);
 
     this.subject.create();
 
-    verifyStatic();
-    FileUtils.writeStringToFile(this.runnerDestination, expected, SOURCE_ENCODING);
+    assertThat(this.runner(), is(expected));
   }
 
   @Test
   public void whenRunnerExistsAndIsSameThenDoNothing() throws IOException {
     String existing = "HTRML!!!!111!111oneoneone";
-    when(this.runnerDestination.exists()).thenReturn(true);
-    when(FileUtils.readFileToString(this.runnerDestination)).thenReturn(existing);
-    when(this.specRunnerHtmlGenerator.generate()).thenReturn(existing);
+    this.givenExistingRunner(existing);
+    long lastModified = this.runnerDestination.lastModified() - 10000;
+    this.runnerDestination.setLastModified(lastModified);
+    this.givenGeneratedRunner(existing);
 
     this.subject.create();
 
-    this.neverWriteAFile();
+    assertThat(this.runnerDestination.lastModified(), is(lastModified));
     verify(this.log).info("Skipping spec runner generation, because an identical spec runner already exists.");
   }
 
   @Test
   public void whenExistingRunnerFailsToLoadThenWriteNewOne() throws IOException {
     String expected = "HTRML!!!!111!111oneoneone";
-    when(this.runnerDestination.exists()).thenReturn(true);
-    when(FileUtils.readFileToString(this.runnerDestination)).thenThrow(new IOException());
-    when(this.specRunnerHtmlGenerator.generate()).thenReturn(expected);
+    this.runnerDestination.mkdir();
+    this.givenGeneratedRunner(expected);
 
     this.subject.create();
 
-    verifyStatic();
-    FileUtils.writeStringToFile(this.runnerDestination, expected, SOURCE_ENCODING);
+    assertThat(this.runner(), is(expected));
     verify(this.log).warn("An error occurred while trying to open an existing manual spec runner. Continuing.");
   }
 
-  private void neverWriteAFile() throws IOException {
-    verifyStatic(never());
-    FileUtils.writeStringToFile(any(File.class), anyString(), anyString());
+  @Test
+  public void writesTheRunnerInTheSourceEncoding() throws IOException {
+    when(this.config.getSourceEncoding()).thenReturn("UTF-16");
+    this.givenGeneratedRunner("r\u00fcnner");
+
+    this.subject.create();
+
+    assertThat(FileUtils.readFileToString(this.runnerDestination, "UTF-16"), is("r\u00fcnner"));
+  }
+
+  @Test
+  public void leavesNoTemporaryFilesBehind() throws IOException {
+    this.givenExistingRunner("runner");
+    this.givenGeneratedRunner("runner");
+
+    this.subject.create();
+    this.runnerDestination.delete();
+    this.subject.create();
+
+    assertThat(this.jasmineTargetDir.list(), is(new String[]{MANUAL_RUNNER_NAME}));
+  }
+
+  @Test
+  public void trustsTheRunnerItWroteLast() throws IOException {
+    this.givenChangingCustomTemplate();
+    this.givenGeneratedRunner("runner");
+    this.subject.create();
+    long lastModified = this.runnerDestination.lastModified();
+    this.givenExistingRunner("RUNNER");
+    this.runnerDestination.setLastModified(lastModified);
+
+    this.subject.create();
+
+    assertThat(this.runner(), is("RUNNER"));
+    verify(this.log).info("Skipping spec runner generation, because an identical spec runner already exists.");
+  }
+
+  @Test
+  public void whenRunnerWasChangedSinceItWasWrittenThenWriteItAgain() throws IOException {
+    this.givenChangingCustomTemplate();
+    this.givenGeneratedRunner("runner");
+    this.subject.create();
+    this.givenExistingRunner("changed runner");
+
+    this.subject.create();
+
+    assertThat(this.runner(), is("runner"));
+  }
+
+  @Test
+  public void whenNothingChangedSinceLastCreationThenDoNotRegenerate() throws IOException {
+    this.givenGeneratedRunner("runner");
+
+    this.subject.create();
+    this.subject.create();
+
+    verify(this.specRunnerHtmlGenerator, times(1)).generate(any(Writer.class));
+  }
+
+  @Test
+  public void whenRunnerWasDeletedThenRegenerate() throws IOException {
+    this.givenGeneratedRunner("runner");
+
+    this.subject.create();
+    this.runnerDestination.delete();
+    this.subject.create();
+
+    verify(this.specRunnerHtmlGenerator, times(2)).generate(any(Writer.class));
+  }
+
+  @Test
+  public void whenCustomTemplateChangedThenRegenerate() throws IOException {
+    this.givenChangingCustomTemplate();
+    this.givenGeneratedRunner("runner");
+
+    this.subject.create();
+    this.subject.create();
+
+    verify(this.specRunnerHtmlGenerator, times(2)).generate(any(Writer.class));
+  }
+
+  private void givenChangingCustomTemplate() {
+    File template = mock(File.class);
+    when(this.config.getCustomRunnerTemplate()).thenReturn(template);
+    when(template.lastModified()).thenReturn(1000L, 2000L);
+  }
+
+  private void givenExistingRunner(String runner) throws IOException {
+    FileUtils.writeStringToFile(this.runnerDestination, runner, SOURCE_ENCODING);
+  }
+
+  private void givenGeneratedRunner(final String runner) throws IOException {
+    doAnswer(new Answer<Void>() {
+      @Override
+      public Void answer(InvocationOnMock invocation) throws Throwable {
+        ((Writer) invocation.getArguments()[0]).write(runner);
+        return null;
+      }
+    }).when(this.specRunnerHtmlGenerator).generate(any(Writer.class));
+  }
+
+  private String runner() throws IOException {
+    return FileUtils.readFileToString(this.runnerDestination, SOURCE_ENCODING);
   }
 }
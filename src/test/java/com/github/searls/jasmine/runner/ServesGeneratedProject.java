@@ -0,0 +1,106 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.config.JasmineConfiguration;
+import com.github.searls.jasmine.driver.WebDriverFactory;
+import com.github.searls.jasmine.io.RelativizesFilePaths;
+import com.github.searls.jasmine.model.FileSystemReporter;
+import com.github.searls.jasmine.model.Reporter;
+import com.github.searls.jasmine.model.ScriptSearch;
+import com.github.searls.jasmine.mojo.Context;
+import com.github.searls.jasmine.server.ResourceHandlerConfigurator;
+import com.github.searls.jasmine.server.ServerManager;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.nio.SelectChannelConnector;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Serves a generated project with sources in <code>src/main/javascript</code> and specs in
+ * <code>src/test/javascript</code> the way the test goal does, to run its spec runners in HtmlUnit.
+ */
+class ServesGeneratedProject {
+
+  private static final String SRC = "src";
+  private static final String SPEC = "spec";
+
+  private final File basedir;
+  private final File sourceDirectory;
+  private final File specDirectory;
+  private final JasmineConfiguration configuration = mock(JasmineConfiguration.class);
+  private final Log log = new SystemStreamLog();
+  private ServerManager serverManager;
+
+  ServesGeneratedProject(File basedir, boolean bundleScripts) {
+    this.basedir = basedir;
+    this.sourceDirectory = new File(basedir, "src/main/javascript");
+    this.specDirectory = new File(basedir, "src/test/javascript");
+
+    when(configuration.getBasedir()).thenReturn(basedir);
+    when(configuration.getJasmineTargetDir()).thenReturn(new File(basedir, "target/jasmine"));
+    when(configuration.getSrcDirectoryName()).thenReturn(SRC);
+    when(configuration.getSpecDirectoryName()).thenReturn(SPEC);
+    when(configuration.getSources()).thenReturn(new ScriptSearch(sourceDirectory, Arrays.asList("**/*.js"), Collections.<String>emptyList()));
+    when(configuration.getSpecs()).thenReturn(new ScriptSearch(specDirectory, Arrays.asList("**/*.js"), Collections.<String>emptyList()));
+    when(configuration.getContexts()).thenReturn(Arrays.asList(new Context(SRC, sourceDirectory), new Context(SPEC, specDirectory)));
+    when(configuration.getPreloadSources()).thenReturn(Collections.<String>emptyList());
+    when(configuration.getSourceEncoding()).thenReturn("UTF-8");
+    when(configuration.getLog()).thenReturn(log);
+    when(configuration.getSpecRunnerTemplate()).thenReturn(SpecRunnerTemplate.DEFAULT);
+    when(configuration.getReporters()).thenReturn(Collections.<Reporter>emptyList());
+    when(configuration.getFileSystemReporters()).thenReturn(Collections.<FileSystemReporter>emptyList());
+    when(configuration.isBundleScripts()).thenReturn(bundleScripts);
+    when(configuration.getProjectClassLoader()).thenReturn(ServesGeneratedProject.class.getClassLoader());
+  }
+
+  void writeSource(String name, String script) throws IOException {
+    FileUtils.writeStringToFile(new File(sourceDirectory, name), script, "UTF-8");
+  }
+
+  void writeSpec(String name, String script) throws IOException {
+    FileUtils.writeStringToFile(new File(specDirectory, name), script, "UTF-8");
+  }
+
+  JasmineConfiguration getConfiguration() {
+    return configuration;
+  }
+
+  CreatesRunner createsRunner(String runnerFileName) {
+    return new CreatesRunner(configuration, log, runnerFileName, ReporterType.JsApiReporter);
+  }
+
+  /**
+   * Starts serving the project with the given runner as welcome file, and the other named runners at the root.
+   *
+   * @return the URL of the server
+   */
+  URL start(CreatesRunner createsRunner, String... runnerFileNames) throws Exception {
+    ResourceHandlerConfigurator configurator = new ResourceHandlerConfigurator(configuration, new RelativizesFilePaths(), createsRunner);
+    configurator.setRunnerFileNames(Arrays.asList(runnerFileNames));
+    serverManager = new ServerManager(new Server(), new SelectChannelConnector(), configurator);
+    return new URL("http://localhost:" + serverManager.start());
+  }
+
+  WebDriverFactory webDriverFactory() {
+    WebDriverFactory webDriverFactory = new WebDriverFactory();
+    webDriverFactory.setWebDriverClassName(HtmlUnitDriver.class.getName());
+    return webDriverFactory;
+  }
+
+  void stop() throws Exception {
+    if (serverManager != null) {
+      serverManager.stop();
+    }
+    FileUtils.deleteQuietly(basedir);
+  }
+}
@@ -0,0 +1,60 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.io.CreatesTempDirectories;
+import com.github.searls.jasmine.io.scripts.ShardsSpecs;
+import com.github.searls.jasmine.model.FileSystemReporter;
+import com.github.searls.jasmine.model.JasmineResult;
+import com.github.searls.jasmine.model.Reporter;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class ShardedSpecRunnerExecutorIntegrationTest {
+
+  private static final int SHARDS = 2;
+
+  private ServesGeneratedProject project;
+
+  @Before
+  public void before() throws Exception {
+    project = new ServesGeneratedProject(new CreatesTempDirectories().create("sharded-project"), false);
+    project.writeSource("calculator.js", "window.add = function(a, b) { return a + b; };");
+    project.writeSpec("aSpec.js", "describe('a', function() { it('adds', function() { expect(add(1, 2)).toBe(3); }); });");
+    project.writeSpec("bSpec.js", "describe('b', function() { it('adds again', function() { expect(add(2, 2)).toBe(4); }); });");
+    project.writeSpec("cSpec.js", "describe('c', function() { it('fails', function() { expect(add(2, 2)).toBe(5); }); });");
+  }
+
+  @After
+  public void after() throws Exception {
+    project.stop();
+  }
+
+  @Test
+  public void itRunsTheSpecsOfEveryShard() throws Exception {
+    URL serverUrl = project.start(project.createsRunner("SpecRunner.html"), "SpecRunner-shard1.html", "SpecRunner-shard2.html");
+    List<URL> runnerUrls = new ArrayList<URL>();
+    for (int shard = 0; shard < SHARDS; shard++) {
+      String runnerFileName = "SpecRunner-shard" + (shard + 1) + ".html";
+      new CreatesRunner(project.getConfiguration(), new SystemStreamLog(), runnerFileName, ReporterType.JsApiReporter,
+        new ShardsSpecs(shard, SHARDS, project.getConfiguration().getSpecs())).create();
+      runnerUrls.add(new URL(serverUrl, "/" + runnerFileName));
+    }
+
+    JasmineResult result = new ShardedSpecRunnerExecutor().execute(runnerUrls, project.webDriverFactory(), 60, false,
+      new SystemStreamLog(), "documentation", Collections.<Reporter>emptyList(), Collections.<FileSystemReporter>emptyList());
+
+    assertThat(result.getSpecResults().size(), is(3));
+    assertThat(result.getSpecResults().getFailedCount(), is(1));
+    assertFalse(result.didPass());
+  }
+}
@@ -0,0 +1,145 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.driver.WebDriverFactory;
+import com.github.searls.jasmine.format.MergesJunitXmlReports;
+import com.github.searls.jasmine.model.FileSystemReporter;
+import com.github.searls.jasmine.model.JasmineResult;
+import com.github.searls.jasmine.model.Reporter;
+import com.github.searls.jasmine.model.SpecResult;
+import com.github.searls.jasmine.model.SpecResults;
+import com.github.searls.jasmine.mojo.ReporterRetriever;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ShardedSpecRunnerExecutorTest {
+
+  @Mock
+  private SpecRunnerExecutor specRunnerExecutor;
+  @Mock
+  private MergesJunitXmlReports mergesJunitXmlReports;
+  @Mock
+  private WebDriverFactory webDriverFactory;
+  @Mock
+  private WebDriver webDriver;
+  @Mock
+  private Log log;
+
+  private URL firstShard;
+  private URL secondShard;
+
+  private ShardedSpecRunnerExecutor subject;
+
+  @Before
+  public void before() throws Exception {
+    firstShard = new URL("http://localhost:1234/target/jasmine/SpecRunner-shard1.html");
+    secondShard = new URL("http://localhost:1234/target/jasmine/SpecRunner-shard2.html");
+    when(webDriverFactory.createWebDriver()).thenReturn(webDriver);
+    subject = new ShardedSpecRunnerExecutor(specRunnerExecutor, mergesJunitXmlReports);
+  }
+
+  @Test
+  public void sumsTheResultsOfAllShards() throws Exception {
+    givenResult(firstShard, "a passes\n\n3 specs, 0 failures, 1 pending", "passed", "passed", "pending");
+    givenResult(secondShard, "b fails\n\n2 specs, 1 failure, 0 pending", "passed", "failed");
+
+    JasmineResult result = execute(Collections.<FileSystemReporter>emptyList());
+
+    assertThat(result.getDetails(), containsString("a passes"));
+    assertThat(result.getDetails(), containsString("b fails"));
+    assertThat(result.getDescription(), containsString("5 specs, 1 failures, 1 pending"));
+    assertThat(result.getSpecResults().size(), is(5));
+    assertFalse(result.didPass());
+  }
+
+  @Test
+  public void passesWhenEveryShardPasses() throws Exception {
+    givenResult(firstShard, "1 spec, 0 failures, 0 pending", "passed");
+    givenResult(secondShard, "2 specs, 0 failures, 0 pending", "passed", "passed");
+
+    assertTrue(execute(Collections.<FileSystemReporter>emptyList()).didPass());
+  }
+
+  @Test
+  public void countsFailedShardsWithoutSpecResults() throws Exception {
+    givenResult(firstShard, "custom report\n1 spec, 0 failures");
+    givenResult(secondShard, "another custom report", "failed");
+
+    JasmineResult result = execute(Collections.<FileSystemReporter>emptyList());
+
+    assertThat(result.getDescription(), containsString("1 specs, 1 failures, 0 pending, 1 shards without spec results"));
+    assertThat(result.getSpecResults(), is(nullValue()));
+    assertFalse(result.didPass());
+  }
+
+  @Test
+  public void countsTheSpecsOfShardsWithSpecResultsWhenOthersHaveNone() throws Exception {
+    givenResult(firstShard, "custom report\n1 spec, 2 failures");
+    givenResult(secondShard, "another custom report", "passed", "passed");
+
+    JasmineResult result = execute(Collections.<FileSystemReporter>emptyList());
+
+    assertThat(result.getDescription(), containsString("2 specs, 1 failures, 0 pending, 1 shards without spec results"));
+    assertFalse(result.didPass());
+  }
+
+  @Test
+  public void mergesJunitXmlReportsOfAllShards() throws Exception {
+    givenResult(firstShard, "1 spec, 0 failures, 0 pending");
+    givenResult(secondShard, "1 spec, 0 failures, 0 pending");
+    File report = new File("target/jasmine/TEST-jasmine.xml");
+    FileSystemReporter junitXmlReporter = new FileSystemReporter(report, new File("createJunitXml.js"));
+    junitXmlReporter.reporterName = ReporterRetriever.JUNIT_XML_REPORTER;
+
+    execute(Arrays.asList(junitXmlReporter));
+
+    verify(mergesJunitXmlReports).merge(Arrays.asList(
+      new File(new File(report.getParentFile(), "shard-1"), report.getName()),
+      new File(new File(report.getParentFile(), "shard-2"), report.getName())), report);
+  }
+
+  private JasmineResult execute(List<FileSystemReporter> fileSystemReporters) throws Exception {
+    return subject.execute(Arrays.asList(firstShard, secondShard), webDriverFactory, 300, false, log, "documentation",
+      Collections.<Reporter>emptyList(), fileSystemReporters);
+  }
+
+  private void givenResult(URL shard, String details, String... statuses) throws Exception {
+    JasmineResult result = new JasmineResult();
+    result.setDetails(details);
+    if (statuses.length > 0) {
+      SpecResults specResults = new SpecResults();
+      for (String status : statuses) {
+        specResults.add(new SpecResult("spec", Collections.singletonList("suite"), status, Collections.<SpecResult.Failure>emptyList()));
+      }
+      result.setSpecResults(specResults);
+    }
+    when(specRunnerExecutor.execute(eq(shard), any(WebDriver.class), anyInt(), anyBoolean(), any(Log.class), anyString(),
+      anyListOf(Reporter.class), anyListOf(FileSystemReporter.class))).thenReturn(result);
+  }
+}
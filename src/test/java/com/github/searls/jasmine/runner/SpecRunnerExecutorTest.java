@@ -1,13 +1,22 @@
 package com.github.searls.jasmine.runner;
 
+import com.github.searls.jasmine.format.LogsSpecResults;
+import com.github.searls.jasmine.format.WritesJunitXmlReport;
 import com.github.searls.jasmine.io.FileUtilsWrapper;
 import com.github.searls.jasmine.model.FileSystemReporter;
 import com.github.searls.jasmine.model.JasmineResult;
 import com.github.searls.jasmine.model.Reporter;
+import com.github.searls.jasmine.model.SpecResult;
+import com.github.searls.jasmine.model.SpecResults;
+import com.github.searls.jasmine.mojo.ReporterRetriever;
 import org.apache.maven.plugin.logging.Log;
+import org.apache.commons.io.FileUtils;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import org.powermock.api.mockito.PowerMockito;
@@ -16,12 +25,19 @@ import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.File;
 import java.net.URL;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
-import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 @RunWith(PowerMockRunner.class)
@@ -34,6 +50,8 @@ public class SpecRunnerExecutorTest {
   private WebDriverWaiter webDriverWaiter;
   @Mock
   private ConsoleErrorChecker consoleErrorChecker;
+  @Mock
+  private StreamsSpecResults streamsSpecResults;
 
   private URL runnerUrl;
   @Mock
@@ -53,15 +71,18 @@ public class SpecRunnerExecutorTest {
 
   private SpecRunnerExecutor subject;
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @Before
   public void setUp() throws Exception {
-    subject = new SpecRunnerExecutor(fileUtilsWrapper, webDriverWaiter, consoleErrorChecker);
+    subject = new SpecRunnerExecutor(fileUtilsWrapper, webDriverWaiter, consoleErrorChecker, streamsSpecResults);
 
     runnerUrl = PowerMockito.mock(URL.class);
 
     when(fileUtilsWrapper.readFileToString(reporter)).thenReturn("reporter");
     when(fileUtilsWrapper.readFileToString(junitXmlReporter)).thenReturn("reporter");
-    when(webDriver.executeScript(contains("reporter"))).thenReturn(report);
+    when(webDriver.executeScript(org.mockito.Matchers.contains("reporter"))).thenReturn(report);
   }
 
   @Test
@@ -74,4 +95,53 @@ public class SpecRunnerExecutorTest {
     assertThat(result, is(not(nullValue())));
     assertThat(result.getDetails(), containsString(report));
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldStreamStandardReports() throws Exception {
+    Reporter standardReporter = new Reporter(ReporterRetriever.STANDARD_REPORTER);
+    FileSystemReporter junitReporter = new FileSystemReporter("TEST-jasmine.xml", ReporterRetriever.JUNIT_XML_REPORTER);
+    junitReporter.file = junitXmlReport;
+
+    JasmineResult result = subject.executeStreaming(runnerUrl, webDriver, timeout, debug, log, format,
+      Arrays.asList(standardReporter, new Reporter(reporter)), Collections.singletonList(junitReporter), null);
+
+    verify(webDriver).get(runnerUrl.toString());
+    ArgumentCaptor<List> receivers = ArgumentCaptor.forClass(List.class);
+    verify(streamsSpecResults).stream(eq(webDriver), eq(timeout), eq(debug), eq(log), receivers.capture(), eq(false));
+    assertThat((List<Object>) receivers.getValue(), contains(instanceOf(LogsSpecResults.class), instanceOf(WritesJunitXmlReport.class)));
+    verifyZeroInteractions(webDriverWaiter);
+    verify(fileUtilsWrapper, never()).writeStringToFile(any(File.class), anyString());
+    verify(webDriver).quit();
+    assertThat(result.getDetails(), is("\n\nResults: 0 specs, 0 failures, 0 pending\n" + report));
+  }
+
+  @Test
+  public void shouldReleaseStreamedResultsWhenNoReporterReadsThemFromThePage() throws Exception {
+    JasmineResult result = subject.executeStreaming(runnerUrl, webDriver, timeout, debug, log, format,
+      Collections.singletonList(new Reporter(ReporterRetriever.STANDARD_REPORTER)), Collections.<FileSystemReporter>emptyList(), null);
+
+    verify(streamsSpecResults).stream(eq(webDriver), eq(timeout), eq(debug), eq(log), anyList(), eq(true));
+    assertThat(result.getDetails(), is("\n\nResults: 0 specs, 0 failures, 0 pending\n"));
+  }
+
+  @Test
+  public void shouldBuildStandardReportsFromExtractedResults() throws Exception {
+    SpecResults specResults = new SpecResults();
+    specResults.add(new SpecResult("fails", Collections.singletonList("Suite"), SpecResult.FAILED, Collections.<SpecResult.Failure>emptyList()));
+    when(streamsSpecResults.extract(webDriver)).thenReturn(specResults);
+    File junitReport = temporaryFolder.newFile("TEST-jasmine.xml");
+    FileSystemReporter junitReporter = new FileSystemReporter(junitReport, junitXmlReporter);
+    junitReporter.reporterName = ReporterRetriever.JUNIT_XML_REPORTER;
+
+    JasmineResult result = subject.execute(runnerUrl, webDriver, timeout, debug, log, format,
+      Arrays.asList(new Reporter(ReporterRetriever.STANDARD_REPORTER), new Reporter(reporter)), Collections.singletonList(junitReporter));
+
+    verify(webDriverWaiter).waitForRunnerToFinish(webDriver, timeout, debug, log);
+    verify(fileUtilsWrapper, never()).writeStringToFile(any(File.class), anyString());
+    assertThat(FileUtils.readFileToString(junitReport, "UTF-8"), containsString("<testcase classname=\"jasmine\" name=\"Suite fails\""));
+    assertThat(result.getSpecResults(), is(specResults));
+    assertThat(result.getDetails(), is("\nSuite\n  fails <<< FAILURE!\n\nResults: 1 specs, 1 failures, 0 pending\n" + report));
+    assertThat(result.didPass(), is(false));
+  }
 }
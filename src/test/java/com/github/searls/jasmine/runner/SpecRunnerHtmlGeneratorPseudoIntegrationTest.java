@@ -18,6 +18,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -71,6 +72,15 @@ public class SpecRunnerHtmlGeneratorPseudoIntegrationTest {
     assertThat(html, containsString("</html>"));
   }
 
+  @Test
+  public void shouldWriteTheSameHtmlItGenerates() throws Exception {
+    StringWriter writer = new StringWriter();
+
+    this.subject.generate(writer);
+
+    assertThat(writer.toString(), is(this.subject.generate()));
+  }
+
   @Test
   public void shouldPutInADocTypeWhenNoDependenciesAreProvided() throws Exception {
     String html = this.subject.generate();
@@ -0,0 +1,57 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.format.ReceivesSpecResults;
+import com.github.searls.jasmine.io.CreatesTempDirectories;
+import com.github.searls.jasmine.io.IOUtilsWrapper;
+import com.github.searls.jasmine.model.SpecResults;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URL;
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class StreamsSpecResultsIntegrationTest {
+
+  private ServesGeneratedProject project;
+  private WebDriver driver;
+
+  @Before
+  public void before() throws Exception {
+    project = new ServesGeneratedProject(new CreatesTempDirectories().create("streamed-project"), false);
+    StringBuilder specs = new StringBuilder("describe('streamed', function() {\n");
+    for (int spec = 0; spec < 5; spec++) {
+      specs.append("  it('runs ").append(spec).append("', function() { expect(").append(spec).append(").toBe(").append(spec == 4 ? 0 : spec).append("); });\n");
+    }
+    project.writeSpec("streamedSpec.js", specs.append("});").toString());
+  }
+
+  @After
+  public void after() throws Exception {
+    if (driver != null) {
+      driver.quit();
+    }
+    project.stop();
+  }
+
+  @Test
+  public void itDropsStreamedResultsFromThePage() throws Exception {
+    URL serverUrl = project.start(project.createsRunner("SpecRunner.html"));
+    driver = project.webDriverFactory().createWebDriver();
+    driver.get(serverUrl.toString());
+
+    SpecResults results = new StreamsSpecResults(new IOUtilsWrapper(), 2, 10).stream((JavascriptExecutor) driver, 60,
+      false, new SystemStreamLog(), Collections.<ReceivesSpecResults>emptyList(), true);
+
+    assertThat(results.getSpecCount(), is(5));
+    assertThat(results.size(), is(1));
+    assertThat(results.getFailedCount(), is(1));
+    assertThat(((Number) ((JavascriptExecutor) driver).executeScript("return jsApiReporter.specs().length;")).intValue(), is(0));
+  }
+}
@@ -0,0 +1,183 @@
+package com.github.searls.jasmine.runner;
+
+import com.github.searls.jasmine.format.ReceivesSpecResults;
+import com.github.searls.jasmine.io.IOUtilsWrapper;
+import com.github.searls.jasmine.model.SpecResult;
+import com.github.searls.jasmine.model.SpecResults;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StreamsSpecResultsTest {
+
+  private static final String SCRIPT = "script;";
+
+  @Mock
+  private IOUtilsWrapper ioUtilsWrapper;
+  @Mock
+  private RemoteWebDriver executor;
+  @Mock
+  private Log log;
+  @Mock
+  private ReceivesSpecResults receiver;
+
+  private StreamsSpecResults subject;
+
+  @Before
+  public void before() throws Exception {
+    when(ioUtilsWrapper.toString(StreamsSpecResults.STREAM_SCRIPT)).thenReturn(SCRIPT);
+    when(executor.executeScript(eq(StreamsSpecResults.DRAIN_COMMAND), anyVararg())).thenReturn(StreamsSpecResults.NOT_LOADED);
+    subject = new StreamsSpecResults(ioUtilsWrapper, 2, 0);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void streamsBatchesUntilFinished() throws Exception {
+    when(executor.executeScript(contains(SCRIPT), eq(0), eq(2), eq(false))).thenReturn(batch(false, spec("a", "passed"), spec("b", "failed")));
+    when(executor.executeScript(contains(SCRIPT), eq(2), eq(2), eq(false))).thenReturn(
+      batch(false), batch(false, spec("c", "pending")), batch(true));
+    when(executor.executeScript(contains(SCRIPT), eq(3), eq(2), eq(false))).thenReturn(batch(true));
+
+    subject.stream(executor, 10, false, log, Collections.singletonList(receiver), false);
+
+    ArgumentCaptor<List> results = ArgumentCaptor.forClass(List.class);
+    verify(receiver, times(2)).receive(results.capture());
+    List<SpecResult> first = results.getAllValues().get(0);
+    assertThat(first.size(), is(2));
+    assertThat(first.get(1).isFailed(), is(true));
+    assertThat(first.get(1).getFullName(), is("suite b"));
+    assertThat(first.get(1).getFailures().get(0).getMessage(), is("Expected b"));
+    assertThat(((List<SpecResult>) results.getAllValues().get(1)).get(0).isPending(), is(true));
+    verify(receiver).finish();
+  }
+
+  @Test
+  public void finishesReceiversOnTimeoutInDebugMode() throws Exception {
+    when(executor.executeScript(anyString(), eq(0), eq(2), eq(false))).thenReturn(null);
+
+    subject.stream(executor, -1, true, log, Collections.singletonList(receiver), false);
+
+    verify(log).warn(contains("incomplete"));
+    verify(receiver).finish();
+  }
+
+  @Test
+  public void finishesReceiversBeforeFailingOnTimeout() throws Exception {
+    when(executor.executeScript(anyString(), eq(0), eq(2), eq(false))).thenReturn(null);
+
+    try {
+      subject.stream(executor, -1, false, log, Collections.singletonList(receiver), false);
+      fail("expected a timeout");
+    } catch (IllegalStateException e) {
+      verify(receiver).finish();
+    }
+  }
+
+  @Test
+  public void extractsAllResultsAtOnce() throws Exception {
+    Map<String, Object> batch = batch(true, spec("a", "passed"), spec("b", "failed"), spec("c", "pending"));
+    batch.put("executionTime", 1234L);
+    when(executor.executeScript(contains(SCRIPT), eq(0), eq(-1), eq(false))).thenReturn(batch);
+
+    SpecResults results = subject.extract(executor);
+
+    assertThat(results.size(), is(3));
+    assertThat(results.getFailedCount(), is(1));
+    assertThat(results.getPendingCount(), is(1));
+    assertThat(results.getDuration(), is(1234L));
+  }
+
+  @Test
+  public void extractsNothingWithoutReporter() throws Exception {
+    assertThat(subject.extract(executor), is(nullValue()));
+  }
+
+  @Test
+  public void returnsTheCountsAndFailuresOfTheStreamedResults() throws Exception {
+    when(executor.executeScript(contains(SCRIPT), eq(0), eq(2), eq(false))).thenReturn(batch(false, spec("a", "passed")));
+    when(executor.executeScript(contains(SCRIPT), eq(1), eq(2), eq(false))).thenReturn(batch(true, spec("b", "failed")));
+
+    SpecResults results = subject.stream(executor, 10, false, log, Collections.<ReceivesSpecResults>emptyList(), false);
+
+    assertThat(results.getSpecCount(), is(2));
+    assertThat(results.getFailedCount(), is(1));
+    assertThat(results.size(), is(1));
+    assertThat(results.get(0).getFullName(), is("suite b"));
+  }
+
+  @Test
+  public void loadsTheScriptOnce() throws Exception {
+    when(executor.executeScript(contains(SCRIPT), eq(0), eq(2), eq(false))).thenReturn(batch(true));
+
+    subject.stream(executor, 10, false, log, Collections.singletonList(receiver), false);
+    subject.stream(executor, 10, false, log, Collections.singletonList(receiver), false);
+
+    verify(ioUtilsWrapper).toString(StreamsSpecResults.STREAM_SCRIPT);
+    verify(receiver, times(2)).finish();
+  }
+
+  @Test
+  public void sendsTheScriptOnlyWhenThePageDoesNotDefineIt() throws Exception {
+    when(executor.executeScript(StreamsSpecResults.DRAIN_COMMAND, 0, 2, false)).thenReturn(batch(false, spec("a", "passed")));
+    when(executor.executeScript(StreamsSpecResults.DRAIN_COMMAND, 1, 2, false)).thenReturn(batch(true));
+
+    subject.stream(executor, 10, false, log, Collections.singletonList(receiver), false);
+
+    verify(executor, never()).executeScript(contains(SCRIPT), anyVararg());
+    verify(receiver).finish();
+  }
+
+  @Test
+  public void releasesDrainedResultsWhenAsked() throws Exception {
+    when(executor.executeScript(contains(SCRIPT), eq(0), eq(2), eq(true))).thenReturn(batch(true));
+
+    subject.stream(executor, 10, false, log, Collections.singletonList(receiver), true);
+
+    verify(executor).executeScript(StreamsSpecResults.DRAIN_COMMAND, 0, 2, true);
+    verify(receiver).finish();
+  }
+
+  private static Map<String, Object> batch(boolean finished, Map<?, ?>... specs) {
+    Map<String, Object> batch = new HashMap<String, Object>();
+    batch.put("finished", finished);
+    batch.put("specs", Arrays.asList(specs));
+    return batch;
+  }
+
+  private static Map<String, Object> spec(String description, String status) {
+    Map<String, Object> spec = new HashMap<String, Object>();
+    spec.put("description", description);
+    spec.put("suites", Collections.singletonList("suite"));
+    spec.put("status", status);
+    Map<String, Object> failure = new HashMap<String, Object>();
+    failure.put("message", "Expected " + description);
+    failure.put("matcherName", "toBe");
+    spec.put("failures", SpecResult.FAILED.equals(status) ? Collections.singletonList(failure) : Collections.emptyList());
+    return spec;
+  }
+}
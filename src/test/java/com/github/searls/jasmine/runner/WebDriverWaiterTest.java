@@ -9,11 +9,17 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.hamcrest.Matchers.allOf;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.contains;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,12 +34,48 @@ public class WebDriverWaiterTest {
   int timeout = 2;
   @Mock
   Log log;
+  @Mock
+  WebDriver.Options options;
+  @Mock
+  WebDriver.Timeouts timeouts;
 
   WebDriverWaiter subject;
 
   @Before
   public void setUp() throws Exception {
     subject = new WebDriverWaiter();
+    when(webDriver.manage()).thenReturn(options);
+    when(options.timeouts()).thenReturn(timeouts);
+  }
+
+  @Test
+  public void itShouldWaitForJasmineDone() throws Exception {
+    when(webDriver.executeAsyncScript(WebDriverWaiter.EXECUTION_FINISHED_CALLBACK_SCRIPT)).thenReturn(true);
+
+    subject.waitForRunnerToFinish(webDriver, timeout, false, log);
+
+    verify(timeouts).setScriptTimeout(timeout, TimeUnit.SECONDS);
+    verify(webDriver, never()).executeScript(WebDriverWaiter.EXECUTION_FINISHED_SCRIPT);
+  }
+
+  @Test
+  public void itShouldPollWhenJasmineDoneCannotBeAwaited() throws Exception {
+    when(webDriver.executeAsyncScript(WebDriverWaiter.EXECUTION_FINISHED_CALLBACK_SCRIPT)).thenThrow(new WebDriverException("unsupported"));
+    when(webDriver.executeScript(WebDriverWaiter.EXECUTION_FINISHED_SCRIPT)).thenReturn(true);
+
+    subject.waitForRunnerToFinish(webDriver, timeout, false, log);
+
+    verify(webDriver).executeScript(WebDriverWaiter.EXECUTION_FINISHED_SCRIPT);
+  }
+
+  @Test
+  public void itShouldThrowWhenJasmineDoneTimesOut() throws Exception {
+    expectedException.expect(IllegalStateException.class);
+    expectedException.expectMessage("Timeout occurred.");
+
+    when(webDriver.executeAsyncScript(WebDriverWaiter.EXECUTION_FINISHED_CALLBACK_SCRIPT)).thenThrow(new TimeoutException("timed out"));
+
+    subject.waitForRunnerToFinish(webDriver, timeout, false, log);
   }
 
   @Test
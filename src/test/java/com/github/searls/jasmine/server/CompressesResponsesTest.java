@@ -0,0 +1,97 @@
+package com.github.searls.jasmine.server;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.http.HttpHeaders;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CompressesResponsesTest {
+
+  private static final byte[] BODY = "var javascript = 'javascript';".getBytes();
+
+  @Mock
+  private HttpServletRequest request;
+  @Mock
+  private HttpServletResponse response;
+  @Mock
+  private ServletOutputStream outputStream;
+
+  private CompressesResponses subject = new CompressesResponses();
+
+  @Test
+  public void negotiatesGzipWhenAccepted() {
+    when(request.getHeader(HttpHeaders.ACCEPT_ENCODING)).thenReturn("deflate, GZIP;q=0.8");
+
+    assertTrue(subject.negotiate(request, response));
+
+    verify(response).setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  @Test
+  public void doesNotNegotiateGzipWhenNotAccepted() {
+    assertFalse(subject.negotiate(request, response));
+
+    when(request.getHeader(HttpHeaders.ACCEPT_ENCODING)).thenReturn("identity");
+    assertFalse(subject.negotiate(request, response));
+
+    when(request.getHeader(HttpHeaders.ACCEPT_ENCODING)).thenReturn("gzip;q=0");
+    assertFalse(subject.negotiate(request, response));
+  }
+
+  @Test
+  public void tagsCompressedRepresentationDifferently() {
+    assertThat(subject.etagOf("abc"), is("abc-gzip"));
+  }
+
+  @Test
+  public void writesGzippedBody() throws Exception {
+    when(response.getOutputStream()).thenReturn(outputStream);
+    ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+
+    subject.write(response, "abc", BODY);
+
+    verify(response).setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    verify(outputStream).write(body.capture());
+    verify(response).setHeader(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.getValue().length));
+    assertThat(IOUtils.toByteArray(new GZIPInputStream(new ByteArrayInputStream(body.getValue()))), is(BODY));
+  }
+
+  @Test
+  public void compressesEveryVersionOnce() throws Exception {
+    byte[] compressed = subject.compress("abc", BODY);
+
+    assertThat(subject.compress("abc", BODY), is(sameInstance(compressed)));
+  }
+
+  @Test
+  public void loadsTheBodyOnlyWhenItsVersionIsNotCached() throws Exception {
+    CompressesResponses.Body body = mock(CompressesResponses.Body.class);
+    when(body.load()).thenReturn(BODY);
+    when(response.getOutputStream()).thenReturn(outputStream);
+
+    subject.write(response, "abc", body);
+    subject.write(response, "abc", body);
+
+    verify(body, times(1)).load();
+  }
+}
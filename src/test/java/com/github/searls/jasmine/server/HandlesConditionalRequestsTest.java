@@ -0,0 +1,94 @@
+package com.github.searls.jasmine.server;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jetty.http.HttpHeaders;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HandlesConditionalRequestsTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Mock
+  private HttpServletRequest request;
+  @Mock
+  private HttpServletResponse response;
+
+  private HandlesConditionalRequests subject = new HandlesConditionalRequests();
+
+  @Test
+  public void setsValidatorHeaders() {
+    assertFalse(subject.isNotModified(request, response, "abc"));
+
+    verify(response).setHeader(HttpHeaders.ETAG, "\"abc\"");
+    verify(response).setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    verify(response, never()).setStatus(anyInt());
+  }
+
+  @Test
+  public void answersMatchingRequestWithNotModified() {
+    when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("\"other\", W/\"abc\"");
+
+    assertTrue(subject.isNotModified(request, response, "abc"));
+
+    verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+  }
+
+  @Test
+  public void answersWildcardWithNotModified() {
+    when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("*");
+
+    assertTrue(subject.isNotModified(request, response, "abc"));
+  }
+
+  @Test
+  public void doesNotAnswerStaleRequestWithNotModified() {
+    when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("\"old\"");
+
+    assertFalse(subject.isNotModified(request, response, "abc"));
+  }
+
+  @Test
+  public void tagsFilesByContent() throws Exception {
+    File a = folder.newFile("a.js");
+    File b = folder.newFile("b.js");
+    FileUtils.writeStringToFile(a, "var a;", "UTF-8");
+    FileUtils.writeStringToFile(b, "var a;", "UTF-8");
+
+    assertThat(subject.etagOf(a), is(subject.etagOf(b)));
+    assertThat(subject.etagOf(a), is(subject.etagOf("var a;")));
+  }
+
+  @Test
+  public void retagsChangedFile() throws Exception {
+    File file = folder.newFile("a.js");
+    FileUtils.writeStringToFile(file, "var a;", "UTF-8");
+    file.setLastModified(System.currentTimeMillis() - 10000);
+    String before = subject.etagOf(file);
+
+    FileUtils.writeStringToFile(file, "var b;", "UTF-8");
+    file.setLastModified(System.currentTimeMillis() - 10000);
+
+    assertThat(subject.etagOf(file), is(not(before)));
+  }
+}
@@ -4,11 +4,14 @@ import com.github.searls.jasmine.coffee.DetectsCoffee;
 import com.github.searls.jasmine.coffee.HandlesRequestsForCoffee;
 import com.github.searls.jasmine.config.JasmineConfiguration;
 import com.github.searls.jasmine.runner.CreatesRunner;
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.plugin.logging.Log;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.util.resource.Resource;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -16,10 +19,15 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.util.Collections;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -50,6 +58,9 @@ public class JasmineResourceHandlerTest {
   @Mock
   Log log;
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private JasmineResourceHandler subject;
 
   @Before
@@ -75,6 +86,24 @@ public class JasmineResourceHandlerTest {
     verify(this.createsRunner).create();
   }
 
+  @Test
+  public void whenRunnerIsCreatedThenPrecompileCoffee() throws IOException, ServletException {
+    when(this.createsRunner.create()).thenReturn(true);
+
+    this.subject.handle("/", this.baseRequest, this.request, this.response);
+
+    verify(this.handlesRequestsForCoffee).precompile();
+  }
+
+  @Test
+  public void whenRunnerIsUnchangedThenDoNotPrecompileCoffee() throws IOException, ServletException {
+    when(this.createsRunner.create()).thenReturn(false);
+
+    this.subject.handle("/", this.baseRequest, this.request, this.response);
+
+    verify(this.handlesRequestsForCoffee, never()).precompile();
+  }
+
   @Test
   public void whenTargetIsNotSlashThenCreateManualRunner() throws IOException, ServletException {
     this.subject.handle("/notSlash", this.baseRequest, this.request, this.response);
@@ -133,4 +162,60 @@ public class JasmineResourceHandlerTest {
     verify(this.handlesRequestsForCoffee, never()).handle(any(Request.class), any(HttpServletResponse.class), any(Resource.class));
   }
 
+  @Test
+  public void whenSourceMapOfCoffeeDelegatesToCoffeeHandler() throws IOException, ServletException {
+    final Resource coffee = mock(Resource.class);
+    when(coffee.exists()).thenReturn(true);
+    when(this.detectsCoffee.detect("/spec/a.coffee")).thenReturn(true);
+    subject = new JasmineResourceHandler(createsRunner, handlesRequestsForCoffee, detectsCoffee) {
+      @Override
+      protected Resource getResource(HttpServletRequest request) throws MalformedURLException {
+        return JasmineResourceHandlerTest.this.resource;
+      }
+
+      @Override
+      public Resource getResource(String path) throws MalformedURLException {
+        return "/spec/a.coffee".equals(path) ? coffee : null;
+      }
+    };
+
+    this.subject.handle("/spec/a.coffee.map", this.baseRequest, this.request, this.response);
+
+    verify(this.handlesRequestsForCoffee).handleSourceMap(this.baseRequest, this.response, coffee);
+  }
+
+  @Test
+  public void servesRunnersOfTheRunnerDirectoryAtTheRoot() throws Exception {
+    JasmineResourceHandler handler = this.handlerWithRunnerDirectory();
+
+    Resource runner = handler.getResource("/SpecRunner-shard1.html");
+
+    assertThat(runner.exists(), is(true));
+    assertThat(runner.getFile().getName(), is("SpecRunner-shard1.html"));
+  }
+
+  @Test
+  public void doesNotServeRunnersBelowTheRoot() throws Exception {
+    JasmineResourceHandler handler = this.handlerWithRunnerDirectory();
+
+    assertThat(handler.getResource("/spec/SpecRunner-shard1.html").exists(), is(false));
+  }
+
+  @Test
+  public void doesNotServeOtherFilesOfTheRunnerDirectory() throws Exception {
+    JasmineResourceHandler handler = this.handlerWithRunnerDirectory();
+
+    assertThat(handler.getResource("/other.html").exists(), is(false));
+  }
+
+  private JasmineResourceHandler handlerWithRunnerDirectory() throws IOException {
+    File runnerDirectory = this.temporaryFolder.newFolder("runners");
+    FileUtils.writeStringToFile(new File(runnerDirectory, "SpecRunner-shard1.html"), "<html></html>", "UTF-8");
+    FileUtils.writeStringToFile(new File(runnerDirectory, "other.html"), "<html></html>", "UTF-8");
+    JasmineResourceHandler handler = new JasmineResourceHandler(createsRunner, handlesRequestsForCoffee, detectsCoffee);
+    handler.setResourceBase(this.temporaryFolder.newFolder("basedir").getCanonicalPath());
+    handler.setRunners(runnerDirectory, Collections.singletonList("SpecRunner-shard1.html"));
+    return handler;
+  }
+
 }
@@ -0,0 +1,116 @@
+package com.github.searls.jasmine.server;
+
+import com.github.searls.jasmine.mojo.ServerOptions;
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.nio.SelectChannelConnector;
+import org.eclipse.jetty.util.thread.ExecutorThreadPool;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TunesServerTest {
+
+  @Mock
+  private Log log;
+  @Mock
+  private Server server;
+  @Mock
+  private Connector connector;
+
+  private ServerOptions options = new ServerOptions();
+
+  @Test
+  public void keepsDefaultsWithoutOptions() {
+    TunesServer subject = new TunesServer(null, log);
+
+    subject.tune(server);
+    subject.tune(connector);
+
+    verify(server, never()).setThreadPool(any(ThreadPool.class));
+    verifyZeroInteractions(connector);
+  }
+
+  @Test
+  public void keepsDefaultThreadPoolWithoutThreadOptions() {
+    options.setAcceptors(2);
+
+    assertThat(new TunesServer(options, log).createThreadPool(), is(nullValue()));
+  }
+
+  @Test
+  public void sizesThreadPool() {
+    options.setMinThreads(4);
+    options.setMaxThreads(16);
+    options.setMaxQueued(100);
+    options.setThreadIdleTimeout(1000);
+
+    QueuedThreadPool threadPool = (QueuedThreadPool) new TunesServer(options, log).createThreadPool();
+
+    assertThat(threadPool.getMinThreads(), is(4));
+    assertThat(threadPool.getMaxThreads(), is(16));
+    assertThat(threadPool.getMaxQueued(), is(100));
+    assertThat(threadPool.getMaxIdleTimeMs(), is(1000));
+  }
+
+  @Test
+  public void setsThreadPoolOnServer() {
+    options.setMaxThreads(16);
+
+    new TunesServer(options, log).tune(server);
+
+    verify(server).setThreadPool(any(QueuedThreadPool.class));
+  }
+
+  @Test
+  public void usesVirtualThreadsWhenSupported() {
+    options.setVirtualThreads(true);
+    options.setMaxThreads(16);
+
+    ThreadPool threadPool = new TunesServer(options, log).createThreadPool();
+
+    boolean supported = isVirtualThreadSupported();
+    assertThat(threadPool, is(instanceOf(supported ? ExecutorThreadPool.class : QueuedThreadPool.class)));
+    verify(log, supported ? never() : times(1)).warn(any(CharSequence.class));
+  }
+
+  @Test
+  public void tunesConnector() {
+    options.setAcceptors(3);
+    options.setAcceptQueueSize(64);
+    options.setMaxIdleTime(5000);
+    SelectChannelConnector selectChannelConnector = new SelectChannelConnector();
+
+    new TunesServer(options, log).tune(selectChannelConnector);
+
+    assertThat(selectChannelConnector.getAcceptors(), is(3));
+    assertThat(selectChannelConnector.getAcceptQueueSize(), is(64));
+    assertThat(selectChannelConnector.getMaxIdleTime(), is(5000));
+  }
+
+  private static boolean isVirtualThreadSupported() {
+    try {
+      Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.github.searls.jasmine.thirdpartylibs;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CachesResourcesTest {
+
+  private CachesResources subject = new CachesResources(10);
+
+  @Test
+  public void returnsCachedResource() {
+    CachedResource resource = resource(4);
+    subject.put("a", resource);
+
+    assertThat(subject.get("a"), is(resource));
+    assertThat(subject.get("b"), is(nullValue()));
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsedResources() {
+    subject.put("a", resource(4));
+    subject.put("b", resource(4));
+    subject.get("a");
+
+    subject.put("c", resource(4));
+
+    assertThat(subject.get("a"), is(notNullValue()));
+    assertThat(subject.get("b"), is(nullValue()));
+    assertThat(subject.get("c"), is(notNullValue()));
+    assertThat(subject.size(), is(8L));
+  }
+
+  @Test
+  public void replacesResourceWithSameKey() {
+    subject.put("a", resource(4));
+    subject.put("a", resource(6));
+
+    assertThat(subject.size(), is(6L));
+  }
+
+  @Test
+  public void doesNotCacheResourcesLargerThanBound() {
+    subject.put("a", resource(11));
+
+    assertThat(subject.get("a"), is(nullValue()));
+    assertThat(subject.size(), is(0L));
+  }
+
+  private static CachedResource resource(int length) {
+    return new CachedResource(new byte[length], "text/javascript", "etag");
+  }
+}
@@ -1,21 +1,33 @@
 package com.github.searls.jasmine.thirdpartylibs;
 
+import com.github.searls.jasmine.server.CompressesResponses;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jetty.http.HttpHeaders;
 import org.eclipse.jetty.server.Request;
 import org.eclipse.jetty.util.resource.Resource;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.PrintWriter;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
 import static com.github.searls.jasmine.thirdpartylibs.ProjectClassLoaderHelper.projectClassLoaderOf;
-import static org.mockito.Mockito.anyString;
-import static org.mockito.Mockito.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,7 +42,7 @@ public class ClassPathResourceHandlerTest {
   @Mock
   private Resource resource;
   @Mock
-  private PrintWriter writer;
+  private ServletOutputStream outputStream;
 
   private ClassPathResourceHandler subject;
 
@@ -44,27 +56,94 @@ public class ClassPathResourceHandlerTest {
   public void whenTargetStartsWithClassPathThenRespondWithResourceContent() throws Exception {
     // given
     when(baseRequest.isHandled()).thenReturn(false);
-    when(response.getWriter()).thenReturn(writer);
+    when(response.getOutputStream()).thenReturn(outputStream);
 
     // when
     subject.handle("/META-INF/resources/webjars/jquery/1.10.2/jquery.js", baseRequest, request, response);
 
     // then
-    verify(writer).write(contains("jQuery JavaScript Library v1.10.2"));
+    assertThat(writtenBody(), containsString("jQuery JavaScript Library v1.10.2"));
     verify(baseRequest).setHandled(true);
   }
 
+  @Test
+  public void whenResourceIsUnchangedThenRespondWithNotModified() throws Exception {
+    // given
+    String target = "/META-INF/resources/webjars/jquery/1.10.2/jquery.js";
+    ArgumentCaptor<String> etag = ArgumentCaptor.forClass(String.class);
+    when(baseRequest.isHandled()).thenReturn(false);
+    when(response.getOutputStream()).thenReturn(outputStream);
+    subject.handle(target, baseRequest, request, response);
+    verify(response).setHeader(eq(HttpHeaders.ETAG), etag.capture());
+    when(request.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn(etag.getValue());
+
+    // when
+    subject.handle(target, baseRequest, request, response);
+
+    // then
+    verify(response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+    verify(outputStream, times(1)).write(any(byte[].class));
+  }
+
+  @Test
+  public void whenResourceIsRequestedAgainThenServeItFromMemory() throws Exception {
+    // given
+    final AtomicInteger lookups = new AtomicInteger();
+    String jquery = "src/test/resources/webjars/jquery-1.10.2.jar";
+    subject = new ClassPathResourceHandler(projectClassLoaderOf(jquery)) {
+      @Override
+      protected InputStream findResource(String resourcePath) {
+        lookups.incrementAndGet();
+        return super.findResource(resourcePath);
+      }
+    };
+    when(baseRequest.isHandled()).thenReturn(false);
+    when(response.getOutputStream()).thenReturn(outputStream);
+
+    // when
+    subject.handle("/META-INF/resources/webjars/jquery/1.10.2/jquery.js", baseRequest, request, response);
+    subject.handle("/META-INF/resources/webjars/jquery/1.10.2/jquery.js", baseRequest, request, response);
+
+    // then
+    assertThat(lookups.get(), is(1));
+    verify(outputStream, times(2)).write(any(byte[].class));
+  }
+
+  @Test
+  public void whenCompressionIsAcceptedThenRespondWithGzippedContent() throws Exception {
+    // given
+    subject.setCompressesResponses(new CompressesResponses());
+    when(baseRequest.isHandled()).thenReturn(false);
+    when(request.getHeader(HttpHeaders.ACCEPT_ENCODING)).thenReturn("gzip, deflate");
+    when(response.getOutputStream()).thenReturn(outputStream);
+
+    // when
+    subject.handle("/META-INF/resources/webjars/jquery/1.10.2/jquery.js", baseRequest, request, response);
+
+    // then
+    verify(response).setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+    verify(outputStream).write(body.capture());
+    assertThat(IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(body.getValue())), "UTF-8"), containsString("jQuery JavaScript Library v1.10.2"));
+  }
+
   @Test
   public void whenResourceIsMissingThenDoNotProcess() throws Exception {
     // given
     when(baseRequest.isHandled()).thenReturn(false);
-    when(response.getWriter()).thenReturn(writer);
+    when(response.getOutputStream()).thenReturn(outputStream);
 
     // when
     subject.handle("/notExistingResource", baseRequest, request, response);
 
     // then
-    verify(writer, never()).write(anyString());
+    verify(outputStream, never()).write(any(byte[].class));
     verify(baseRequest, never()).setHandled(true);
   }
+
+  private String writtenBody() throws Exception {
+    ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+    verify(outputStream).write(body.capture());
+    return new String(body.getValue(), "UTF-8");
+  }
 }
@@ -0,0 +1,81 @@
+package com.github.searls.jasmine.thirdpartylibs;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+
+import static com.github.searls.jasmine.thirdpartylibs.ProjectClassLoaderHelper.projectClassLoaderOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IndexesWebJarsTest {
+
+  private static final String JQUERY_JAR = "src/test/resources/webjars/jquery-1.10.2.jar";
+  private static final String JQUERY = "META-INF/resources/webjars/jquery/1.10.2/jquery.js";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private int scans;
+
+  @Test
+  public void reloadsPersistedIndexWithoutScanning() throws Exception {
+    File indexDirectory = folder.newFolder("webjars-index");
+
+    assertThat(new CountingIndexesWebJars(indexDirectory).index(projectClassLoaderOf(JQUERY_JAR)).find("jquery.js"), is(JQUERY));
+    assertThat(new CountingIndexesWebJars(indexDirectory).index(projectClassLoaderOf(JQUERY_JAR)).find("jquery.js"), is(JQUERY));
+
+    assertThat(scans, is(1));
+  }
+
+  @Test
+  public void scansAgainWhenClassPathChanges() throws Exception {
+    File indexDirectory = folder.newFolder("webjars-index");
+    File jar = folder.newFile("jquery.jar");
+    FileUtils.copyFile(new File(JQUERY_JAR), jar);
+
+    new CountingIndexesWebJars(indexDirectory).index(projectClassLoaderOf(jar.getPath()));
+    jar.setLastModified(jar.lastModified() - 10000);
+    new CountingIndexesWebJars(indexDirectory).index(projectClassLoaderOf(jar.getPath()));
+
+    assertThat(scans, is(2));
+  }
+
+  @Test
+  public void scansEveryTimeWithoutIndexDirectory() {
+    new CountingIndexesWebJars(null).index(projectClassLoaderOf(JQUERY_JAR));
+    new CountingIndexesWebJars(null).index(projectClassLoaderOf(JQUERY_JAR));
+
+    assertThat(scans, is(2));
+  }
+
+  @Test
+  public void persistsTheIndexWhenAParentIsNotAUrlClassLoader() throws Exception {
+    File indexDirectory = folder.newFolder("webjars-index");
+    ClassLoader parent = new ClassLoader(null) {
+    };
+
+    new CountingIndexesWebJars(indexDirectory).index(new URLClassLoader(new URL[]{new File(JQUERY_JAR).toURI().toURL()}, parent));
+    new CountingIndexesWebJars(indexDirectory).index(new URLClassLoader(new URL[]{new File(JQUERY_JAR).toURI().toURL()}, parent));
+
+    assertThat(scans, is(1));
+  }
+
+  private class CountingIndexesWebJars extends IndexesWebJars {
+    CountingIndexesWebJars(File indexDirectory) {
+      super(indexDirectory);
+    }
+
+    @Override
+    protected List<String> scan(ClassLoader classLoader) {
+      scans++;
+      return super.scan(classLoader);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.github.searls.jasmine.thirdpartylibs;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class WebJarIndexTest {
+
+  private static final String JQUERY = "META-INF/resources/webjars/jquery/1.10.2/jquery.js";
+  private static final String JQUERY_MIN = "META-INF/resources/webjars/jquery/1.10.2/jquery.min.js";
+  private static final String JQUERY_UI = "META-INF/resources/webjars/jquery-ui/1.10.3/ui/jquery.js";
+
+  private WebJarIndex subject = new WebJarIndex(Arrays.asList(JQUERY, JQUERY_MIN, JQUERY_UI));
+
+  @Test
+  public void findsUniqueFileName() {
+    assertThat(subject.find("jquery.min.js"), is(JQUERY_MIN));
+  }
+
+  @Test
+  public void findsPathSuffix() {
+    assertThat(subject.find("1.10.2/jquery.js"), is(JQUERY));
+  }
+
+  @Test
+  public void findsFullPath() {
+    assertThat(subject.find(JQUERY_UI), is(JQUERY_UI));
+  }
+
+  @Test
+  public void findsAmbiguousFileNameWithinWebJar() {
+    assertThat(subject.find("jquery/jquery.js"), is(JQUERY));
+    assertThat(subject.find("jquery-ui/jquery.js"), is(JQUERY_UI));
+  }
+
+  @Test
+  public void doesNotFindAmbiguousFileName() {
+    assertThat(subject.find("jquery.js"), is(nullValue()));
+  }
+
+  @Test
+  public void doesNotMatchPartialSegments() {
+    assertThat(subject.find("query.min.js"), is(nullValue()));
+  }
+
+  @Test
+  public void doesNotFindMissingAsset() {
+    assertThat(subject.find("angular/angular.js"), is(nullValue()));
+  }
+}
@@ -5,16 +5,18 @@ import org.eclipse.jetty.util.resource.Resource;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.powermock.modules.junit4.PowerMockRunner;
 
+import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.PrintWriter;
 
 import static com.github.searls.jasmine.thirdpartylibs.ProjectClassLoaderHelper.projectClassLoaderOf;
-import static org.mockito.Matchers.anyString;
-import static org.mockito.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -30,7 +32,7 @@ public class WebJarResourceHandlerTest {
   @Mock
   private Resource resource;
   @Mock
-  private PrintWriter writer;
+  private ServletOutputStream outputStream;
 
   private WebJarResourceHandler subject;
 
@@ -44,13 +46,13 @@ public class WebJarResourceHandlerTest {
   public void whenTargetContainsFileFromWebJarRespondWithResourceContent() throws Exception {
     // given
     when(baseRequest.isHandled()).thenReturn(false);
-    when(response.getWriter()).thenReturn(writer);
+    when(response.getOutputStream()).thenReturn(outputStream);
 
     // when
     subject.handle("/jquery.js", baseRequest, request, response);
 
     // then
-    verify(writer).write(contains("jQuery JavaScript Library v1.10.2"));
+    assertThat(writtenBody(), containsString("jQuery JavaScript Library v1.10.2"));
     verify(baseRequest).setHandled(true);
   }
 
@@ -58,13 +60,19 @@ public class WebJarResourceHandlerTest {
   public void whenResourceIsMissingThenDoNotProcess() throws Exception {
     // given
     when(baseRequest.isHandled()).thenReturn(false);
-    when(response.getWriter()).thenReturn(writer);
+    when(response.getOutputStream()).thenReturn(outputStream);
 
     // when
     subject.handle("/notExistingResource", baseRequest, request, response);
 
     // then
-    verify(writer, never()).write(anyString());
+    verify(outputStream, never()).write(any(byte[].class));
     verify(baseRequest, never()).setHandled(true);
   }
+
+  private String writtenBody() throws Exception {
+    ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+    verify(outputStream).write(body.capture());
+    return new String(body.getValue(), "UTF-8");
+  }
 }
@@ -1,6 +1,7 @@
 package org.eclipse.jetty.server;
 
 import org.eclipse.jetty.util.component.Container;
+import org.eclipse.jetty.util.thread.ThreadPool;
 
 //Link Seam for jetty server.
 public class Server {
@@ -20,6 +21,9 @@ public class Server {
   public void setHandler(Handler handler) {
   }
 
+  public void setThreadPool(ThreadPool threadPool) {
+  }
+
   public Container getContainer() {
     return null;
   }